@@ -0,0 +1,284 @@
+import java.util.Arrays;
+
+/**
+ * Клас AdaptiveSort сортує масиви з урахуванням їх наявної впорядкованості.
+ *
+ * <p>Один лінійний прохід розбиває масив на серії: неспадні та спадні (серія, що
+ * починається зі спадання, продовжується незростаючими значеннями, бо для
+ * значень float стабільність сортування не має значення).
+ * За кількістю серій визначається форма даних ({@link Shape}):</p>
+ * <ul>
+ *   <li>{@code SORTED} - одна неспадна серія, сортування пропускається;</li>
+ *   <li>{@code REVERSED} - одна спадна серія, масив розвертається на місці;</li>
+ *   <li>{@code NEARLY_SORTED} - середня довжина серії не менша за {@value #MIN_AVERAGE_RUN_LENGTH},
+ *       спадні серії розвертаються, після чого серії зливаються попарно (природне злиття);</li>
+ *   <li>{@code UNSORTED} - звичайне сортування {@link Arrays#sort}.</li>
+ * </ul>
+ *
+ * <p>Порядок значень такий самий, як у {@link Float#compare}, тому результат
+ * збігається з результатом {@link Arrays#sort}.</p>
+ */
+public final class AdaptiveSort {
+    static final int MIN_AVERAGE_RUN_LENGTH = 32;
+
+    /**
+     * Вид форми вхідних даних.
+     */
+    enum Kind {
+        SORTED, REVERSED, NEARLY_SORTED, UNSORTED
+    }
+
+    /**
+     * Форма вхідних даних, виміряна перед сортуванням.
+     */
+    static final class Shape {
+        final int length;
+        final int runCount;
+        final int descendingRunCount;
+        final Kind kind;
+
+        Shape(int length, int runCount, int descendingRunCount) {
+            this.length = length;
+            this.runCount = runCount;
+            this.descendingRunCount = descendingRunCount;
+            if (runCount <= 1) {
+                this.kind = descendingRunCount == 0 ? Kind.SORTED : Kind.REVERSED;
+            } else if ((long) runCount * MIN_AVERAGE_RUN_LENGTH <= length) {
+                this.kind = Kind.NEARLY_SORTED;
+            } else {
+                this.kind = Kind.UNSORTED;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return kind + " (елементів: " + length + ", серій: " + runCount + ", спадних серій: " + descendingRunCount + ")";
+        }
+    }
+
+    private AdaptiveSort() {
+    }
+
+    /**
+     * Вимірює форму масиву без його зміни.
+     *
+     * @param values Масив для аналізу.
+     * @return Кількість серій та вид форми.
+     */
+    public static Shape analyze(float[] values) {
+        int runCount = 0;
+        int descendingRunCount = 0;
+        int i = 0;
+        while (i < values.length) {
+            i++;
+            if (i < values.length && Float.compare(values[i], values[i - 1]) < 0) {
+                while (i < values.length && Float.compare(values[i], values[i - 1]) <= 0) {
+                    i++;
+                }
+                descendingRunCount++;
+            } else {
+                while (i < values.length && Float.compare(values[i], values[i - 1]) >= 0) {
+                    i++;
+                }
+            }
+            runCount++;
+        }
+        return new Shape(values.length, runCount, descendingRunCount);
+    }
+
+    /**
+     * Вимірює форму масиву Float без його зміни.
+     */
+    public static Shape analyze(Float[] values) {
+        int runCount = 0;
+        int descendingRunCount = 0;
+        int i = 0;
+        while (i < values.length) {
+            i++;
+            if (i < values.length && values[i].compareTo(values[i - 1]) < 0) {
+                while (i < values.length && values[i].compareTo(values[i - 1]) <= 0) {
+                    i++;
+                }
+                descendingRunCount++;
+            } else {
+                while (i < values.length && values[i].compareTo(values[i - 1]) >= 0) {
+                    i++;
+                }
+            }
+            runCount++;
+        }
+        return new Shape(values.length, runCount, descendingRunCount);
+    }
+
+    /**
+     * Сортує весь масив за зростанням.
+     *
+     * @return Форма даних до сортування.
+     */
+    public static Shape sort(float[] values) {
+        return sort(values, 0, values.length);
+    }
+
+    /**
+     * Сортує частину масиву [from, to) за зростанням, обираючи спосіб за формою даних.
+     *
+     * @return Форма даних до сортування.
+     */
+    public static Shape sort(float[] values, int from, int to) {
+        int length = to - from;
+        int maxRecordedRuns = Math.max(2, length / MIN_AVERAGE_RUN_LENGTH);
+        // Межі серій: bounds[k] - початок k-ї серії, bounds[runCount] - кінець останньої
+        int[] bounds = new int[Math.min(maxRecordedRuns, 64) + 1];
+        bounds[0] = from;
+        int runCount = 0;
+        int descendingRunCount = 0;
+
+        int i = from;
+        while (i < to) {
+            int start = i++;
+            if (i < to && Float.compare(values[i], values[i - 1]) < 0) {
+                while (i < to && Float.compare(values[i], values[i - 1]) <= 0) {
+                    i++;
+                }
+                descendingRunCount++;
+                // Спадна серія розвертається одразу, щоб злиття працювало лише з неспадними
+                if (runCount < maxRecordedRuns) {
+                    reverse(values, start, i);
+                }
+            } else {
+                while (i < to && Float.compare(values[i], values[i - 1]) >= 0) {
+                    i++;
+                }
+            }
+            runCount++;
+            if (runCount <= maxRecordedRuns) {
+                if (runCount == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, Math.min(maxRecordedRuns, bounds.length * 2) + 1);
+                }
+                bounds[runCount] = i;
+            }
+        }
+
+        Shape shape = new Shape(length, runCount, descendingRunCount);
+        switch (shape.kind) {
+            case SORTED:
+            case REVERSED:
+                // Єдину спадну серію вже розвернуто під час проходу
+                break;
+            case NEARLY_SORTED:
+                mergeRuns(values, bounds, runCount, from, to);
+                break;
+            default:
+                Arrays.sort(values, from, to);
+        }
+        return shape;
+    }
+
+    /**
+     * Сортує масив Float за зростанням. Впорядкований масив не змінюється, спадний
+     * розвертається на місці, решта сортується {@link Arrays#sort(Object[])}, що саме
+     * є природним злиттям серій (TimSort).
+     *
+     * @return Форма даних до сортування.
+     */
+    public static Shape sort(Float[] values) {
+        Shape shape = analyze(values);
+        if (shape.kind == Kind.REVERSED) {
+            for (int left = 0, right = values.length - 1; left < right; left++, right--) {
+                Float swap = values[left];
+                values[left] = values[right];
+                values[right] = swap;
+            }
+        } else if (shape.kind != Kind.SORTED) {
+            Arrays.sort(values);
+        }
+        return shape;
+    }
+
+    /**
+     * Зливає два впорядковані масиви за один лінійний прохід.
+     *
+     * @return Новий впорядкований масив або sorted, якщо sortedDelta порожній.
+     */
+    public static float[] mergeSorted(float[] sorted, float[] sortedDelta) {
+        if (sortedDelta.length == 0) {
+            return sorted;
+        }
+        float[] merged = new float[sorted.length + sortedDelta.length];
+        int left = 0;
+        int right = 0;
+        int out = 0;
+        // Новий блок часто продовжує вже впорядковані дані: тоді злиття - два копіювання
+        if (sorted.length == 0 || Float.compare(sorted[sorted.length - 1], sortedDelta[0]) <= 0) {
+            System.arraycopy(sorted, 0, merged, 0, sorted.length);
+            System.arraycopy(sortedDelta, 0, merged, sorted.length, sortedDelta.length);
+            return merged;
+        }
+        while (left < sorted.length && right < sortedDelta.length) {
+            merged[out++] = Float.compare(sortedDelta[right], sorted[left]) < 0 ? sortedDelta[right++] : sorted[left++];
+        }
+        System.arraycopy(sorted, left, merged, out, sorted.length - left);
+        out += sorted.length - left;
+        System.arraycopy(sortedDelta, right, merged, out, sortedDelta.length - right);
+        return merged;
+    }
+
+    private static void reverse(float[] values, int from, int to) {
+        for (int left = from, right = to - 1; left < right; left++, right--) {
+            float swap = values[left];
+            values[left] = values[right];
+            values[right] = swap;
+        }
+    }
+
+    /**
+     * Попарно зливає сусідні неспадні серії, поки не залишиться одна.
+     * Масив і буфер по черзі є джерелом і приймачем, тому кожен рівень - одне копіювання.
+     */
+    private static void mergeRuns(float[] values, int[] bounds, int runCount, int from, int to) {
+        float[] buffer = new float[to - from];
+        float[] source = values;
+        int sourceShift = 0;
+        float[] target = buffer;
+        int targetShift = -from;
+
+        while (runCount > 1) {
+            int merged = 0;
+            for (int run = 0; run < runCount; run += 2) {
+                int low = bounds[run];
+                int middle = bounds[Math.min(run + 1, runCount)];
+                int high = bounds[Math.min(run + 2, runCount)];
+                merge(source, sourceShift, target, targetShift, low, middle, high);
+                bounds[++merged] = high;
+            }
+            runCount = merged;
+
+            float[] swapArray = source;
+            source = target;
+            target = swapArray;
+            int swapShift = sourceShift;
+            sourceShift = targetShift;
+            targetShift = swapShift;
+        }
+
+        if (source != values) {
+            System.arraycopy(buffer, 0, values, from, to - from);
+        }
+    }
+
+    private static void merge(float[] source, int sourceShift, float[] target, int targetShift,
+                              int low, int middle, int high) {
+        int left = low + sourceShift;
+        int leftEnd = middle + sourceShift;
+        int right = leftEnd;
+        int rightEnd = high + sourceShift;
+        int out = low + targetShift;
+        while (left < leftEnd && right < rightEnd) {
+            // Рівні значення беруться зліва, тому злиття стабільне
+            target[out++] = Float.compare(source[right], source[left]) < 0 ? source[right++] : source[left++];
+        }
+        System.arraycopy(source, left, target, out, leftEnd - left);
+        out += leftEnd - left;
+        System.arraycopy(source, right, target, out, rightEnd - right);
+    }
+}
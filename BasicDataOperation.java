@@ -1,4 +1,6 @@
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.TreeSet;
 import java.util.Vector;
 import java.util.PriorityQueue;
@@ -31,18 +33,58 @@ import java.util.Queue;
  */
 public class BasicDataOperation {
     static final String PATH_TO_DATA_FILE = "list/float.data";
+    // Набір даних поточного запуску, змінюється параметром --data=
+    static String dataFilePath = PATH_TO_DATA_FILE;
 
     Float floatValueToSearch;
     Float[] floatArray;
+    boolean useAnalysisCache;
+    // Режим вибору структури: null - усі структури, "advise" - нові вимірювання, "auto" - збережене рішення
+    String adviceMode;
+    String operationMix = CollectionAdvisor.DEFAULT_MIX;
+    long operationCount = CollectionAdvisor.DEFAULT_OPERATION_COUNT;
+    FloatSearch.Strategy searchStrategy = FloatSearch.Strategy.BINARY;
 
     private static final String SEPARATOR = "\n" + "=".repeat(80) + "\n";
-    private static final String USAGE_MESSAGE = "Використання: java BasicDataOperation <пошукове-значення> \n" +
+    private static final String USAGE_MESSAGE = "Використання: java BasicDataOperation <пошукове-значення> [--report=summary|sample|full[:розмір]] [--cached]\n" +
+"                             [--advise|--auto] [--mix=search:70,minmax:20,add:10] [--ops=кількість]\n" +
+"                             [--search=binary|interpolation|exponential] [--profile] [--jfr[=каталог]]\n" +
+"                             [--data=файл]\n" +
 "Приклад:\n" +
-"  java BasicDataOperation \"-31388.32\"";
+"  java BasicDataOperation \"-31388.32\"\n" +
+"  java BasicDataOperation \"-31388.32\" --cached\n" +
+"  java BasicDataOperation \"-31388.32\" --auto --mix=search:90,add:10";
 
     public static void main(String[] args) {
+        BasicDataOperation coordinator = new BasicDataOperation();
+
+        // Параметри обробляються окремо від пошукового значення
+        List<String> positionalArgs = new ArrayList<>();
+        for (String argument : args) {
+            if (ReportSink.applyOption(argument) || PerformanceTracker.applyOption(argument)) {
+                continue;
+            }
+            if (argument.equals("--cached")) {
+                coordinator.useAnalysisCache = true;
+            } else if (argument.equals("--advise") || argument.equals("--auto")) {
+                coordinator.adviceMode = argument.substring(2);
+            } else if (argument.startsWith("--mix=")) {
+                coordinator.operationMix = argument.substring("--mix=".length());
+            } else if (argument.startsWith("--ops=")) {
+                coordinator.operationCount = Long.parseLong(argument.substring("--ops=".length()));
+            } else if (argument.startsWith("--data=")) {
+                dataFilePath = argument.substring("--data=".length());
+            } else if (argument.startsWith("--search=")) {
+                coordinator.searchStrategy = FloatSearch.Strategy.fromName(argument.substring("--search=".length()));
+            } else {
+                positionalArgs.add(argument);
+            }
+        }
+        args = positionalArgs.toArray(new String[0]);
+
         if (args.length != 1) {
-            System.out.println(USAGE_MESSAGE);
+            ReportSink.println(USAGE_MESSAGE);
+            ReportSink.flush();
             return;
         }
 
@@ -52,11 +94,11 @@ public class BasicDataOperation {
         try {
             Float.parseFloat(searchValue);
         } catch (Exception e) {
-            System.out.println("Помилка: Невірний формат дати-часу. Використовуйте ISO формат (наприклад: 2024-03-16T00:12:38Z)");
+            ReportSink.println("Помилка: Невірний формат дати-часу. Використовуйте ISO формат (наприклад: 2024-03-16T00:12:38Z)");
+            ReportSink.flush();
             return;
         }
 
-        BasicDataOperation coordinator = new BasicDataOperation();
         coordinator.executeOperations(args);
     }
 
@@ -66,20 +108,126 @@ public class BasicDataOperation {
      * @param args Аргументи командного рядка
      */
     private void executeOperations(String[] args) {
-        System.out.println(SEPARATOR);
-        System.out.println("🚀 РОЗПОЧАТО АНАЛІЗ ДАНИХ float 🚀");
-        System.out.println("Пошуковий параметр: " + args[0]);
-        System.out.println(SEPARATOR);
+        ReportSink.println(SEPARATOR);
+        ReportSink.println("🚀 РОЗПОЧАТО АНАЛІЗ ДАНИХ float 🚀");
+        ReportSink.println("Пошуковий параметр: " + args[0]);
+        ReportSink.println(SEPARATOR);
         
         // Підготовка даних та перевірка формату
         floatValueToSearch = Float.parseFloat(args[0]);
-        floatArray = DataFileHandler.loadArrayFromFile(PATH_TO_DATA_FILE);
-        
-        runAllOperations();
 
-        System.out.println(SEPARATOR);
-        System.out.println("✅ АНАЛІЗ ЗАВЕРШЕНО ✅");
-        System.out.println(SEPARATOR);
+        if (useAnalysisCache) {
+            runCachedAnalysis();
+        } else if (adviceMode != null) {
+            runAdvisedOperations();
+        } else {
+            floatArray = DataFileHandler.loadArrayFromFile(dataFilePath);
+            runAllOperations();
+        }
+
+        ReportSink.println(SEPARATOR);
+        ReportSink.println("✅ АНАЛІЗ ЗАВЕРШЕНО ✅");
+        ReportSink.println(SEPARATOR);
+        ReportSink.flush();
+    }
+
+    /**
+     * Відповідає на запит за збереженим аналізом файлу даних.
+     * Розбір і сортування виконуються лише тоді, коли файл змінився з моменту побудови кешу.
+     */
+    private void runCachedAnalysis() {
+        ReportSink.println("💾 АНАЛІЗ ДАНИХ З ВИКОРИСТАННЯМ КЕШУ");
+        ReportSink.println("-".repeat(50));
+
+        FloatAnalysisCache.FloatAnalysis analysis = FloatAnalysisCache.loadOrCompute(dataFilePath);
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        int position = analysis.find(floatValueToSearch, searchStrategy);
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "пошук елемента у відсортованому масиві з кешу (" + searchStrategy + ")");
+        PerformanceTracker.displayTimeToFirstResult("пошук елемента з кешу");
+
+        if (position >= 0) {
+            ReportSink.println("Елемент '" + floatValueToSearch + "' знайдено у відсортованому масиві за позицією: " + position);
+        } else {
+            ReportSink.println("Елемент '" + floatValueToSearch + "' відсутній у відсортованому масиві.");
+        }
+        ReportSink.println("Кількість елементів: " + analysis.sortedValues.length);
+        ReportSink.println("Кількість унікальних елементів: " + analysis.distinctCount);
+        ReportSink.println("Найменше значення: " + analysis.minValue);
+        ReportSink.println("Найбільше значення: " + analysis.maxValue);
+    }
+
+    /**
+     * Обирає структуру для заданого навантаження і запускає лише її.
+     * У режимі auto використовується збережене рішення, якщо файл даних і навантаження не змінилися.
+     */
+    private void runAdvisedOperations() {
+        ReportSink.println("🧭 ВИБІР СТРУКТУРИ ДАНИХ ДЛЯ НАВАНТАЖЕННЯ");
+        ReportSink.println("-".repeat(50));
+
+        String choice = adviceMode.equals("auto")
+                ? CollectionAdvisor.storedOrAdvise(dataFilePath, operationMix, operationCount)
+                : CollectionAdvisor.adviseAndStore(dataFilePath, operationMix, operationCount);
+        ReportSink.println(SEPARATOR);
+
+        switch (choice) {
+            case "list":
+                floatArray = DataFileHandler.loadArrayFromFile(dataFilePath);
+                runListOperations();
+                break;
+            case "queue":
+                floatArray = DataFileHandler.loadArrayFromFile(dataFilePath);
+                runQueueOperations();
+                break;
+            case "set":
+                floatArray = DataFileHandler.loadArrayFromFile(dataFilePath);
+                runSetOperations();
+                break;
+            case "sorted-array":
+                // Відсортований примітивний масив уже зберігається кешем аналізу
+                runCachedAnalysis();
+                break;
+            case "hash-set":
+                runHashSetOperations();
+                break;
+            default:
+                ReportSink.println("❌ Невідома структура у рішенні: " + choice);
+        }
+    }
+
+    /**
+     * Запускає пошук у примітивній хеш-множині float.
+     */
+    private void runHashSetOperations() {
+        ReportSink.println("#️⃣ ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ ПРИМІТИВНОЇ ХЕШ-МНОЖИНИ");
+        ReportSink.println("-".repeat(50));
+
+        float[] values = FloatList.toPrimitive(DataFileHandler.loadArrayFromFile(dataFilePath));
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        CollectionAdvisor.FloatHashSet floatSet = new CollectionAdvisor.FloatHashSet(values.length);
+        for (float value : values) {
+            floatSet.add(value);
+        }
+
+        PerformanceTracker.displayOperationTime(timeStart, "побудова хеш-множини float");
+
+        timeStart = PerformanceTracker.startOperation();
+
+        boolean elementExists = floatSet.contains(floatValueToSearch);
+
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в хеш-множині float");
+        PerformanceTracker.displayTimeToFirstResult("пошук елемента в хеш-множині");
+
+        if (elementExists) {
+            ReportSink.println("Елемент '" + floatValueToSearch + "' знайдено в хеш-множині");
+        } else {
+            ReportSink.println("Елемент '" + floatValueToSearch + "' відсутній в хеш-множині.");
+        }
+        ReportSink.println("Кількість унікальних елементів: " + floatSet.size());
     }
 
     /**
@@ -88,16 +236,19 @@ public class BasicDataOperation {
      * @param args Аргументи для передачі до класу
      */
     private void runListOperations() {
-        System.out.println("📋 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ LIST");
-        System.out.println("-".repeat(50));
+        ReportSink.println("📋 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ LIST");
+        ReportSink.println("-".repeat(50));
         
+        PhaseProfiler.Phase phase = PhaseProfiler.begin("BasicDataOperationUsingList");
         try {
             // Створення екземпляру класу з передаванням даних
-            BasicDataOperationUsingList listProcessor = new BasicDataOperationUsingList(floatValueToSearch, floatArray);
+            BasicDataOperationUsingList listProcessor = new BasicDataOperationUsingList(floatValueToSearch, FloatList.toPrimitive(floatArray), searchStrategy);
             listProcessor.executeDataOperations();
         } catch (Exception e) {
-            System.out.println("❌ Помилка при роботі з List: " + e.getMessage());
+            ReportSink.println("❌ Помилка при роботі з List: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            phase.close();
         }
     }
 
@@ -107,16 +258,19 @@ public class BasicDataOperation {
      * @param args Аргументи для передачі до класу
      */
     private void runQueueOperations() {
-        System.out.println("🔄 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ QUEUE");
-        System.out.println("-".repeat(50));
+        ReportSink.println("🔄 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ QUEUE");
+        ReportSink.println("-".repeat(50));
         
+        PhaseProfiler.Phase phase = PhaseProfiler.begin("BasicDataOperationUsingQueue");
         try {
             // Створення екземпляру класу з передаванням даних
             BasicDataOperationUsingQueue queueProcessor = new BasicDataOperationUsingQueue(floatValueToSearch, floatArray);
             queueProcessor.runDataProcessing();
         } catch (Exception e) {
-            System.out.println("❌ Помилка при роботі з Queue: " + e.getMessage());
+            ReportSink.println("❌ Помилка при роботі з Queue: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            phase.close();
         }
     }
 
@@ -126,16 +280,19 @@ public class BasicDataOperation {
      * @param args Аргументи для передачі до класу
      */
     private void runSetOperations() {
-        System.out.println("🔍 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ SET");
-        System.out.println("-".repeat(50));
+        ReportSink.println("🔍 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ SET");
+        ReportSink.println("-".repeat(50));
         
+        PhaseProfiler.Phase phase = PhaseProfiler.begin("BasicDataOperationUsingSet");
         try {
             // Створення екземпляру класу з передаванням даних           
             BasicDataOperationUsingSet setProcessor = new BasicDataOperationUsingSet(floatValueToSearch, floatArray);
             setProcessor.executeDataAnalysis();
         } catch (Exception e) {
-            System.out.println("❌ Помилка при роботі з Set: " + e.getMessage());
+            ReportSink.println("❌ Помилка при роботі з Set: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            phase.close();
         }
     }
 
@@ -145,16 +302,16 @@ public class BasicDataOperation {
      * @param args Аргументи для передачі до класів
      */
     private void runAllOperations() {
-        System.out.println("🎯 КОМПЛЕКСНИЙ АНАЛІЗ ВСІХ СТРУКТУР ДАНИХ");
-        System.out.println("=".repeat(60));
+        ReportSink.println("🎯 КОМПЛЕКСНИЙ АНАЛІЗ ВСІХ СТРУКТУР ДАНИХ");
+        ReportSink.println("=".repeat(60));
         
         // Обробка List
         runListOperations();
-        System.out.println("\n" + "~".repeat(60) + "\n");
+        ReportSink.println("\n" + "~".repeat(60) + "\n");
         
         // Обробка Queue  
         runQueueOperations();
-        System.out.println("\n" + "~".repeat(60) + "\n");
+        ReportSink.println("\n" + "~".repeat(60) + "\n");
         
         // Обробка Set
         runSetOperations();
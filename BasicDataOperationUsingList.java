@@ -1,26 +1,29 @@
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
 
 /**
  * Клас BasicDataOperationUsingList реалізує операції з колекціями типу ArrayList для даних LocalDateTime.
  * 
+ * <p>Масив і список спільно використовують один примітивний буфер: список є
+ * поданням {@link FloatList} над масивом, тому дані не копіюються, а після
+ * сортування списку масив уже впорядкований.</p>
+ * 
  * <p>Методи класу:</p>
  * <ul>
  *   <li>{@link #executeDataOperations()} - Виконує комплекс операцій з даними.</li>
  *   <li>{@link #performArraySorting()} - Упорядковує масив елементів LocalDateTime.</li>
  *   <li>{@link #findInArray()} - Здійснює пошук елемента в масиві LocalDateTime.</li>
  *   <li>{@link #locateMinMaxInArray()} - Визначає найменше і найбільше значення в масиві.</li>
+ *   <li>{@link #computeArrayStatistics()} - Обчислює середнє, відхилення, перцентилі та гістограму масиву.</li>
  *   <li>{@link #sortList()} - Сортує колекцію List з float.</li>
  *   <li>{@link #findInList()} - Пошук конкретного значення в списку.</li>
  *   <li>{@link #locateMinMaxInList()} - Пошук мінімального і максимального значення в списку.</li>
  * </ul>
  */
 public class BasicDataOperationUsingList {
-    private Float floatValueToSearch;
-    private Float[] floatArray;
-    private List<Float> floatList;
+    private float floatValueToSearch;
+    private float[] floatArray;
+    private FloatList floatList;
+    private FloatSearch.Strategy searchStrategy;
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
@@ -29,13 +32,21 @@ public class BasicDataOperationUsingList {
      * @param floatArray Масив float
      */
     BasicDataOperationUsingList(float floatValueToSearch, float[] floatArray) {
+        this(floatValueToSearch, floatArray, FloatSearch.Strategy.BINARY);
+    }
+
+    /**
+     * Конструктор із вибором стратегії пошуку у впорядкованих даних.
+     * 
+     * @param floatValueToSearch Значення для пошуку
+     * @param floatArray Масив float
+     * @param searchStrategy Стратегія пошуку
+     */
+    BasicDataOperationUsingList(float floatValueToSearch, float[] floatArray, FloatSearch.Strategy searchStrategy) {
         this.floatValueToSearch = floatValueToSearch;
-        Float[] boxedArray = new Float[floatArray.length];
-        for (int i = 0; i < floatArray.length; i++) {
-            boxedArray[i] = floatArray[i];
-        }
-        this.floatArray = boxedArray;
-        this.floatList = new ArrayList<Float>(Arrays.asList(boxedArray));
+        this.floatArray = floatArray;
+        this.floatList = FloatList.wrap(floatArray);
+        this.searchStrategy = searchStrategy;
     }
     
     /**
@@ -62,37 +73,42 @@ public class BasicDataOperationUsingList {
         
         findInArray();
         locateMinMaxInArray();
+        computeArrayStatistics();
 
         // зберігаємо відсортований масив до окремого файлу
-        DataFileHandler.writeArrayToFile(floatArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        DataFileHandler.writeArrayToFile(floatArray, BasicDataOperation.dataFilePath + ".sorted");
     }
 
     /**
      * Упорядковує масив об'єктів LocalDateTime за зростанням.
      * Фіксує та виводить тривалість операції сортування в наносекундах.
+     * Якщо буфер уже впорядковано через список, повторне сортування не виконується.
      */
     void performArraySorting() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Arrays.sort(floatArray);
+        boolean alreadySorted = floatList.isSorted();
+        floatList.sort();
 
         PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
+
+        ReportSink.println(alreadySorted ? "Буфер уже впорядковано, сортування пропущено." : "Форма вхідних даних: " + floatList.lastSortShape());
     }
 
     /**
      * Здійснює пошук конкретного значення в масиві дати та часу.
      */
     void findInArray() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        int position = Arrays.binarySearch(this.floatArray, floatValueToSearch);
+        int position = floatList.search(floatValueToSearch, searchStrategy);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу");
+        PerformanceTracker.displayOperationTime(timeStart, () -> "пошук елемента в масивi дати i часу (" + searchStrategy + ")");
 
         if (position >= 0) {
-            System.out.println("Елемент '" + floatValueToSearch + "' знайдено в масивi за позицією: " + position);
+            ReportSink.println("Елемент '" + floatValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + floatValueToSearch + "' відсутній в масиві.");
+            ReportSink.println("Елемент '" + floatValueToSearch + "' відсутній в масиві.");
         }
     }
 
@@ -101,44 +117,54 @@ public class BasicDataOperationUsingList {
      */
     void locateMinMaxInArray() {
         if (floatArray == null || floatArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
+            ReportSink.println("Масив є пустим або не ініціалізованим.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Float minValue = floatArray[0];
-        Float maxValue = floatArray[0];
+        FloatList.MinMax minMax = floatList.minMax();
 
-        for (Float currentDateTime : floatArray) {
-            if (floatValueToSearch < minValue) {
-                minValue = currentDateTime;
-            }
-            if (floatValueToSearch > maxValue) {
-                maxValue = currentDateTime;
-            }
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+
+        ReportSink.println("Найменше значення в масивi: " + minMax.min);
+        ReportSink.println("Найбільше значення в масивi: " + minMax.max);
+    }
+
+    /**
+     * Обчислює статистику масиву за один прохід: частини масиву обробляються паралельно,
+     * часткові стани зливаються. Для впорядкованого буфера перцентилі точні.
+     */
+    void computeArrayStatistics() {
+        if (floatArray == null || floatArray.length == 0) {
+            ReportSink.println("Масив є пустим або не ініціалізованим.");
+            return;
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+        long timeStart = PerformanceTracker.startOperation();
+
+        FloatStatistics.Accumulator statistics = FloatStatistics.accumulateParallel(floatArray);
+
+        PerformanceTracker.displayOperationTime(timeStart, "обчислення статистики масиву за один прохід");
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+        FloatStatistics.printSummary(statistics, floatArray, floatList.isSorted());
     }
 
     /**
      * Шукає конкретне значення дати та часу в колекції ArrayList.
      */
     void findInList() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        int position = Collections.binarySearch(this.floatList, floatValueToSearch);
+        int position = searchInList(floatValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в List дати i часу");        
+        PerformanceTracker.displayOperationTime(timeStart, () -> "пошук елемента в List дати i часу (" + searchStrategy + ")");        
+        PerformanceTracker.displayTimeToFirstResult("пошук елемента в List");
 
         if (position >= 0) {
-            System.out.println("Елемент '" + floatValueToSearch + "' знайдено в Vector за позицією: " + position);
+            ReportSink.println("Елемент '" + floatValueToSearch + "' знайдено в Vector за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + floatValueToSearch + "' відсутній в Vector.");
+            ReportSink.println("Елемент '" + floatValueToSearch + "' відсутній в Vector.");
         }
     }
 
@@ -147,19 +173,18 @@ public class BasicDataOperationUsingList {
      */
     void locateMinMaxInList() {
         if (floatList == null || floatList.isEmpty()) {
-            System.out.println("Колекція Vector є пустою або не ініціалізованою.");
+            ReportSink.println("Колекція Vector є пустою або не ініціалізованою.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Float minValue = Collections.min(floatList);
-        Float maxValue = Collections.max(floatList);
+        FloatList.MinMax minMax = minMaxOfList();
 
         PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в List");
 
-        System.out.println("Найменше значення в List: " + minValue);
-        System.out.println("Найбільше значення в List: " + maxValue);
+        ReportSink.println("Найменше значення в List: " + minMax.min);
+        ReportSink.println("Найбільше значення в List: " + minMax.max);
     }
 
     /**
@@ -167,10 +192,51 @@ public class BasicDataOperationUsingList {
      * Відстежує та виводить час виконання операції сортування.
      */
     void sortList() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Collections.sort(floatList);
+        sortListElements();
 
         PerformanceTracker.displayOperationTime(timeStart, "упорядкування Vector дати i часу");
+
+        if (floatList.lastSortShape() != null) {
+            ReportSink.println("Форма вхідних даних: " + floatList.lastSortShape());
+        }
+    }
+
+    /**
+     * Шукає значення в списку обраною стратегією без вимірювання та виведення.
+     * 
+     * @param value Значення для пошуку
+     * @return Позиція значення або від'ємне число, якщо його немає
+     */
+    int searchInList(float value) {
+        // Усі стратегії працюють з примітивним буфером списку без упаковки
+        return floatList.search(value, searchStrategy);
+    }
+
+    /**
+     * Повертає найменше і найбільше значення списку без вимірювання та виведення.
+     */
+    FloatList.MinMax minMaxOfList() {
+        return floatList.minMax();
+    }
+
+    /**
+     * Замінює вміст списку значеннями з масиву тієї ж довжини без вимірювання та виведення.
+     * Список створюється заново, тому ознака впорядкованості скидається.
+     *
+     * @param source Нові значення списку
+     */
+    void reloadListElements(float[] source) {
+        System.arraycopy(source, 0, floatArray, 0, floatArray.length);
+        floatList = FloatList.wrap(floatArray);
+    }
+
+    /**
+     * Сортує список без вимірювання та виведення.
+     */
+    void sortListElements() {
+        // Природний порядок сортується примітивно, без упаковки елементів
+        Collections.sort(floatList);
     }
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.Vector;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Клас BasicDataOperationUsingMap реалізує операції з колекціями типу Map для зберігання пар ключ-значення.
@@ -21,6 +28,13 @@ import java.util.TreeMap;
  * </ul>
  */
 public class BasicDataOperationUsingMap {
+    static final String PATH_TO_DATA_FILE = "list/Pet.data";
+    static final int STORE_GROUP_COMMIT_SIZE = 64;
+    static final int STORE_SNAPSHOT_INTERVAL = 100_000;
+    static final String HASHTABLE_STORE_NAME = "hashtable";
+    static final String TREE_MAP_STORE_NAME = "treemap";
+    static final int LOOKUP_CACHE_CAPACITY = 10_000;
+
     private final Pet KEY_TO_SEARCH_AND_DELETE = new Pet("Луна", "Полярна сова");
     private final Pet KEY_TO_ADD = new Pet("Кір", "Сова вухата");
 
@@ -29,20 +43,185 @@ public class BasicDataOperationUsingMap {
 
     private Hashtable<Pet, String> hashtable;
     private TreeMap<Pet, String> treeMap;
+    private OwnerIndex hashtableOwnerIndex;
+    private OwnerIndex treeMapOwnerIndex;
+    private OrderedSnapshot hashtableSnapshot;
+    private PetOwnerStore hashtableStore;
+    private PetOwnerStore treeMapStore;
+
+    private final LookupCache<Pet, String> hashtableKeyCache = new LookupCache<>("пошук за ключем в Hashtable", LOOKUP_CACHE_CAPACITY);
+    private final LookupCache<String, Pet> hashtableOwnerCache = new LookupCache<>("пошук за власником в Hashtable", LOOKUP_CACHE_CAPACITY);
+    private final LookupCache<Pet, String> treeMapKeyCache = new LookupCache<>("пошук за ключем в TreeMap", LOOKUP_CACHE_CAPACITY);
+    private final LookupCache<String, Pet> treeMapOwnerCache = new LookupCache<>("пошук за власником в TreeMap", LOOKUP_CACHE_CAPACITY);
 
     /**
-     * Компаратор для сортування Map.Entry за значеннями String.
-     * Використовує метод String.compareTo() для порівняння імен власників.
+     * Вторинний індекс власник -> множина тварин для однієї Map.
+     * 
+     * Оновлюється при кожному put/remove відповідної Map, тому пошук і видалення
+     * за власником виконуються за O(1) амортизовано без сортування записів.
+     * Один власник може мати довільну кількість тварин.
      */
-    static class OwnerValueComparator implements Comparator<Map.Entry<Pet, String>> {
-        @Override
-        public int compare(Map.Entry<Pet, String> e1, Map.Entry<Pet, String> e2) {
-            String v1 = e1.getValue();
-            String v2 = e2.getValue();
-            if (v1 == null && v2 == null) return 0;
-            if (v1 == null) return -1;
-            if (v2 == null) return 1;
-            return v1.compareTo(v2);
+    static class OwnerIndex {
+        private final HashMap<String, Set<Pet>> petsByOwner = new HashMap<>();
+
+        /**
+         * Будує індекс за вмістом наявної Map.
+         * 
+         * @param source Map, для якої будується індекс
+         */
+        OwnerIndex(Map<Pet, String> source) {
+            for (Map.Entry<Pet, String> entry : source.entrySet()) {
+                link(entry.getKey(), entry.getValue());
+            }
+        }
+
+        /**
+         * Фіксує додавання або заміну запису в Map.
+         * 
+         * @param pet ключ запису
+         * @param previousOwner значення, яке повернув Map.put() (null, якщо запису не було)
+         * @param owner нове значення запису
+         */
+        void onPut(Pet pet, String previousOwner, String owner) {
+            if (previousOwner != null) {
+                unlink(pet, previousOwner);
+            }
+            link(pet, owner);
+        }
+
+        /**
+         * Фіксує видалення запису з Map.
+         * 
+         * @param pet ключ видаленого запису
+         * @param owner значення, яке повернув Map.remove()
+         */
+        void onRemove(Pet pet, String owner) {
+            unlink(pet, owner);
+        }
+
+        /**
+         * Повертає будь-яку тварину власника без копіювання множини.
+         * 
+         * @param owner ім'я власника
+         * @return тварина власника або null, якщо власника немає в індексі
+         */
+        Pet anyPetOf(String owner) {
+            Set<Pet> pets = petsByOwner.get(owner);
+            return pets == null ? null : pets.iterator().next();
+        }
+
+        /**
+         * Вилучає з індексу всіх тварин власника.
+         * 
+         * @param owner ім'я власника
+         * @return множина тварин власника (порожня, якщо власника немає)
+         */
+        Set<Pet> detach(String owner) {
+            Set<Pet> pets = petsByOwner.remove(owner);
+            return pets == null ? Collections.emptySet() : pets;
+        }
+
+        private void link(Pet pet, String owner) {
+            petsByOwner.computeIfAbsent(owner, key -> new HashSet<>()).add(pet);
+        }
+
+        private void unlink(Pet pet, String owner) {
+            Set<Pet> pets = petsByOwner.get(owner);
+            if (pets != null && pets.remove(pet) && pets.isEmpty()) {
+                petsByOwner.remove(owner);
+            }
+        }
+    }
+
+    /**
+     * Незмінний впорядкований знімок записів Map на основі масивів.
+     * 
+     * Записи впорядковані за природним порядком Pet (кличка за зростанням, вид за спаданням).
+     * Знімок будується один раз і кешується до наступної зміни Map; діапазонні
+     * вибірки за кличкою повертають подання над тими самими масивами без копіювання.
+     */
+    static final class OrderedSnapshot {
+        private final Pet[] pets;
+        private final String[] owners;
+        private final int from;
+        private final int to;
+
+        private OrderedSnapshot(Pet[] pets, String[] owners, int from, int to) {
+            this.pets = pets;
+            this.owners = owners;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Будує знімок за вмістом Map. Для TreeMap з природним порядком сортування не виконується.
+         * 
+         * @param source Map, з якої береться знімок
+         * @return впорядкований знімок записів
+         */
+        static OrderedSnapshot of(Map<Pet, String> source) {
+            List<Map.Entry<Pet, String>> entries = new ArrayList<>(source.entrySet());
+            boolean alreadyOrdered = source instanceof SortedMap && ((SortedMap<Pet, String>) source).comparator() == null;
+            if (!alreadyOrdered) {
+                entries.sort(Map.Entry.comparingByKey());
+            }
+
+            Pet[] pets = new Pet[entries.size()];
+            String[] owners = new String[entries.size()];
+            for (int i = 0; i < pets.length; i++) {
+                pets[i] = entries.get(i).getKey();
+                owners[i] = entries.get(i).getValue();
+            }
+            return new OrderedSnapshot(pets, owners, 0, pets.length);
+        }
+
+        int size() {
+            return to - from;
+        }
+
+        /**
+         * Повертає подання записів з кличкою в діапазоні [fromNickname, toNickname).
+         * 
+         * @param fromNickname нижня межа клички (включно)
+         * @param toNickname верхня межа клички (не включно)
+         * @return подання над тими самими масивами
+         */
+        OrderedSnapshot rangeByNickname(String fromNickname, String toNickname) {
+            int lower = lowerBound(fromNickname);
+            int upper = Math.max(lower, lowerBound(toNickname));
+            return new OrderedSnapshot(pets, owners, lower, upper);
+        }
+
+        /**
+         * Виводить записи знімка в порядку сортування.
+         * Кількість виведених записів визначається режимом {@link ReportSink}.
+         */
+        void print() {
+            int printed = ReportSink.elementsToPrint(size());
+            for (int i = from; i < from + printed; i++) {
+                ReportSink.println("  " + pets[i] + " -> " + owners[i]);
+            }
+            ReportSink.printOmitted(printed, size());
+        }
+
+        private int lowerBound(String nickname) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compareNicknames(pets[middle].getNickname(), nickname) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static int compareNicknames(String left, String right) {
+            if (left == null) return right == null ? 0 : -1;
+            if (right == null) return 1;
+            return left.compareTo(right);
         }
     }
 
@@ -51,19 +230,30 @@ public class BasicDataOperationUsingMap {
      * 
      * Реалізує Comparable<Pet> для визначення природного порядку сортування.
      * Природний порядок: спочатку за кличкою (nickname) за зростанням, потім за видом (species) за спаданням.
+     * 
+     * Pet є незмінним ключем: хеш-код обчислюється один раз у конструкторі,
+     * а рядки виду дедуплікуються через спільний пул, оскільки значення виду
+     * часто повторюються (наприклад, "Сова болотяна").
      */
-    public static class Pet implements Comparable<Pet> {
+    public static final class Pet implements Comparable<Pet> {
+        /**
+         * Пул канонічних рядків виду. Завдяки йому однакові види посилаються
+         * на один об'єкт String, і їх можна порівнювати за посиланням.
+         */
+        private static final ConcurrentHashMap<String, String> SPECIES_POOL = new ConcurrentHashMap<>();
+
         private final String nickname;
         private final String species;
+        private final int hash;
 
         public Pet(String nickname) {
-            this.nickname = nickname;
-            this.species = null;
+            this(nickname, null);
         }
 
         public Pet(String nickname, String species) {
             this.nickname = nickname;
-            this.species = species;
+            this.species = canonicalSpecies(species);
+            this.hash = computeHash(nickname, this.species);
         }
 
         public String getNickname() { 
@@ -74,6 +264,32 @@ public class BasicDataOperationUsingMap {
             return species;
         }
 
+        /**
+         * Повертає канонічний екземпляр рядка виду з пулу.
+         * 
+         * @param species вид тварини
+         * @return канонічний рядок виду або null
+         */
+        private static String canonicalSpecies(String species) {
+            if (species == null) {
+                return null;
+            }
+            String canonical = SPECIES_POOL.putIfAbsent(species, species);
+            return canonical != null ? canonical : species;
+        }
+
+        /**
+         * Обчислює хеш-код за полями nickname та species.
+         * 
+         * Формула result = 31 * result + hashCode(поле) збігається з попередньою
+         * реалізацією, тому значення hashCode() для тих самих полів не змінюються.
+         */
+        private static int computeHash(String nickname, String species) {
+            int result = nickname != null ? nickname.hashCode() : 0;
+            result = 31 * result + (species != null ? species.hashCode() : 0);
+            return result;
+        }
+
         /**
          * Порівнює цей об'єкт Pet з іншим для визначення порядку сортування.
          * Природний порядок: спочатку за кличкою (nickname) за зростанням, потім за видом (species) за спаданням.
@@ -85,37 +301,35 @@ public class BasicDataOperationUsingMap {
          * 
          * Критерій порівняння: поля nickname (кличка) за зростанням та species (вид) за спаданням.
          * 
+         * Швидкий шлях: той самий об'єкт, однакове посилання на кличку та канонічний
+         * вид дозволяють повернути результат без посимвольного порівняння рядків.
+         * 
          * Цей метод використовується:
          * - TreeMap для автоматичного сортування ключів Pet за nickname (зростання), потім за species (спадання)
-         * - Collections.sort() для сортування Map.Entry за ключами Pet
-         * - Collections.binarySearch() для пошуку в відсортованих колекціях
+         * - List.sort() для побудови впорядкованого знімка записів
          */
         @Override
         public int compareTo(Pet other) {
             if (other == null) return 1;
-            
+            if (this == other) return 0;
+
             // Спочатку порівнюємо за кличкою (за зростанням)
-            int nicknameComparison = 0;
-            if (this.nickname == null && other.nickname == null) {
-                nicknameComparison = 0;
-            } else if (this.nickname == null) {
-                nicknameComparison = -1;
-            } else if (other.nickname == null) {
-                nicknameComparison = 1;
-            } else {
-                nicknameComparison = this.nickname.compareTo(other.nickname);
+            String otherNickname = other.nickname;
+            if (nickname != otherNickname) {
+                if (nickname == null) return -1;
+                if (otherNickname == null) return 1;
+                int nicknameComparison = nickname.compareTo(otherNickname);
+                if (nicknameComparison != 0) {
+                    return nicknameComparison;
+                }
             }
-            
-            // Якщо клички різні, повертаємо результат
-            if (nicknameComparison != 0) {
-                return nicknameComparison;
-            }
-            
-            // Якщо клички однакові, порівнюємо за видом (за спаданням - інвертуємо результат)
-            if (this.species == null && other.species == null) return 0;
-            if (this.species == null) return 1;  // null йде в кінець при спаданні
-            if (other.species == null) return -1;
-            return other.species.compareTo(this.species);  // Інвертоване порівняння для спадання
+
+            // Види канонічні, тому однакові види мають однакове посилання
+            String otherSpecies = other.species;
+            if (species == otherSpecies) return 0;
+            if (species == null) return 1;  // null йде в кінець при спаданні
+            if (otherSpecies == null) return -1;
+            return otherSpecies.compareTo(species);  // Інвертоване порівняння для спадання
         }
 
         /**
@@ -125,7 +339,8 @@ public class BasicDataOperationUsingMap {
          * @param obj об'єкт для порівняння
          * @return true, якщо об'єкти рівні; false в іншому випадку
          * 
-         * Критерій рівності: поля nickname (кличка) та species (вид).
+         * Спочатку порівнюються збережені хеш-коди, тож різні ключі зазвичай
+         * відсіюються без порівняння рядків. Види канонічні й порівнюються за посиланням.
          * 
          * Важливо: метод узгоджений з compareTo() - якщо equals() повертає true,
          * то compareTo() повертає 0, оскільки обидва методи порівнюють за nickname та species.
@@ -133,37 +348,25 @@ public class BasicDataOperationUsingMap {
         @Override
         public boolean equals(Object obj) {
             if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
+            if (!(obj instanceof Pet)) return false;
             Pet pet = (Pet) obj;
-            
-            boolean nicknameEquals = nickname != null ? nickname.equals(Pet.nickname) : Pet.nickname == null;
-            boolean speciesEquals = species != null ? species.equals(Pet.species) : Pet.species == null;
-            
-            return nicknameEquals && speciesEquals;
+
+            return hash == pet.hash
+                    && species == pet.species
+                    && Objects.equals(nickname, pet.nickname);
         }
 
         /**
          * Повертає хеш-код для цього Pet.
          * 
-         * @return хеш-код, обчислений на основі nickname та species
-         * 
-         * Базується на полях nickname та species для узгодженості з equals().
+         * @return хеш-код, обчислений у конструкторі на основі nickname та species
          * 
          * Важливо: узгоджений з equals() - якщо два Pet рівні за equals()
          * (мають однакові nickname та species), вони матимуть однаковий hashCode().
          */
         @Override
         public int hashCode() {
-            // Початкове значення: хеш-код поля nickname (або 0, якщо nickname == null)
-            int result = nickname != null ? nickname.hashCode() : 0;
-            
-            // Комбінуємо хеш-коди полів за формулою: result = 31 * result + hashCode(поле)
-            // Множник 31 - просте число, яке дає хороше розподілення хеш-кодів
-            // і оптимізується JVM як (result << 5) - result
-            // Додаємо хеш-код виду (або 0, якщо species == null) до загального результату
-            result = 31 * result + (species != null ? species.hashCode() : 0);
-            
-            return result;
+            return hash;
         }
 
         /**
@@ -174,9 +377,9 @@ public class BasicDataOperationUsingMap {
         @Override
         public String toString() {
             if (species != null) {
-                return "Pet{nickname='" + nickname + "', species='" + species + "', hashCode=" + hashCode() + "}";
+                return "Pet{nickname='" + nickname + "', species='" + species + "', hashCode=" + hash + "}";
             }
-            return "Pet{nickname='" + nickname + "', hashCode=" + hashCode() + "}";
+            return "Pet{nickname='" + nickname + "', hashCode=" + hash + "}";
         }
     }
 
@@ -189,6 +392,19 @@ public class BasicDataOperationUsingMap {
     BasicDataOperationUsingMap(Hashtable<Pet, String> hashtable, TreeMap<Pet, String> treeMap) {
         this.hashtable = hashtable;
         this.treeMap = treeMap;
+        this.hashtableOwnerIndex = new OwnerIndex(hashtable);
+        this.treeMapOwnerIndex = new OwnerIndex(treeMap);
+    }
+
+    /**
+     * Підключає сховища на диску, до яких журналюються зміни кожної Map окремо.
+     * 
+     * @param hashtableStore сховище записів Hashtable
+     * @param treeMapStore сховище записів TreeMap
+     */
+    void attachStores(PetOwnerStore hashtableStore, PetOwnerStore treeMapStore) {
+        this.hashtableStore = hashtableStore;
+        this.treeMapStore = treeMapStore;
     }
     
     /**
@@ -198,18 +414,18 @@ public class BasicDataOperationUsingMap {
      */
     public void executeDataOperations() {
         // Спочатку працюємо з Hashtable
-        System.out.println("========= Операції з Hashtable =========");
-        System.out.println("Початковий розмір Hashtable: " + hashtable.size());
+        ReportSink.println("========= Операції з Hashtable =========");
+        ReportSink.println("Початковий розмір Hashtable: " + hashtable.size());
         
-        // Пошук до сортування
+        // Пошук до побудови впорядкованого знімка
         findByKeyInHashtable();
         findByValueInHashtable();
 
         printHashtable();
-        sortHashtable();
-        printHashtable();
+        printSortedHashtable();
+        printHashtableNicknameRange("Б", "Е");
 
-        // Пошук після сортування
+        // Повторний пошук: Hashtable не змінювалася, тому відповіді беруться з кешу пошуку
         findByKeyInHashtable();
         findByValueInHashtable();
 
@@ -218,11 +434,13 @@ public class BasicDataOperationUsingMap {
         removeByKeyFromHashtable();
         removeByValueFromHashtable();
                
-        System.out.println("Кінцевий розмір Hashtable: " + hashtable.size());
+        ReportSink.println("Кінцевий розмір Hashtable: " + hashtable.size());
+        hashtableKeyCache.displayStatistics();
+        hashtableOwnerCache.displayStatistics();
 
         // Потім обробляємо TreeMap
-        System.out.println("\n\n========= Операції з TreeMap =========");
-        System.out.println("Початковий розмір TreeMap: " + treeMap.size());
+        ReportSink.println("\n\n========= Операції з TreeMap =========");
+        ReportSink.println("Початковий розмір TreeMap: " + treeMap.size());
         
         findByKeyInTreeMap();
         findByValueInTreeMap();
@@ -234,10 +452,29 @@ public class BasicDataOperationUsingMap {
         removeByKeyFromTreeMap();
         removeByValueFromTreeMap();
         
-        System.out.println("Кінцевий розмір TreeMap: " + treeMap.size());
+        ReportSink.println("Кінцевий розмір TreeMap: " + treeMap.size());
+        treeMapKeyCache.displayStatistics();
+        treeMapOwnerCache.displayStatistics();
     }
 
 
+    /**
+     * Виводить записи Map у кількості, визначеній режимом {@link ReportSink}.
+     * 
+     * @param map Map для виведення
+     */
+    private static void printEntries(Map<Pet, String> map) {
+        int printed = ReportSink.elementsToPrint(map.size());
+        int index = 0;
+        for (Map.Entry<Pet, String> entry : map.entrySet()) {
+            if (index++ >= printed) {
+                break;
+            }
+            ReportSink.println("  " + entry.getKey() + " -> " + entry.getValue());
+        }
+        ReportSink.printOmitted(printed, map.size());
+    }
+
     // ===== Методи для Hashtable =====
 
     /**
@@ -245,87 +482,179 @@ public class BasicDataOperationUsingMap {
      * Hashtable не гарантує жодного порядку елементів.
      */
     private void printHashtable() {
-        System.out.println("\n=== Пари ключ-значення в Hashtable ===");
-        long timeStart = System.nanoTime();
+        ReportSink.println("\n=== Пари ключ-значення в Hashtable ===");
+        printEntries(hashtable);
 
+        // Вимірюється лише обхід колекції, виведення виконується поза виміряною ділянкою
+        long timeStart = PerformanceTracker.startOperation();
+
+        int checksum = 0;
         for (Map.Entry<Pet, String> entry : hashtable.entrySet()) {
-            System.out.println("  " + entry.getKey() + " -> " + entry.getValue());
+            checksum += entry.getKey().hashCode() ^ Objects.hashCode(entry.getValue());
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "виведення пари ключ-значення в Hashtable");
+        PerformanceTracker.displayOperationTime(timeStart, "обхід пар ключ-значення в Hashtable");
+
+        ReportSink.println("Контрольна сума обходу: " + checksum);
     }
 
     /**
-     * Сортує Hashtable за ключами.
-     * Використовує Collections.sort() з природним порядком Pet (Pet.compareTo()).
-     * Перезаписує hashtable відсортованими даними.
+     * Повертає впорядкований знімок Hashtable.
+     * Знімок будується лише після зміни Hashtable, інакше повертається кешований.
+     * 
+     * @return незмінний знімок записів, впорядкованих за природним порядком Pet
      */
-    private void sortHashtable() {
-        long timeStart = System.nanoTime();
-
-        // Створюємо список ключів і сортуємо за природним порядком Pet
-        Vector<Pet> sortedKeys = new Vector<>(hashtable.keySet());
-        Collections.sort(sortedKeys);
-        
-        // Створюємо нову Hashtable з відсортованими ключами
-        Hashtable<Pet, String> sortedHashtable = new Hashtable<>();
-        for (Pet key : sortedKeys) {
-            sortedHashtable.put(key, hashtable.get(key));
+    OrderedSnapshot orderedHashtableSnapshot() {
+        if (hashtableSnapshot == null) {
+            hashtableSnapshot = OrderedSnapshot.of(hashtable);
         }
-        
-        // Перезаписуємо оригінальну hashtable
-        hashtable = sortedHashtable;
+        return hashtableSnapshot;
+    }
+
+    /**
+     * Виводить вміст Hashtable, впорядкований за ключами Pet.
+     * Час побудови знімка вимірюється окремо від виведення.
+     */
+    private void printSortedHashtable() {
+        ReportSink.println("\n=== Впорядковані пари ключ-значення в Hashtable ===");
+        long timeStart = PerformanceTracker.startOperation();
+
+        OrderedSnapshot snapshot = orderedHashtableSnapshot();
 
-        PerformanceTracker.displayOperationTime(timeStart, "сортування Hashtable за ключами");
+        PerformanceTracker.displayOperationTime(timeStart, "побудова впорядкованого знімка Hashtable");
+
+        snapshot.print();
+    }
+
+    /**
+     * Виводить записи Hashtable з кличкою в діапазоні [fromNickname, toNickname).
+     * 
+     * @param fromNickname нижня межа клички (включно)
+     * @param toNickname верхня межа клички (не включно)
+     */
+    private void printHashtableNicknameRange(String fromNickname, String toNickname) {
+        ReportSink.println("\n=== Записи Hashtable з кличкою від '" + fromNickname + "' до '" + toNickname + "' ===");
+        long timeStart = PerformanceTracker.startOperation();
+
+        OrderedSnapshot range = orderedHashtableSnapshot().rangeByNickname(fromNickname, toNickname);
+
+        PerformanceTracker.displayOperationTime(timeStart, "діапазонна вибірка за кличкою в Hashtable");
+
+        range.print();
     }
 
     /**
      * Здійснює пошук елемента за ключем в Hashtable.
+     * Результат береться з кешу пошуку за ключем, при промаху - з самої Hashtable.
      * Використовує Pet.hashCode() та Pet.equals() для пошуку.
      */
     void findByKeyInHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        boolean found = hashtable.containsKey(KEY_TO_SEARCH_AND_DELETE);
+        String value = ownerInHashtable(KEY_TO_SEARCH_AND_DELETE);
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в Hashtable");
 
-        if (found) {
-            String value = hashtable.get(KEY_TO_SEARCH_AND_DELETE);
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
+        if (value != null) {
+            ReportSink.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
         } else {
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в Hashtable.");
+            ReportSink.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в Hashtable.");
         }
     }
 
     /**
      * Здійснює пошук елемента за значенням в Hashtable.
-     * Сортує список Map.Entry за значеннями та використовує бінарний пошук.
+     * Використовує вторинний індекс власник -> тварини замість сортування записів.
      */
     void findByValueInHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
+
+        Pet foundPet = petOfOwnerInHashtable(VALUE_TO_SEARCH_AND_DELETE);
+
+        PerformanceTracker.displayOperationTime(timeStart, "пошук за значенням через індекс в Hashtable");
 
-        // Створюємо список Entry та сортуємо за значеннями
-        Vector<Map.Entry<Pet, String>> entries = new Vector<>(hashtable.entrySet());
-        OwnerValueComparator comparator = new OwnerValueComparator();
-        Collections.sort(entries, comparator);
+        if (foundPet != null) {
+            ReportSink.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Pet: " + foundPet);
+        } else {
+            ReportSink.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в Hashtable.");
+        }
+    }
 
-        // Створюємо тимчасовий Entry для пошуку
-        Map.Entry<Pet, String> searchEntry = new Map.Entry<Pet, String>() {
-            public Pet getKey() { return null; }
-            public String getValue() { return VALUE_TO_SEARCH_AND_DELETE; }
-            public String setValue(String value) { return null; }
-        };
+    /**
+     * Повертає власника тварини з Hashtable через кеш пошуку за ключем.
+     * 
+     * @param pet ключ запису
+     * @return власник або null
+     */
+    String ownerInHashtable(Pet pet) {
+        return hashtableKeyCache.getOrLoad(pet, hashtable::get);
+    }
 
-        int position = Collections.binarySearch(entries, searchEntry, comparator);
+    /**
+     * Повертає будь-яку тварину власника з Hashtable через кеш пошуку за власником.
+     * 
+     * @param owner ім'я власника
+     * @return тварина або null
+     */
+    Pet petOfOwnerInHashtable(String owner) {
+        return hashtableOwnerCache.getOrLoad(owner, hashtableOwnerIndex::anyPetOf);
+    }
 
-        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в Hashtable");
+    /**
+     * Додає запис до Hashtable, узгоджено оновлюючи індекс власників,
+     * кешований знімок та сховище на диску (якщо його підключено).
+     * 
+     * @param pet ключ запису
+     * @param owner ім'я власника
+     * @return попередній власник або null
+     */
+    String putIntoHashtable(Pet pet, String owner) {
+        String previousOwner = hashtable.put(pet, owner);
+        hashtableOwnerIndex.onPut(pet, previousOwner, owner);
+        hashtableSnapshot = null;
+        invalidateHashtableCaches(pet, previousOwner, owner);
+        if (hashtableStore != null) {
+            hashtableStore.logPut(pet, owner);
+            hashtableStore.snapshotIfDue(hashtable);
+        }
+        return previousOwner;
+    }
 
-        if (position >= 0) {
-            Map.Entry<Pet, String> foundEntry = entries.get(position);
-            System.out.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Pet: " + foundEntry.getKey());
-        } else {
-            System.out.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в Hashtable.");
+    /**
+     * Видаляє запис з Hashtable, узгоджено оновлюючи індекс власників,
+     * кешований знімок та сховище на диску (якщо його підключено).
+     * 
+     * @param pet ключ запису
+     * @return видалений власник або null, якщо запису не було
+     */
+    String removeFromHashtable(Pet pet) {
+        String removedOwner = hashtable.remove(pet);
+        if (removedOwner != null) {
+            hashtableOwnerIndex.onRemove(pet, removedOwner);
+            hashtableSnapshot = null;
+            invalidateHashtableCaches(pet, removedOwner, null);
+            if (hashtableStore != null) {
+                hashtableStore.logRemove(pet);
+                hashtableStore.snapshotIfDue(hashtable);
+            }
+        }
+        return removedOwner;
+    }
+
+    /**
+     * Скидає кешовані результати пошуку, на які вплинула зміна запису Hashtable.
+     * 
+     * @param pet змінений ключ
+     * @param oldOwner попередній власник або null
+     * @param newOwner новий власник або null
+     */
+    private void invalidateHashtableCaches(Pet pet, String oldOwner, String newOwner) {
+        hashtableKeyCache.invalidate(pet);
+        if (oldOwner != null) {
+            hashtableOwnerCache.invalidate(oldOwner);
+        }
+        if (newOwner != null) {
+            hashtableOwnerCache.invalidate(newOwner);
         }
     }
 
@@ -333,52 +662,47 @@ public class BasicDataOperationUsingMap {
      * Додає новий запис до Hashtable.
      */
     void addEntryToHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        hashtable.put(KEY_TO_ADD, VALUE_TO_ADD);
+        putIntoHashtable(KEY_TO_ADD, VALUE_TO_ADD);
 
         PerformanceTracker.displayOperationTime(timeStart, "додавання запису до Hashtable");
 
-        System.out.println("Додано новий запис: Pet='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
+        ReportSink.println("Додано новий запис: Pet='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
     }
 
     /**
      * Видаляє запис з Hashtable за ключем.
      */
     void removeByKeyFromHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        String removedValue = hashtable.remove(KEY_TO_SEARCH_AND_DELETE);
+        String removedValue = removeFromHashtable(KEY_TO_SEARCH_AND_DELETE);
 
         PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з Hashtable");
 
         if (removedValue != null) {
-            System.out.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
+            ReportSink.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
         } else {
-            System.out.println("Ключ '" + KEY_TO_SEARCH_AND_DELETE + "' не знайдено для видалення.");
+            ReportSink.println("Ключ '" + KEY_TO_SEARCH_AND_DELETE + "' не знайдено для видалення.");
         }
     }
 
     /**
      * Видаляє записи з Hashtable за значенням.
+     * Ключі для видалення беруться з індексу власника, без перегляду всієї Map.
      */
     void removeByValueFromHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Vector<Pet> keysToRemove = new Vector<>();
-        for (Map.Entry<Pet, String> entry : hashtable.entrySet()) {
-            if (entry.getValue() != null && entry.getValue().equals(VALUE_TO_SEARCH_AND_DELETE)) {
-                keysToRemove.add(entry.getKey());
-            }
-        }
-        
+        Set<Pet> keysToRemove = hashtableOwnerIndex.detach(VALUE_TO_SEARCH_AND_DELETE);
         for (Pet key : keysToRemove) {
-            hashtable.remove(key);
+            removeFromHashtable(key);
         }
 
         PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з Hashtable");
 
-        System.out.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
+        ReportSink.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
     }
 
     // ===== Методи для TreeMap =====
@@ -388,63 +712,113 @@ public class BasicDataOperationUsingMap {
      * TreeMap автоматично відсортована за ключами (Pet nickname за зростанням, species за спаданням).
      */
     private void printTreeMap() {
-        System.out.println("\n=== Пари ключ-значення в TreeMap ===");
+        ReportSink.println("\n=== Пари ключ-значення в TreeMap ===");
+        printEntries(treeMap);
+
+        // Вимірюється лише обхід колекції, виведення виконується поза виміряною ділянкою
+        long timeStart = PerformanceTracker.startOperation();
 
-        long timeStart = System.nanoTime();
+        int checksum = 0;
         for (Map.Entry<Pet, String> entry : treeMap.entrySet()) {
-            System.out.println("  " + entry.getKey() + " -> " + entry.getValue());
+            checksum += entry.getKey().hashCode() ^ Objects.hashCode(entry.getValue());
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "виведення пар ключ-значення в TreeMap");
+        PerformanceTracker.displayOperationTime(timeStart, "обхід пар ключ-значення в TreeMap");
+
+        ReportSink.println("Контрольна сума обходу: " + checksum);
     }
 
     /**
      * Здійснює пошук елемента за ключем в TreeMap.
+     * Результат береться з кешу пошуку за ключем, при промаху - з самої TreeMap.
      * Використовує Pet.compareTo() для навігації по дереву.
      */
     void findByKeyInTreeMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        boolean found = treeMap.containsKey(KEY_TO_SEARCH_AND_DELETE);
+        String value = treeMapKeyCache.getOrLoad(KEY_TO_SEARCH_AND_DELETE, treeMap::get);
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в TreeMap");
 
-        if (found) {
-            String value = treeMap.get(KEY_TO_SEARCH_AND_DELETE);
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
+        if (value != null) {
+            ReportSink.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
         } else {
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в TreeMap.");
+            ReportSink.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в TreeMap.");
         }
     }
 
     /**
      * Здійснює пошук елемента за значенням в TreeMap.
-     * Сортує список Map.Entry за значеннями та використовує бінарний пошук.
+     * Використовує вторинний індекс власник -> тварини замість сортування записів.
      */
     void findByValueInTreeMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        // Створюємо список Entry та сортуємо за значеннями
-        Vector<Map.Entry<Pet, String>> entries = new Vector<>(treeMap.entrySet());
-        OwnerValueComparator comparator = new OwnerValueComparator();
-        Collections.sort(entries, comparator);
+        Pet foundPet = treeMapOwnerCache.getOrLoad(VALUE_TO_SEARCH_AND_DELETE, treeMapOwnerIndex::anyPetOf);
 
-        // Створюємо тимчасовий Entry для пошуку
-        Map.Entry<Pet, String> searchEntry = new Map.Entry<Pet, String>() {
-            public Pet getKey() { return null; }
-            public String getValue() { return VALUE_TO_SEARCH_AND_DELETE; }
-            public String setValue(String value) { return null; }
-        };
+        PerformanceTracker.displayOperationTime(timeStart, "пошук за значенням через індекс в TreeMap");
 
-        int position = Collections.binarySearch(entries, searchEntry, comparator);
+        if (foundPet != null) {
+            ReportSink.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Pet: " + foundPet);
+        } else {
+            ReportSink.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в TreeMap.");
+        }
+    }
 
-        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в TreeMap");
+    /**
+     * Додає запис до TreeMap, узгоджено оновлюючи індекс власників, кеші пошуку
+     * та сховище на диску (якщо його підключено).
+     * 
+     * @param pet ключ запису
+     * @param owner ім'я власника
+     * @return попередній власник або null
+     */
+    private String putIntoTreeMap(Pet pet, String owner) {
+        String previousOwner = treeMap.put(pet, owner);
+        treeMapOwnerIndex.onPut(pet, previousOwner, owner);
+        invalidateTreeMapCaches(pet, previousOwner, owner);
+        if (treeMapStore != null) {
+            treeMapStore.logPut(pet, owner);
+            treeMapStore.snapshotIfDue(treeMap);
+        }
+        return previousOwner;
+    }
 
-        if (position >= 0) {
-            Map.Entry<Pet, String> foundEntry = entries.get(position);
-            System.out.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Pet: " + foundEntry.getKey());
-        } else {
-            System.out.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в TreeMap.");
+    /**
+     * Видаляє запис з TreeMap, узгоджено оновлюючи індекс власників, кеші пошуку
+     * та сховище на диску (якщо його підключено).
+     * 
+     * @param pet ключ запису
+     * @return видалений власник або null
+     */
+    private String removeFromTreeMap(Pet pet) {
+        boolean present = treeMap.containsKey(pet);
+        String removedOwner = treeMap.remove(pet);
+        if (present) {
+            treeMapOwnerIndex.onRemove(pet, removedOwner);
+            invalidateTreeMapCaches(pet, removedOwner, null);
+            if (treeMapStore != null) {
+                treeMapStore.logRemove(pet);
+                treeMapStore.snapshotIfDue(treeMap);
+            }
+        }
+        return removedOwner;
+    }
+
+    /**
+     * Скидає кешовані результати пошуку, на які вплинула зміна запису TreeMap.
+     * 
+     * @param pet змінений ключ
+     * @param oldOwner попередній власник або null
+     * @param newOwner новий власник або null
+     */
+    private void invalidateTreeMapCaches(Pet pet, String oldOwner, String newOwner) {
+        treeMapKeyCache.invalidate(pet);
+        if (oldOwner != null) {
+            treeMapOwnerCache.invalidate(oldOwner);
+        }
+        if (newOwner != null) {
+            treeMapOwnerCache.invalidate(newOwner);
         }
     }
 
@@ -452,86 +826,134 @@ public class BasicDataOperationUsingMap {
      * Додає новий запис до TreeMap.
      */
     void addEntryToTreeMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        treeMap.put(KEY_TO_ADD, VALUE_TO_ADD);
+        putIntoTreeMap(KEY_TO_ADD, VALUE_TO_ADD);
 
         PerformanceTracker.displayOperationTime(timeStart, "додавання запису до TreeMap");
 
-        System.out.println("Додано новий запис: Pet='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
+        ReportSink.println("Додано новий запис: Pet='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
     }
 
     /**
      * Видаляє запис з TreeMap за ключем.
      */
     void removeByKeyFromTreeMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        String removedValue = treeMap.remove(KEY_TO_SEARCH_AND_DELETE);
+        String removedValue = removeFromTreeMap(KEY_TO_SEARCH_AND_DELETE);
 
         PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з TreeMap");
 
         if (removedValue != null) {
-            System.out.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
+            ReportSink.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
         } else {
-            System.out.println("Ключ '" + KEY_TO_SEARCH_AND_DELETE + "' не знайдено для видалення.");
+            ReportSink.println("Ключ '" + KEY_TO_SEARCH_AND_DELETE + "' не знайдено для видалення.");
         }
     }
 
     /**
      * Видаляє записи з TreeMap за значенням.
+     * Ключі для видалення беруться з індексу власника, без перегляду всієї Map.
      */
     void removeByValueFromTreeMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Vector<Pet> keysToRemove = new Vector<>();
-        for (Map.Entry<Pet, String> entry : treeMap.entrySet()) {
-            if (entry.getValue() != null && entry.getValue().equals(VALUE_TO_SEARCH_AND_DELETE)) {
-                keysToRemove.add(entry.getKey());
-            }
-        }
-        
+        Set<Pet> keysToRemove = treeMapOwnerIndex.detach(VALUE_TO_SEARCH_AND_DELETE);
         for (Pet key : keysToRemove) {
-            treeMap.remove(key);
+            removeFromTreeMap(key);
         }
 
         PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з TreeMap");
 
-        System.out.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
+        ReportSink.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
     }
 
     /**
      * Головний метод для запуску програми.
+     * 
+     * Приклад використання:
+     * <pre>
+     * {@code
+     * java BasicDataOperationUsingMap
+     * java BasicDataOperationUsingMap list/Pet.data --parallel
+     * java BasicDataOperationUsingMap --store pet-store
+     * java BasicDataOperationUsingMap --report=full
+     * }
+     * </pre>
      */
     public static void main(String[] args) {
-        // Створюємо початкові дані (ключ: Pet, значення: ім'я власника)
-        Hashtable<Pet, String> hashtable = new Hashtable<>();
-        hashtable.put(new Pet("Атлант", "Сова вухата"), "Руслан");
-        hashtable.put(new Pet("Броня", "Полярна сова"), "Олеся");
-        hashtable.put(new Pet("Вічність", "Сова сіра"), "Микола");
-        hashtable.put(new Pet("Гном", "Сипуха"), "Аліна");
-        hashtable.put(new Pet("Броня", "Сова болотяна"), "Тимур");
-        hashtable.put(new Pet("Дзвін", "Сичик-горобець"), "Микола");
-        hashtable.put(new Pet("Еон", "Сова болотяна"), "Софія");
-        hashtable.put(new Pet("Жук", "Сова яструбина"), "Віталій");
-        hashtable.put(new Pet("Зевс", "Сова білолиця"), "Олеся");
-        hashtable.put(new Pet("Ікар", "Сичик-хатник"), "Надія");
-
-        TreeMap<Pet, String> treeMap = new TreeMap<Pet, String>() {{
-            put(new Pet("Атлант", "Сова вухата"), "Руслан");
-            put(new Pet("Броня", "Полярна сова"), "Олеся");
-            put(new Pet("Вічність", "Сова сіра"), "Микола");
-            put(new Pet("Гном", "Сипуха"), "Аліна");
-            put(new Pet("Броня", "Сова болотяна"), "Тимур");
-            put(new Pet("Дзвін", "Сичик-горобець"), "Микола");
-            put(new Pet("Еон", "Сова болотяна"), "Софія");
-            put(new Pet("Жук", "Сова яструбина"), "Віталій");
-            put(new Pet("Зевс", "Сова білолиця"), "Олеся");
-            put(new Pet("Ікар", "Сичик-хатник"), "Надія");
-        }};
-
-        // Створюємо об'єкт і виконуємо операції
-        BasicDataOperationUsingMap operations = new BasicDataOperationUsingMap(hashtable, treeMap);
-        operations.executeDataOperations();
+        String filePath = PATH_TO_DATA_FILE;
+        String storeDirectory = null;
+        boolean parallel = false;
+        for (int i = 0; i < args.length; i++) {
+            if (ReportSink.applyOption(args[i]) || PerformanceTracker.applyOption(args[i])) {
+                continue;
+            }
+            if (args[i].equals("--parallel")) {
+                parallel = true;
+            } else if (args[i].equals("--store") && i + 1 < args.length) {
+                storeDirectory = args[++i];
+            } else {
+                filePath = args[i];
+            }
+        }
+
+        // Кожна Map має власне сховище, тому після відновлення вони можуть відрізнятися
+        try (PetOwnerStore hashtableStore = openStore(storeDirectory, HASHTABLE_STORE_NAME);
+             PetOwnerStore treeMapStore = openStore(storeDirectory, TREE_MAP_STORE_NAME)) {
+            // Завантажуємо початкові дані (ключ: Pet, значення: ім'я власника)
+            // Кожне наявне сховище відновлюється окремо; з файлу даних будується лише Map
+            // без сховища, і знімок створюється тільки для порожнього сховища
+            boolean recoverHashtable = hashtableStore != null && hashtableStore.exists();
+            boolean recoverTreeMap = treeMapStore != null && treeMapStore.exists();
+            PetDataFileHandler.PetRecords records = recoverHashtable && recoverTreeMap ? null
+                    : PetDataFileHandler.loadRecordsFromFile(filePath, parallel);
+
+            Hashtable<Pet, String> hashtable;
+            if (recoverHashtable) {
+                hashtable = new Hashtable<>();
+                hashtableStore.recover(hashtable);
+            } else {
+                hashtable = PetDataFileHandler.buildHashtable(records);
+                if (hashtableStore != null) {
+                    hashtableStore.snapshot(hashtable);
+                }
+            }
+
+            TreeMap<Pet, String> treeMap;
+            if (recoverTreeMap) {
+                treeMap = new TreeMap<>();
+                treeMapStore.recover(treeMap);
+            } else {
+                treeMap = PetDataFileHandler.buildTreeMap(records, parallel);
+                if (treeMapStore != null) {
+                    treeMapStore.snapshot(treeMap);
+                }
+            }
+
+            // Створюємо об'єкт і виконуємо операції
+            BasicDataOperationUsingMap operations = new BasicDataOperationUsingMap(hashtable, treeMap);
+            operations.attachStores(hashtableStore, treeMapStore);
+            PhaseProfiler.Phase phase = PhaseProfiler.begin("BasicDataOperationUsingMap");
+            try {
+                operations.executeDataOperations();
+            } finally {
+                phase.close();
+            }
+        }
+        ReportSink.flush();
+    }
+
+    /**
+     * Відкриває сховище однієї Map у підкаталозі каталогу сховища.
+     * 
+     * @param storeDirectory каталог сховища або null, якщо сховище не використовується
+     * @param name назва підкаталогу
+     * @return сховище або null
+     */
+    private static PetOwnerStore openStore(String storeDirectory, String name) {
+        return storeDirectory == null ? null
+                : new PetOwnerStore(Paths.get(storeDirectory, name).toString(), STORE_GROUP_COMMIT_SIZE, STORE_SNAPSHOT_INTERVAL);
     }
 }
@@ -8,6 +8,7 @@ import java.util.PriorityQueue;
  * <p>Основні функції класу:</p>
  * <ul>
  *   <li>{@link #runDataProcessing()} - Запускає комплекс операцій з даними.</li>
+ *   <li>{@link #buildQueue()} - Будує чергу з масиву.</li>
  *   <li>{@link #performArraySorting()} - Упорядковує масив LocalDateTime.</li>
  *   <li>{@link #findInArray()} - Пошук значення в масиві LocalDateTime.</li>
  *   <li>{@link #locateMinMaxInArray()} - Знаходить мінімальне і максимальне значення в масиві.</li>
@@ -20,6 +21,7 @@ import java.util.PriorityQueue;
 public class BasicDataOperationUsingQueue {
     private Float floatValueToSearch;
     private Float[] floatArray;
+    // Черга будується методом buildQueue() перед першим вимірюваним зверненням
     private PriorityQueue<Float> floatQueue;
 
     /**
@@ -28,10 +30,20 @@ public class BasicDataOperationUsingQueue {
      * @param floatValueToSearch Значення для пошуку
      * @param floatArray Масив LocalDateTime
      */
-    BasicDataOperationUsingQueue(float floatValueToSearch, float[] floatArray) {
+    BasicDataOperationUsingQueue(float floatValueToSearch, Float[] floatArray) {
         this.floatValueToSearch = floatValueToSearch;
         this.floatArray = floatArray;
-        this.floatQueue = new PriorityQueue<Float>(Arrays.asList(floatArray));
+    }
+
+    /**
+     * Будує чергу з масиву та вимірює час побудови окремо від операцій з чергою.
+     */
+    void buildQueue() {
+        long timeStart = PerformanceTracker.startOperation();
+
+        floatQueue = new PriorityQueue<Float>(Arrays.asList(floatArray));
+
+        PerformanceTracker.displayOperationTime(timeStart, "побудова Queue з масиву");
     }
     
     /**
@@ -41,6 +53,7 @@ public class BasicDataOperationUsingQueue {
      */
     public void runDataProcessing() {
         // спочатку обробляємо чергу дати та часу
+        buildQueue();
         findInQueue();
         locateMinMaxInQueue();
         performQueueOperations();
@@ -55,7 +68,7 @@ public class BasicDataOperationUsingQueue {
         locateMinMaxInArray();
 
         // зберігаємо відсортований масив до файлу
-        DataFileHandler.writeArrayToFile(floatArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        DataFileHandler.writeArrayToFile(floatArray, BasicDataOperation.dataFilePath + ".sorted");
     }
 
     /**
@@ -64,11 +77,14 @@ public class BasicDataOperationUsingQueue {
      */
     private void performArraySorting() {
         // вимірюємо тривалість упорядкування масиву дати та часу
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Arrays.sort(floatArray);
+        // Масив може бути вже впорядкований попереднім обробником, тоді сортування пропускається
+        AdaptiveSort.Shape shape = AdaptiveSort.sort(floatArray);
 
         PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
+
+        ReportSink.println("Форма вхідних даних: " + shape);
     }
 
     /**
@@ -76,16 +92,16 @@ public class BasicDataOperationUsingQueue {
      */
     private void findInArray() {
         // відстежуємо час виконання пошуку в масиві
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
         
         int position = Arrays.binarySearch(this.floatArray, floatValueToSearch);
         
         PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу");
 
         if (position >= 0) {
-            System.out.println("Елемент '" + floatValueToSearch + "' знайдено в масивi за позицією: " + position);
+            ReportSink.println("Елемент '" + floatValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + floatValueToSearch + "' відсутній в масиві.");
+            ReportSink.println("Елемент '" + floatValueToSearch + "' відсутній в масиві.");
         }
     }
 
@@ -94,12 +110,12 @@ public class BasicDataOperationUsingQueue {
      */
     private void locateMinMaxInArray() {
         if (floatArray == null || floatArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
+            ReportSink.println("Масив є пустим або не ініціалізованим.");
             return;
         }
 
         // відстежуємо час на визначення граничних значень
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         Float minValue = floatArray[0];
         Float maxValue = floatArray[0];
@@ -115,8 +131,8 @@ public class BasicDataOperationUsingQueue {
 
         PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+        ReportSink.println("Найменше значення в масивi: " + minValue);
+        ReportSink.println("Найбільше значення в масивi: " + maxValue);
     }
 
     /**
@@ -124,16 +140,17 @@ public class BasicDataOperationUsingQueue {
      */
     private void findInQueue() {
         // вимірюємо час пошуку в черзі
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        boolean elementExists = this.floatQueue.contains(floatValueToSearch);
+        boolean elementExists = queueContains(floatValueToSearch);
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в Queue дати i часу");
+        PerformanceTracker.displayTimeToFirstResult("пошук елемента в Queue");
 
         if (elementExists) {
-            System.out.println("Елемент '" + floatValueToSearch + "' знайдено в Queue");
+            ReportSink.println("Елемент '" + floatValueToSearch + "' знайдено в Queue");
         } else {
-            System.out.println("Елемент '" + floatValueToSearch + "' відсутній в Queue.");
+            ReportSink.println("Елемент '" + floatValueToSearch + "' відсутній в Queue.");
         }
     }
 
@@ -141,39 +158,81 @@ public class BasicDataOperationUsingQueue {
      * Визначає найменше та найбільше значення в черзі LocalDateTime.
      */
     private void locateMinMaxInQueue() {
-        if (floatQueue == null || floatQueue.isEmpty()) {
-            System.out.println("Черга є пустою або не ініціалізованою.");
+        if (floatQueue.isEmpty()) {
+            ReportSink.println("Черга є пустою або не ініціалізованою.");
             return;
         }
 
         // відстежуємо час пошуку граничних значень
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Float minValue = Collections.min(floatQueue);
-        Float maxValue = Collections.max(floatQueue);
+        Float minValue = minInQueue();
+        Float maxValue = maxInQueue();
 
         PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в Queue");
 
-        System.out.println("Найменше значення в Queue: " + minValue);
-        System.out.println("Найбільше значення в Queue: " + maxValue);
+        ReportSink.println("Найменше значення в Queue: " + minValue);
+        ReportSink.println("Найбільше значення в Queue: " + maxValue);
     }
 
     /**
      * Виконує операції peek і poll з чергою LocalDateTime.
      */
     private void performQueueOperations() {
-        if (floatQueue == null || floatQueue.isEmpty()) {
-            System.out.println("Черга є пустою або не ініціалізованою.");
+        if (floatQueue.isEmpty()) {
+            ReportSink.println("Черга є пустою або не ініціалізованою.");
             return;
         }
 
         Float headElement = floatQueue.peek();
-        System.out.println("Головний елемент черги (peek): " + headElement);
+        ReportSink.println("Головний елемент черги (peek): " + headElement);
 
         headElement = floatQueue.poll();
-        System.out.println("Видалений елемент черги (poll): " + headElement);
+        ReportSink.println("Видалений елемент черги (poll): " + headElement);
 
         headElement = floatQueue.peek();
-        System.out.println("Новий головний елемент черги: " + headElement);
+        ReportSink.println("Новий головний елемент черги: " + headElement);
+    }
+
+    /**
+     * Перевіряє наявність значення в черзі без вимірювання та виведення.
+     */
+    boolean queueContains(Float value) {
+        return floatQueue.contains(value);
+    }
+
+    /**
+     * Повертає найменше значення черги або null, якщо черга порожня.
+     */
+    Float minInQueue() {
+        return floatQueue.isEmpty() ? null : Collections.min(floatQueue);
+    }
+
+    /**
+     * Повертає найбільше значення черги або null, якщо черга порожня.
+     */
+    Float maxInQueue() {
+        return floatQueue.isEmpty() ? null : Collections.max(floatQueue);
+    }
+
+    /**
+     * Повертає головний елемент черги без вилучення або null, якщо черга порожня.
+     */
+    Float peekQueue() {
+        return floatQueue.peek();
+    }
+
+    /**
+     * Вилучає головний елемент черги або повертає null, якщо черга порожня.
+     */
+    Float pollQueue() {
+        return floatQueue.poll();
+    }
+
+    /**
+     * Додає значення до черги.
+     */
+    void offerToQueue(Float value) {
+        floatQueue.offer(value);
     }
 }
\ No newline at end of file
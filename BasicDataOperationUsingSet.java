@@ -10,6 +10,7 @@ import java.util.TreeSet;
  * <p>Методи класу:</p>
  * <ul>
  *   <li>{@link #executeDataAnalysis()} - Запускає аналіз даних.</li>
+ *   <li>{@link #buildSet()} - Будує множину з масиву.</li>
  *   <li>{@link #performArraySorting()} - Упорядковує масив LocalDateTime.</li>
  *   <li>{@link #findInArray()} - Пошук значення в масиві LocalDateTime.</li>
  *   <li>{@link #locateMinMaxInArray()} - Знаходить граничні значення в масиві.</li>
@@ -21,18 +22,29 @@ import java.util.TreeSet;
 public class BasicDataOperationUsingSet {
     Float floatValueToSearch;
     Float[] floatArray;
-    Set<Float> floatSet = new TreeSet<Float>();
+    // Множина будується методом buildSet() перед першим вимірюваним зверненням
+    Set<Float> floatSet;
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
      * 
-     * @param dateTimeValueToSearch Значення для пошуку
+     * @param floatValueToSearch Значення для пошуку
      * @param floatArray Масив LocalDateTime
      */
-    BasicDataOperationUsingSet(float dateTimeValueToSearch, float[] floatArray) {
-        this.floatValueToSearch = dateTimeValueToSearch;
+    BasicDataOperationUsingSet(float floatValueToSearch, Float[] floatArray) {
+        this.floatValueToSearch = floatValueToSearch;
         this.floatArray = floatArray;
-        this.floatSet = new TreeSet<Float>(Arrays.asList(floatArray));
+    }
+
+    /**
+     * Будує множину з масиву та вимірює час побудови окремо від операцій з множиною.
+     */
+    void buildSet() {
+        long timeStart = PerformanceTracker.startOperation();
+
+        floatSet = new TreeSet<Float>(Arrays.asList(floatArray));
+
+        PerformanceTracker.displayOperationTime(timeStart, "побудова TreeSet з масиву");
     }
     
     /**
@@ -42,6 +54,7 @@ public class BasicDataOperationUsingSet {
      */
     public void executeDataAnalysis() {
         // спочатку аналізуємо множину дати та часу
+        buildSet();
         findInSet();
         locateMinMaxInSet();
         analyzeArrayAndSet();
@@ -56,7 +69,7 @@ public class BasicDataOperationUsingSet {
         locateMinMaxInArray();
 
         // зберігаємо відсортований масив до файлу
-        DataFileHandler.writeArrayToFile(floatArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        DataFileHandler.writeArrayToFile(floatArray, BasicDataOperation.dataFilePath + ".sorted");
     }
 
     /**
@@ -64,27 +77,30 @@ public class BasicDataOperationUsingSet {
      * Фіксує та виводить тривалість операції сортування в наносекундах.
      */
     private void performArraySorting() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Arrays.sort(floatArray);
+        // Масив може бути вже впорядкований попереднім обробником, тоді сортування пропускається
+        AdaptiveSort.Shape shape = AdaptiveSort.sort(floatArray);
 
         PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
+
+        ReportSink.println("Форма вхідних даних: " + shape);
     }
 
     /**
      * Здійснює пошук конкретного значення в масиві дати та часу.
      */
     private void findInArray() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        int position = Arrays.binarySearch(this.floatArray, dateTimeValueToSearch);
+        int position = Arrays.binarySearch(this.floatArray, floatValueToSearch);
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу");
 
         if (position >= 0) {
-            System.out.println("Елемент '" + floatValueToSearch + "' знайдено в масивi за позицією: " + position);
+            ReportSink.println("Елемент '" + floatValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + floatValueToSearch + "' відсутній в масиві.");
+            ReportSink.println("Елемент '" + floatValueToSearch + "' відсутній в масиві.");
         }
     }
 
@@ -93,11 +109,11 @@ public class BasicDataOperationUsingSet {
      */
     private void locateMinMaxInArray() {
         if (floatArray == null || floatArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
+            ReportSink.println("Масив є пустим або не ініціалізованим.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         Float minValue = floatArray[0];
         Float maxValue = floatArray[0];
@@ -113,24 +129,25 @@ public class BasicDataOperationUsingSet {
 
         PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+        ReportSink.println("Найменше значення в масивi: " + minValue);
+        ReportSink.println("Найбільше значення в масивi: " + maxValue);
     }
 
     /**
      * Здійснює пошук конкретного значення в множині дати та часу.
      */
     private void findInSet() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        boolean elementExists = this.floatSet.contains(dateTimeValueToSearch);
+        boolean elementExists = setContains(floatValueToSearch);
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в TreeSet дати i часу");
+        PerformanceTracker.displayTimeToFirstResult("пошук елемента в TreeSet");
 
         if (elementExists) {
-            System.out.println("Елемент '" + floatValueToSearch + "' знайдено в TreeSet");
+            ReportSink.println("Елемент '" + floatValueToSearch + "' знайдено в TreeSet");
         } else {
-            System.out.println("Елемент '" + floatValueToSearch + "' відсутній в TreeSet.");
+            ReportSink.println("Елемент '" + floatValueToSearch + "' відсутній в TreeSet.");
         }
     }
 
@@ -138,28 +155,28 @@ public class BasicDataOperationUsingSet {
      * Визначає найменше та найбільше значення в множині LocalDateTime.
      */
     private void locateMinMaxInSet() {
-        if (floatSet == null || floatSet.isEmpty()) {
-            System.out.println("TreeSet є пустим або не ініціалізованим.");
+        if (floatSet.isEmpty()) {
+            ReportSink.println("TreeSet є пустим або не ініціалізованим.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        Float minValue = Collections.min(floatSet);
-        Float maxValue = Collections.max(floatSet);
+        Float minValue = minInSet();
+        Float maxValue = maxInSet();
 
         PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в TreeSet");
 
-        System.out.println("Найменше значення в TreeSet: " + minValue);
-        System.out.println("Найбільше значення в TreeSet: " + maxValue);
+        ReportSink.println("Найменше значення в TreeSet: " + minValue);
+        ReportSink.println("Найбільше значення в TreeSet: " + maxValue);
     }
 
     /**
      * Аналізує та порівнює елементи масиву та множини.
      */
     private void analyzeArrayAndSet() {
-        System.out.println("Кiлькiсть елементiв в масивi: " + floatArray.length);
-        System.out.println("Кiлькiсть елементiв в TreeSet: " + floatSet.size());
+        ReportSink.println("Кiлькiсть елементiв в масивi: " + floatArray.length);
+        ReportSink.println("Кiлькiсть елементiв в TreeSet: " + floatSet.size());
 
         boolean allElementsPresent = true;
         for (Float dateTimeElement : floatArray) {
@@ -170,9 +187,48 @@ public class BasicDataOperationUsingSet {
         }
 
         if (allElementsPresent) {
-            System.out.println("Всi елементи масиву наявні в TreeSet.");
+            ReportSink.println("Всi елементи масиву наявні в TreeSet.");
         } else {
-            System.out.println("Не всi елементи масиву наявні в TreeSet.");
+            ReportSink.println("Не всi елементи масиву наявні в TreeSet.");
         }
     }
+
+    /**
+     * Перевіряє наявність значення в множині без вимірювання та виведення.
+     */
+    boolean setContains(Float value) {
+        return floatSet.contains(value);
+    }
+
+    /**
+     * Повертає найменше значення множини або null, якщо множина порожня.
+     */
+    Float minInSet() {
+        return floatSet.isEmpty() ? null : Collections.min(floatSet);
+    }
+
+    /**
+     * Повертає найбільше значення множини або null, якщо множина порожня.
+     */
+    Float maxInSet() {
+        return floatSet.isEmpty() ? null : Collections.max(floatSet);
+    }
+
+    /**
+     * Додає значення до множини.
+     * 
+     * @return true, якщо значення ще не було в множині
+     */
+    boolean addToSet(Float value) {
+        return floatSet.add(value);
+    }
+
+    /**
+     * Видаляє значення з множини.
+     * 
+     * @return true, якщо значення було в множині
+     */
+    boolean removeFromSet(Float value) {
+        return floatSet.remove(value);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,669 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Клас CollectionAdvisor обирає структуру даних для заданого навантаження.
+ *
+ * <p>Для набору даних обчислюється статистика (розмір, частка дублікатів,
+ * впорядкованість), після чого кожна структура-кандидат будується на цих даних,
+ * а кожна операція навантаження вимірюється окремо. Оцінка вартості навантаження:</p>
+ * <pre>
+ * побудова + кількість-операцій * сума(частка-операції * нс/операцію)
+ * </pre>
+ * <p>Обирається кандидат з найменшою оцінкою. Таблиця вимірювань виводиться
+ * як пояснення вибору.</p>
+ *
+ * <p>Кандидати:</p>
+ * <ul>
+ *   <li>{@code list} - відсортований ArrayList (BasicDataOperationUsingList);</li>
+ *   <li>{@code queue} - PriorityQueue (BasicDataOperationUsingQueue);</li>
+ *   <li>{@code set} - TreeSet (BasicDataOperationUsingSet);</li>
+ *   <li>{@code sorted-array} - відсортований примітивний масив float[];</li>
+ *   <li>{@code hash-set} - примітивна хеш-множина з відкритою адресацією.</li>
+ * </ul>
+ *
+ * <p>Рішення зберігається у файлі {@code <файл-даних>.advice} разом із розміром і
+ * часом зміни файлу даних та описом навантаження. Поки вони не змінилися,
+ * наступні запуски використовують збережене рішення без повторних вимірювань.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java CollectionAdvisor list/float.data search:70,minmax:20,add:10 100000
+ * }
+ * </pre>
+ */
+public class CollectionAdvisor {
+    static final String ADVICE_FILE_SUFFIX = ".advice";
+    static final String DEFAULT_MIX = "search:100";
+    static final long DEFAULT_OPERATION_COUNT = 100_000L;
+    static final List<String> OPERATIONS = Arrays.asList("search", "minmax", "add", "remove");
+
+    private static final int BUILD_REPEATS = 3;
+    private static final int SAMPLE_OPERATIONS = 20_000;
+    private static final long SAMPLE_TIME_BUDGET_NANOS = 100_000_000L;
+    private static final long WARMUP_TIME_BUDGET_NANOS = 20_000_000L;
+    private static final long SEED = 42L;
+
+    /**
+     * Структура-кандидат, що підтримує всі операції навантаження.
+     */
+    interface Candidate {
+        String name();
+
+        void build(float[] values);
+
+        /**
+         * Виконує одну операцію над значенням з набору даних.
+         *
+         * @return Результат операції, щоб JIT не усунув обчислення.
+         */
+        int execute(String operation, float value);
+    }
+
+    /**
+     * Статистика набору даних.
+     */
+    static final class DatasetStatistics {
+        final int size;
+        final int distinctCount;
+        final double sortedness;
+
+        DatasetStatistics(int size, int distinctCount, double sortedness) {
+            this.size = size;
+            this.distinctCount = distinctCount;
+            this.sortedness = sortedness;
+        }
+
+        double duplicateRatio() {
+            return size == 0 ? 0.0 : 1.0 - (double) distinctCount / size;
+        }
+
+        static DatasetStatistics of(float[] values) {
+            int ordered = 0;
+            for (int i = 1; i < values.length; i++) {
+                if (Float.compare(values[i - 1], values[i]) <= 0) {
+                    ordered++;
+                }
+            }
+            float[] sorted = values.clone();
+            Arrays.sort(sorted);
+            int distinctCount = sorted.length == 0 ? 0 : 1;
+            for (int i = 1; i < sorted.length; i++) {
+                if (Float.compare(sorted[i - 1], sorted[i]) != 0) {
+                    distinctCount++;
+                }
+            }
+            double sortedness = values.length < 2 ? 1.0 : (double) ordered / (values.length - 1);
+            return new DatasetStatistics(values.length, distinctCount, sortedness);
+        }
+    }
+
+    /**
+     * Результат вимірювання одного кандидата.
+     */
+    static final class Measurement {
+        final String candidate;
+        final long buildNanos;
+        final Map<String, Double> nanosPerOperation = new LinkedHashMap<>();
+        double estimatedNanos;
+
+        Measurement(String candidate, long buildNanos) {
+            this.candidate = candidate;
+            this.buildNanos = buildNanos;
+        }
+    }
+
+    private final Map<String, Integer> mix;
+    private final long operationCount;
+
+    CollectionAdvisor(Map<String, Integer> mix, long operationCount) {
+        for (String operation : mix.keySet()) {
+            if (!OPERATIONS.contains(operation)) {
+                throw new IllegalArgumentException("Операція '" + operation + "' не підтримується. Доступні: " + OPERATIONS);
+            }
+        }
+        this.mix = mix;
+        this.operationCount = operationCount;
+    }
+
+    public static void main(String[] args) {
+        String dataset = args.length > 0 ? args[0] : BasicDataOperation.PATH_TO_DATA_FILE;
+        String mixSpecification = args.length > 1 ? args[1] : DEFAULT_MIX;
+        long operationCount = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_OPERATION_COUNT;
+        for (int i = 3; i < args.length; i++) {
+            ReportSink.applyOption(args[i]);
+        }
+
+        String choice = adviseAndStore(dataset, mixSpecification, operationCount);
+        ReportSink.println("Рекомендована структура: " + choice);
+        ReportSink.flush();
+    }
+
+    /**
+     * Повертає збережене рішення, якщо воно актуальне, інакше вимірює кандидатів і зберігає нове.
+     *
+     * @param dataset Шлях до файлу даних float.
+     * @param mixSpecification Опис навантаження, наприклад {@code search:70,add:30}.
+     * @param operationCount Очікувана кількість операцій навантаження.
+     * @return Назва обраного кандидата.
+     */
+    public static String storedOrAdvise(String dataset, String mixSpecification, long operationCount) {
+        String stored = loadAdvice(dataset, mixSpecification, operationCount);
+        if (stored != null) {
+            ReportSink.println("Використано збережене рішення з " + dataset + ADVICE_FILE_SUFFIX + ": " + stored);
+            return stored;
+        }
+        return adviseAndStore(dataset, mixSpecification, operationCount);
+    }
+
+    /**
+     * Вимірює кандидатів на наборі даних, виводить пояснення та зберігає рішення.
+     *
+     * @return Назва обраного кандидата.
+     */
+    public static String adviseAndStore(String dataset, String mixSpecification, long operationCount) {
+        float[] values = FloatList.toPrimitive(DataFileHandler.loadArrayFromFile(dataset));
+        CollectionAdvisor advisor = new CollectionAdvisor(WorkloadScenarioRunner.parseOperationMix(mixSpecification), operationCount);
+        String choice = advisor.advise(values);
+        storeAdvice(dataset, mixSpecification, operationCount, choice);
+        return choice;
+    }
+
+    /**
+     * Вимірює всіх кандидатів і повертає назву найдешевшого для навантаження.
+     */
+    String advise(float[] values) {
+        DatasetStatistics statistics = DatasetStatistics.of(values);
+        ReportSink.println(String.format("Набір даних: %d елементів, унікальних %d (дублікатів %.1f%%), впорядкованих сусідніх пар %.1f%%",
+                statistics.size, statistics.distinctCount, statistics.duplicateRatio() * 100, statistics.sortedness * 100));
+        ReportSink.println("Навантаження: " + mix + ", операцій: " + operationCount);
+
+        List<Measurement> measurements = new ArrayList<>();
+        for (Candidate candidate : candidates()) {
+            measurements.add(measure(candidate, values));
+        }
+        measurements.sort((left, right) -> Double.compare(left.estimatedNanos, right.estimatedNanos));
+
+        printMeasurements(measurements);
+        explain(measurements, statistics);
+        return measurements.get(0).candidate;
+    }
+
+    static List<Candidate> candidates() {
+        return Arrays.asList(new SortedListCandidate(), new PriorityQueueCandidate(), new TreeSetCandidate(),
+                new SortedArrayCandidate(), new HashSetCandidate());
+    }
+
+    private Measurement measure(Candidate candidate, float[] values) {
+        long bestBuildNanos = Long.MAX_VALUE;
+        for (int repeat = 0; repeat < BUILD_REPEATS; repeat++) {
+            long timeStart = System.nanoTime();
+            candidate.build(values);
+            bestBuildNanos = Math.min(bestBuildNanos, System.nanoTime() - timeStart);
+        }
+
+        Measurement measurement = new Measurement(candidate.name(), bestBuildNanos);
+        int totalWeight = 0;
+        for (int weight : mix.values()) {
+            totalWeight += weight;
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        int blackhole = 0;
+        for (String operation : mix.keySet()) {
+            blackhole += runOperation(candidate, operation, values, random, WARMUP_TIME_BUDGET_NANOS)[1];
+        }
+        candidate.build(values);
+
+        double costPerOperation = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            long[] result = runOperation(candidate, entry.getKey(), values, random, SAMPLE_TIME_BUDGET_NANOS);
+            double nanos = (double) result[0] / Math.max(1, result[2]);
+            blackhole += (int) result[1];
+            measurement.nanosPerOperation.put(entry.getKey(), nanos);
+            costPerOperation += nanos * entry.getValue() / totalWeight;
+        }
+        measurement.estimatedNanos = bestBuildNanos + costPerOperation * operationCount;
+
+        if (blackhole == 42) {
+            ReportSink.println("");
+        }
+        return measurement;
+    }
+
+    /**
+     * Виконує операцію над випадковими значеннями з набору, доки не вичерпано кількість або час.
+     *
+     * @return {сумарний час, контрольна сума, кількість операцій}
+     */
+    private static long[] runOperation(Candidate candidate, String operation, float[] values,
+                                       SplittableRandom random, long timeBudgetNanos) {
+        if (values.length == 0) {
+            return new long[] {0, 0, 0};
+        }
+        long checksum = 0;
+        int done = 0;
+        long timeStart = System.nanoTime();
+        long elapsed = 0;
+        while (done < SAMPLE_OPERATIONS && elapsed < timeBudgetNanos) {
+            // Час перевіряється пакетами, щоб виклики nanoTime не спотворювали швидкі операції
+            for (int i = 0; i < 64; i++) {
+                checksum += candidate.execute(operation, values[random.nextInt(values.length)]);
+            }
+            done += 64;
+            elapsed = System.nanoTime() - timeStart;
+        }
+        return new long[] {elapsed, checksum, done};
+    }
+
+    private void printMeasurements(List<Measurement> measurements) {
+        StringBuilder header = new StringBuilder(String.format("%-14s %14s", "структура", "побудова, нс"));
+        for (String operation : mix.keySet()) {
+            header.append(String.format(" %14s", operation + ", нс/оп"));
+        }
+        header.append(String.format(" %14s", "оцінка, мс"));
+        ReportSink.println(header.toString());
+
+        for (Measurement measurement : measurements) {
+            StringBuilder row = new StringBuilder(String.format("%-14s %14d", measurement.candidate, measurement.buildNanos));
+            for (double nanos : measurement.nanosPerOperation.values()) {
+                row.append(String.format(" %14.1f", nanos));
+            }
+            row.append(String.format(" %14.3f", measurement.estimatedNanos / 1_000_000.0));
+            ReportSink.println(row.toString());
+        }
+    }
+
+    private void explain(List<Measurement> measurements, DatasetStatistics statistics) {
+        Measurement best = measurements.get(0);
+        if (measurements.size() > 1) {
+            Measurement second = measurements.get(1);
+            ReportSink.println(String.format("Обрано '%s': оцінка %.3f мс, наступний '%s' повільніший у %.2f раза.",
+                    best.candidate, best.estimatedNanos / 1_000_000.0, second.candidate,
+                    second.estimatedNanos / Math.max(1.0, best.estimatedNanos)));
+        }
+        if (statistics.sortedness > 0.99) {
+            ReportSink.println("Дані майже впорядковані: сортування під час побудови відсортованих структур дешеве.");
+        }
+        if (statistics.duplicateRatio() > 0 && (best.candidate.equals("set") || best.candidate.equals("hash-set"))) {
+            ReportSink.println("Увага: '" + best.candidate + "' зберігає лише унікальні значення, "
+                    + (statistics.size - statistics.distinctCount) + " дублікатів буде відкинуто.");
+        }
+    }
+
+    /**
+     * Повертає збережене рішення або null, якщо файл даних чи навантаження змінилися.
+     */
+    static String loadAdvice(String dataset, String mixSpecification, long operationCount) {
+        Path advicePath = Paths.get(dataset + ADVICE_FILE_SUFFIX);
+        if (!Files.exists(advicePath)) {
+            return null;
+        }
+        Properties advice = new Properties();
+        try (Reader reader = Files.newBufferedReader(advicePath, StandardCharsets.UTF_8)) {
+            advice.load(reader);
+            Path dataPath = Paths.get(dataset);
+            boolean current = String.valueOf(Files.size(dataPath)).equals(advice.getProperty("size"))
+                    && String.valueOf(Files.getLastModifiedTime(dataPath).toMillis()).equals(advice.getProperty("lastModified"))
+                    && mixSpecification.equals(advice.getProperty("mix"))
+                    && String.valueOf(operationCount).equals(advice.getProperty("operations"));
+            return current ? advice.getProperty("choice") : null;
+        } catch (IOException ioException) {
+            return null;
+        }
+    }
+
+    private static void storeAdvice(String dataset, String mixSpecification, long operationCount, String choice) {
+        Path dataPath = Paths.get(dataset);
+        Properties advice = new Properties();
+        try (Writer writer = Files.newBufferedWriter(Paths.get(dataset + ADVICE_FILE_SUFFIX), StandardCharsets.UTF_8)) {
+            advice.setProperty("size", String.valueOf(Files.size(dataPath)));
+            advice.setProperty("lastModified", String.valueOf(Files.getLastModifiedTime(dataPath).toMillis()));
+            advice.setProperty("mix", mixSpecification);
+            advice.setProperty("operations", String.valueOf(operationCount));
+            advice.setProperty("choice", choice);
+            advice.store(writer, "CollectionAdvisor");
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * Відсортований ArrayList: пошук і вставка через бінарний пошук.
+     */
+    static final class SortedListCandidate implements Candidate {
+        private List<Float> list;
+
+        @Override
+        public String name() {
+            return "list";
+        }
+
+        @Override
+        public void build(float[] values) {
+            list = new ArrayList<>(values.length);
+            for (float value : values) {
+                list.add(value);
+            }
+            Collections.sort(list);
+        }
+
+        @Override
+        public int execute(String operation, float value) {
+            switch (operation) {
+                case "search":
+                    return Collections.binarySearch(list, value);
+                case "minmax":
+                    return list.isEmpty() ? 0 : Float.floatToIntBits(list.get(0)) ^ Float.floatToIntBits(list.get(list.size() - 1));
+                case "add": {
+                    int position = Collections.binarySearch(list, value);
+                    list.add(position < 0 ? -position - 1 : position, value);
+                    return list.size();
+                }
+                case "remove": {
+                    int position = Collections.binarySearch(list, value);
+                    if (position >= 0) {
+                        list.remove(position);
+                    }
+                    return list.size();
+                }
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+    }
+
+    /**
+     * PriorityQueue: швидкий мінімум, решта операцій - лінійний перегляд.
+     */
+    static final class PriorityQueueCandidate implements Candidate {
+        private PriorityQueue<Float> queue;
+
+        @Override
+        public String name() {
+            return "queue";
+        }
+
+        @Override
+        public void build(float[] values) {
+            List<Float> boxed = new ArrayList<>(values.length);
+            for (float value : values) {
+                boxed.add(value);
+            }
+            queue = new PriorityQueue<>(boxed);
+        }
+
+        @Override
+        public int execute(String operation, float value) {
+            switch (operation) {
+                case "search":
+                    return queue.contains(value) ? 1 : 0;
+                case "minmax":
+                    return queue.isEmpty() ? 0 : Float.floatToIntBits(queue.peek()) ^ Float.floatToIntBits(Collections.max(queue));
+                case "add":
+                    queue.offer(value);
+                    return queue.size();
+                case "remove":
+                    return queue.remove(value) ? 1 : 0;
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+    }
+
+    /**
+     * TreeSet: логарифмічні операції, лише унікальні значення.
+     */
+    static final class TreeSetCandidate implements Candidate {
+        private TreeSet<Float> set;
+
+        @Override
+        public String name() {
+            return "set";
+        }
+
+        @Override
+        public void build(float[] values) {
+            set = new TreeSet<>();
+            for (float value : values) {
+                set.add(value);
+            }
+        }
+
+        @Override
+        public int execute(String operation, float value) {
+            switch (operation) {
+                case "search":
+                    return set.contains(value) ? 1 : 0;
+                case "minmax":
+                    return set.isEmpty() ? 0 : Float.floatToIntBits(set.first()) ^ Float.floatToIntBits(set.last());
+                case "add":
+                    return set.add(value) ? 1 : 0;
+                case "remove":
+                    return set.remove(value) ? 1 : 0;
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+    }
+
+    /**
+     * Відсортований примітивний масив: без упаковки, вставка і видалення зсувом через System.arraycopy.
+     */
+    static final class SortedArrayCandidate implements Candidate {
+        private float[] values;
+        private int size;
+
+        @Override
+        public String name() {
+            return "sorted-array";
+        }
+
+        @Override
+        public void build(float[] source) {
+            values = source.clone();
+            size = values.length;
+            Arrays.sort(values);
+        }
+
+        @Override
+        public int execute(String operation, float value) {
+            switch (operation) {
+                case "search":
+                    return Arrays.binarySearch(values, 0, size, value);
+                case "minmax":
+                    return size == 0 ? 0 : Float.floatToIntBits(values[0]) ^ Float.floatToIntBits(values[size - 1]);
+                case "add": {
+                    int position = Arrays.binarySearch(values, 0, size, value);
+                    if (position < 0) {
+                        position = -position - 1;
+                    }
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, Math.max(16, size * 2));
+                    }
+                    System.arraycopy(values, position, values, position + 1, size - position);
+                    values[position] = value;
+                    return ++size;
+                }
+                case "remove": {
+                    int position = Arrays.binarySearch(values, 0, size, value);
+                    if (position >= 0) {
+                        System.arraycopy(values, position + 1, values, position, size - position - 1);
+                        size--;
+                    }
+                    return size;
+                }
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+    }
+
+    /**
+     * Примітивна хеш-множина: швидкий пошук і зміни, мінімум і максимум - лінійний перегляд.
+     */
+    static final class HashSetCandidate implements Candidate {
+        private FloatHashSet set;
+
+        @Override
+        public String name() {
+            return "hash-set";
+        }
+
+        @Override
+        public void build(float[] values) {
+            set = new FloatHashSet(values.length);
+            for (float value : values) {
+                set.add(value);
+            }
+        }
+
+        @Override
+        public int execute(String operation, float value) {
+            switch (operation) {
+                case "search":
+                    return set.contains(value) ? 1 : 0;
+                case "minmax":
+                    return Float.floatToIntBits(set.min()) ^ Float.floatToIntBits(set.max());
+                case "add":
+                    return set.add(value) ? 1 : 0;
+                case "remove":
+                    return set.remove(value) ? 1 : 0;
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+    }
+
+    /**
+     * Множина значень float з відкритою адресацією та лінійним зондуванням.
+     *
+     * <p>Рівність визначається як у {@code Float.equals}: за бітовим поданням
+     * {@link Float#floatToIntBits}, тому всі NaN рівні між собою, а 0.0f і -0.0f різні.</p>
+     */
+    static final class FloatHashSet {
+        private static final int EMPTY = 0;
+        private static final int OCCUPIED = 1;
+        private static final int DELETED = 2;
+
+        private float[] keys;
+        private byte[] states;
+        private int size;
+        private int used;
+
+        FloatHashSet(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+            keys = new float[capacity];
+            states = new byte[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(float value) {
+            return indexOf(value) >= 0;
+        }
+
+        boolean add(float value) {
+            if (indexOf(value) >= 0) {
+                return false;
+            }
+            if ((used + 1) * 2 > keys.length) {
+                rehash(size * 2 + 2 > keys.length ? keys.length * 2 : keys.length);
+            }
+            int mask = keys.length - 1;
+            int slot = hash(value) & mask;
+            while (states[slot] == OCCUPIED) {
+                slot = (slot + 1) & mask;
+            }
+            if (states[slot] == EMPTY) {
+                used++;
+            }
+            keys[slot] = value;
+            states[slot] = OCCUPIED;
+            size++;
+            return true;
+        }
+
+        boolean remove(float value) {
+            int slot = indexOf(value);
+            if (slot < 0) {
+                return false;
+            }
+            states[slot] = DELETED;
+            size--;
+            return true;
+        }
+
+        float min() {
+            float min = Float.NaN;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (states[slot] == OCCUPIED && (Float.isNaN(min) || Float.compare(keys[slot], min) < 0)) {
+                    min = keys[slot];
+                }
+            }
+            return min;
+        }
+
+        float max() {
+            float max = Float.NaN;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (states[slot] == OCCUPIED && (Float.isNaN(max) || Float.compare(keys[slot], max) > 0)) {
+                    max = keys[slot];
+                }
+            }
+            return max;
+        }
+
+        private int indexOf(float value) {
+            int bits = Float.floatToIntBits(value);
+            int mask = keys.length - 1;
+            int slot = hash(value) & mask;
+            while (states[slot] != EMPTY) {
+                if (states[slot] == OCCUPIED && Float.floatToIntBits(keys[slot]) == bits) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void rehash(int capacity) {
+            float[] oldKeys = keys;
+            byte[] oldStates = states;
+            keys = new float[capacity];
+            states = new byte[capacity];
+            size = 0;
+            used = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldStates[slot] == OCCUPIED) {
+                    add(oldKeys[slot]);
+                }
+            }
+        }
+
+        private static int hash(float value) {
+            // Перемішування бітів, щоб близькі значення не потрапляли в сусідні комірки
+            int bits = Float.floatToIntBits(value) * 0x9E3779B9;
+            return bits ^ (bits >>> 16);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Клас ConcurrentFloatSortedSet - впорядкована множина значень float для багатьох потоків запису й читання.
+ *
+ * <p>Значення зберігаються без упаковки як впорядковані ключі int
+ * ({@link SortedFloatColumn#orderedKey}), тож порядок і рівність такі самі, як у
+ * {@code TreeSet<Float>}: -0.0f менше за 0.0f, усі NaN рівні між собою і більші за
+ * нескінченність.</p>
+ *
+ * <p>Множина поділена на сегменти за хешем ключа, тому потоки, що додають різні
+ * значення, рідко змагаються за один замок. Сегмент містить:</p>
+ * <ul>
+ *   <li>основний впорядкований масив ключів;</li>
+ *   <li>невеликий впорядкований буфер нових ключів, який зливається з основним масивом
+ *       після заповнення. Вставка зсуває лише елементи буфера, а не весь сегмент.</li>
+ * </ul>
+ * <p>Запис виконується під замком запису {@link StampedLock} сегмента. Читання
+ * ({@link #contains}, {@link #first}, {@link #last}) спочатку виконується без блокування
+ * в оптимістичному режимі і повторюється під замком читання, лише якщо за цей час
+ * сегмент змінився.</p>
+ *
+ * <p>Операції над усією множиною ({@link #size}, {@link #first}, {@link #last},
+ * {@link #toSortedArray}) читають сегменти по черзі: кожен сегмент узгоджений, але під
+ * час одночасних змін результат може не відповідати жодному моменту для множини в цілому
+ * (так само, як {@code size()} у {@code ConcurrentSkipListSet}).</p>
+ *
+ * <pre>
+ * {@code
+ * ConcurrentFloatSortedSet set = new ConcurrentFloatSortedSet();
+ * set.addAll(floatArray);
+ * boolean found = set.contains(-31388.32f);
+ * }
+ * </pre>
+ */
+public class ConcurrentFloatSortedSet {
+    // Після заповнення буфер зливається з основним масивом сегмента
+    private static final int DELTA_CAPACITY = 512;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    /**
+     * Сегмент: основний масив і буфер нових ключів, обидва впорядковані, без спільних ключів.
+     * Поля змінюються лише під замком запису; оптимістичні читачі копіюють їх у локальні
+     * змінні та перевіряють штамп після читання.
+     */
+    private static final class Segment {
+        final StampedLock lock = new StampedLock();
+        int[] keys = new int[0];
+        int size;
+        int[] delta = new int[DELTA_CAPACITY];
+        int deltaSize;
+
+        boolean containsKey(int key) {
+            int[] currentKeys = keys;
+            int[] currentDelta = delta;
+            // Під час оптимістичного читання розмір і масив можуть бути з різних станів
+            return binarySearch(currentDelta, Math.min(deltaSize, currentDelta.length), key) >= 0
+                    || binarySearch(currentKeys, Math.min(size, currentKeys.length), key) >= 0;
+        }
+
+        /**
+         * Найменший (first = true) або найбільший ключ сегмента; Long.MIN_VALUE, якщо сегмент порожній.
+         */
+        long boundaryKey(boolean first) {
+            int[] currentKeys = keys;
+            int[] currentDelta = delta;
+            int keyCount = Math.min(size, currentKeys.length);
+            int deltaCount = Math.min(deltaSize, currentDelta.length);
+            if (keyCount == 0 && deltaCount == 0) {
+                return Long.MIN_VALUE;
+            }
+            if (keyCount == 0) {
+                return first ? currentDelta[0] : currentDelta[deltaCount - 1];
+            }
+            if (deltaCount == 0) {
+                return first ? currentKeys[0] : currentKeys[keyCount - 1];
+            }
+            return first ? Math.min(currentKeys[0], currentDelta[0])
+                    : Math.max(currentKeys[keyCount - 1], currentDelta[deltaCount - 1]);
+        }
+
+        boolean addKey(int key) {
+            if (binarySearch(keys, size, key) >= 0) {
+                return false;
+            }
+            int position = binarySearch(delta, deltaSize, key);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+            System.arraycopy(delta, position, delta, position + 1, deltaSize - position);
+            delta[position] = key;
+            deltaSize++;
+            if (deltaSize == DELTA_CAPACITY) {
+                mergeDelta();
+            }
+            return true;
+        }
+
+        boolean removeKey(int key) {
+            int position = binarySearch(delta, deltaSize, key);
+            if (position >= 0) {
+                System.arraycopy(delta, position + 1, delta, position, deltaSize - position - 1);
+                deltaSize--;
+                return true;
+            }
+            position = binarySearch(keys, size, key);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Зливає буфер з основним масивом у новий масив, щоб оптимістичні читачі старого масиву
+         * не бачили частково злитих даних.
+         */
+        void mergeDelta() {
+            keys = mergeSorted(keys, size, delta, deltaSize);
+            size = keys.length;
+            deltaSize = 0;
+        }
+
+        /**
+         * Додає впорядковані ключі без повторів, яких ще немає в сегменті.
+         */
+        int addSortedKeys(int[] sortedKeys, int from, int to) {
+            mergeDelta();
+            int[] merged = mergeSorted(keys, size, Arrays.copyOfRange(sortedKeys, from, to), to - from);
+            int added = merged.length - size;
+            keys = merged;
+            size = merged.length;
+            return added;
+        }
+    }
+
+    public ConcurrentFloatSortedSet() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param concurrencyLevel Очікувана кількість потоків запису; округлюється до степеня двійки.
+     */
+    public ConcurrentFloatSortedSet(int concurrencyLevel) {
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(concurrencyLevel, 1 << 16)) * 2 - 1);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+        segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    private Segment segmentFor(int key) {
+        return segments[segmentIndex(key)];
+    }
+
+    private int segmentIndex(int key) {
+        // Мультиплікативний хеш: сусідні значення потрапляють до різних сегментів
+        return segmentShift == 32 ? 0 : (key * 0x9E3779B9) >>> segmentShift;
+    }
+
+    public boolean contains(float value) {
+        int key = SortedFloatColumn.orderedKey(value);
+        Segment segment = segmentFor(key);
+        long stamp = segment.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            boolean found = segment.containsKey(key);
+            if (segment.lock.validate(stamp)) {
+                return found;
+            }
+        }
+        stamp = segment.lock.readLock();
+        try {
+            return segment.containsKey(key);
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean add(float value) {
+        int key = SortedFloatColumn.orderedKey(value);
+        Segment segment = segmentFor(key);
+        long stamp = segment.lock.writeLock();
+        try {
+            return segment.addKey(key);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(float value) {
+        int key = SortedFloatColumn.orderedKey(value);
+        Segment segment = segmentFor(key);
+        long stamp = segment.lock.writeLock();
+        try {
+            return segment.removeKey(key);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Додає всі значення масиву. Ключі розподіляються за сегментами й сортуються до
+     * захоплення замків, тому кожен сегмент блокується лише на час одного злиття.
+     *
+     * @return Кількість доданих значень (без повторів і вже наявних).
+     */
+    public int addAll(float[] values) {
+        int[] segmentStarts = new int[segments.length + 1];
+        int[] keys = new int[values.length];
+        for (float value : values) {
+            segmentStarts[segmentIndex(SortedFloatColumn.orderedKey(value)) + 1]++;
+        }
+        for (int i = 0; i < segments.length; i++) {
+            segmentStarts[i + 1] += segmentStarts[i];
+        }
+        int[] fill = Arrays.copyOf(segmentStarts, segments.length);
+        for (float value : values) {
+            int key = SortedFloatColumn.orderedKey(value);
+            keys[fill[segmentIndex(key)]++] = key;
+        }
+
+        int added = 0;
+        for (int i = 0; i < segments.length; i++) {
+            int from = segmentStarts[i];
+            int to = removeDuplicates(keys, from, segmentStarts[i + 1]);
+            if (from == to) {
+                continue;
+            }
+            Segment segment = segments[i];
+            long stamp = segment.lock.writeLock();
+            try {
+                added += segment.addSortedKeys(keys, from, to);
+            } finally {
+                segment.lock.unlockWrite(stamp);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Сортує ключі діапазону й прибирає повтори.
+     *
+     * @return Кінець діапазону без повторів.
+     */
+    private static int removeDuplicates(int[] keys, int from, int to) {
+        if (to - from < 2) {
+            return to;
+        }
+        Arrays.sort(keys, from, to);
+        int out = from + 1;
+        for (int i = from + 1; i < to; i++) {
+            if (keys[i] != keys[out - 1]) {
+                keys[out++] = keys[i];
+            }
+        }
+        return out;
+    }
+
+    public float first() {
+        return boundary(true);
+    }
+
+    public float last() {
+        return boundary(false);
+    }
+
+    private float boundary(boolean first) {
+        long result = Long.MIN_VALUE;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.tryOptimisticRead();
+            long key = segment.boundaryKey(first);
+            if (stamp == 0 || !segment.lock.validate(stamp)) {
+                stamp = segment.lock.readLock();
+                try {
+                    key = segment.boundaryKey(first);
+                } finally {
+                    segment.lock.unlockRead(stamp);
+                }
+            }
+            if (key != Long.MIN_VALUE && (result == Long.MIN_VALUE || (first ? key < result : key > result))) {
+                result = key;
+            }
+        }
+        if (result == Long.MIN_VALUE) {
+            throw new NoSuchElementException("Множина порожня");
+        }
+        return SortedFloatColumn.fromOrderedKey((int) result);
+    }
+
+    public int size() {
+        long total = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.tryOptimisticRead();
+            int segmentSize = segment.size + segment.deltaSize;
+            if (stamp == 0 || !segment.lock.validate(stamp)) {
+                stamp = segment.lock.readLock();
+                try {
+                    segmentSize = segment.size + segment.deltaSize;
+                } finally {
+                    segment.lock.unlockRead(stamp);
+                }
+            }
+            total += segmentSize;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                if (segment.size + segment.deltaSize > 0) {
+                    return false;
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Копія вмісту множини у зростаючому порядку.
+     */
+    public float[] toSortedArray() {
+        int[] keys = new int[Math.max(16, size())];
+        int count = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                int segmentSize = segment.size + segment.deltaSize;
+                if (count + segmentSize > keys.length) {
+                    keys = Arrays.copyOf(keys, Math.max(keys.length * 2, count + segmentSize));
+                }
+                System.arraycopy(segment.keys, 0, keys, count, segment.size);
+                System.arraycopy(segment.delta, 0, keys, count + segment.size, segment.deltaSize);
+                count += segmentSize;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        keys = Arrays.copyOf(keys, count);
+        RadixSort.sort(keys);
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = SortedFloatColumn.fromOrderedKey(keys[i]);
+        }
+        return values;
+    }
+
+    private static int binarySearch(int[] keys, int length, int key) {
+        int low = 0;
+        int high = length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleKey = keys[middle];
+            if (middleKey < key) {
+                low = middle + 1;
+            } else if (middleKey > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Зливає два впорядковані масиви без повторів у новий масив; спільні ключі потрапляють до нього один раз.
+     */
+    private static int[] mergeSorted(int[] left, int leftSize, int[] right, int rightSize) {
+        int[] merged = new int[leftSize + rightSize];
+        int i = 0;
+        int j = 0;
+        int out = 0;
+        while (i < leftSize && j < rightSize) {
+            if (left[i] < right[j]) {
+                merged[out++] = left[i++];
+            } else if (left[i] > right[j]) {
+                merged[out++] = right[j++];
+            } else {
+                merged[out++] = left[i++];
+                j++;
+            }
+        }
+        System.arraycopy(left, i, merged, out, leftSize - i);
+        out += leftSize - i;
+        System.arraycopy(right, j, merged, out, rightSize - j);
+        out += rightSize - j;
+        return out == merged.length ? merged : Arrays.copyOf(merged, out);
+    }
+}
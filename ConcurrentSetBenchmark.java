@@ -0,0 +1,251 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Клас ConcurrentSetBenchmark порівнює впорядковані множини під одночасним записом і читанням.
+ *
+ * <p>Реалізації:</p>
+ * <ul>
+ *   <li>{@link ConcurrentFloatSortedSet} - сегменти з масивами float і оптимістичним читанням;</li>
+ *   <li>{@code ConcurrentSkipListSet<Float>};</li>
+ *   <li>{@code Collections.synchronizedSortedSet(new TreeSet<>())} - один монітор на всю множину.</li>
+ * </ul>
+ * <p>Кожен потік виконує однакову кількість операцій: пошук (80%), додавання (10%),
+ * видалення (5%) і визначення мінімуму та максимуму (5%). Значення беруться з пулу,
+ * половина якого на початку вже в множині. Вимірювання повторюється для 1, 2, 4, ...
+ * потоків. Перед вимірюванням одна й та сама послідовність операцій виконується на всіх
+ * реалізаціях в одному потоці, і результати звіряються.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java ConcurrentSetBenchmark 1000000 500000 8
+ * }
+ * </pre>
+ * <p>Аргументи: початковий розмір множини, кількість операцій на потік, найбільша кількість потоків.</p>
+ */
+public class ConcurrentSetBenchmark {
+    private static final long SEED = 42L;
+    private static final int SEARCH_PERCENT = 80;
+    private static final int ADD_PERCENT = 10;
+    private static final int REMOVE_PERCENT = 5;
+
+    // Контрольна сума результатів операцій, щоб JIT не усунув обчислення
+    static volatile long checksum;
+
+    /**
+     * Спільний інтерфейс порівнюваних множин.
+     */
+    interface FloatSortedSet {
+        boolean contains(float value);
+
+        boolean add(float value);
+
+        boolean remove(float value);
+
+        float first();
+
+        float last();
+
+        float[] toSortedArray();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int operationsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        Random random = new Random(SEED);
+        float[] pool = new float[size * 2];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = (random.nextFloat() - 0.5f) * 2_000_000f;
+        }
+        float[] initial = Arrays.copyOf(pool, size);
+
+        verify(initial, pool);
+
+        ReportSink.println("Початковий розмір: " + size + ", операцій на потік: " + operationsPerThread
+                + ", процесорів: " + Runtime.getRuntime().availableProcessors());
+        ReportSink.println(String.format("%-8s %22s %22s %22s", "потоків", "ConcurrentFloatSorted", "ConcurrentSkipList", "synchronized TreeSet"));
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            StringBuilder row = new StringBuilder(String.format("%-8d", threads));
+            for (int variant = 0; variant < 3; variant++) {
+                // Перший прохід - розігрів JIT на свіжій множині
+                run(createSet(variant, initial), pool, threads, operationsPerThread);
+                double seconds = run(createSet(variant, initial), pool, threads, operationsPerThread);
+                row.append(String.format(" %16.2f Моп/с", (double) threads * operationsPerThread / seconds / 1e6));
+            }
+            ReportSink.println(row.toString());
+            ReportSink.flush();
+        }
+        ReportSink.flush();
+    }
+
+    private static FloatSortedSet createSet(int variant, float[] initial) {
+        switch (variant) {
+            case 0:
+                return new PrimitiveSet(initial);
+            case 1:
+                return new BoxedSet(new ConcurrentSkipListSet<Float>(), initial);
+            default:
+                return new BoxedSet(Collections.synchronizedSortedSet(new TreeSet<Float>()), initial);
+        }
+    }
+
+    /**
+     * Виконує навантаження заданою кількістю потоків.
+     *
+     * @return Час від одночасного старту потоків до завершення останнього, с.
+     */
+    private static double run(FloatSortedSet set, float[] pool, int threads, int operationsPerThread) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] checksums = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int threadIndex = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    checksums[threadIndex] = runOperations(set, pool, operationsPerThread, ThreadLocalRandom.current());
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        long timeStart = System.nanoTime();
+        start.countDown();
+        done.await();
+        long executionTime = System.nanoTime() - timeStart;
+        checksum += Arrays.stream(checksums).sum();
+        return executionTime / 1e9;
+    }
+
+    private static long runOperations(FloatSortedSet set, float[] pool, int operations, Random random) {
+        long checksum = 0;
+        for (int i = 0; i < operations; i++) {
+            float value = pool[random.nextInt(pool.length)];
+            int choice = random.nextInt(100);
+            if (choice < SEARCH_PERCENT) {
+                checksum += set.contains(value) ? 1 : 0;
+            } else if (choice < SEARCH_PERCENT + ADD_PERCENT) {
+                checksum += set.add(value) ? 1 : 0;
+            } else if (choice < SEARCH_PERCENT + ADD_PERCENT + REMOVE_PERCENT) {
+                checksum += set.remove(value) ? 1 : 0;
+            } else {
+                checksum += Float.floatToIntBits(set.first()) ^ Float.floatToIntBits(set.last());
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Виконує однакову послідовність операцій на всіх реалізаціях і звіряє результати та вміст.
+     */
+    private static void verify(float[] initial, float[] pool) {
+        float[] special = {0.0f, -0.0f, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.MIN_VALUE};
+        float[] checkPool = Arrays.copyOf(pool, pool.length + special.length);
+        System.arraycopy(special, 0, checkPool, pool.length, special.length);
+
+        FloatSortedSet[] sets = new FloatSortedSet[3];
+        long[] checksums = new long[3];
+        for (int variant = 0; variant < 3; variant++) {
+            sets[variant] = createSet(variant, initial);
+            checksums[variant] = runOperations(sets[variant], checkPool, 200_000, new Random(SEED));
+        }
+        float[] expected = sets[2].toSortedArray();
+        for (int variant = 0; variant < 2; variant++) {
+            if (checksums[variant] != checksums[2] || !Arrays.equals(sets[variant].toSortedArray(), expected)) {
+                throw new IllegalStateException("Результати множини " + variant + " не збігаються з TreeSet");
+            }
+        }
+    }
+
+    /**
+     * {@link ConcurrentFloatSortedSet} без упаковки значень.
+     */
+    static final class PrimitiveSet implements FloatSortedSet {
+        private final ConcurrentFloatSortedSet set = new ConcurrentFloatSortedSet();
+
+        PrimitiveSet(float[] initial) {
+            set.addAll(initial);
+        }
+
+        public boolean contains(float value) {
+            return set.contains(value);
+        }
+
+        public boolean add(float value) {
+            return set.add(value);
+        }
+
+        public boolean remove(float value) {
+            return set.remove(value);
+        }
+
+        public float first() {
+            return set.first();
+        }
+
+        public float last() {
+            return set.last();
+        }
+
+        public float[] toSortedArray() {
+            return set.toSortedArray();
+        }
+    }
+
+    /**
+     * Стандартна множина {@code SortedSet<Float>}.
+     */
+    static final class BoxedSet implements FloatSortedSet {
+        private final SortedSet<Float> set;
+
+        BoxedSet(SortedSet<Float> set, float[] initial) {
+            this.set = set;
+            for (float value : initial) {
+                set.add(value);
+            }
+        }
+
+        public boolean contains(float value) {
+            return set.contains(value);
+        }
+
+        public boolean add(float value) {
+            return set.add(value);
+        }
+
+        public boolean remove(float value) {
+            return set.remove(value);
+        }
+
+        public float first() {
+            return set.first();
+        }
+
+        public float last() {
+            return set.last();
+        }
+
+        public float[] toSortedArray() {
+            float[] values = new float[set.size()];
+            int index = 0;
+            synchronized (set) {
+                for (Float value : set) {
+                    values[index++] = value;
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -3,11 +3,15 @@ import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.time.Float;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
 
 /**
  * Клас DataFileHandler управляє роботою з файлами даних LocalDateTime.
+ *
+ * <p>Файли з мітками часу ISO (LocalDateTime, LocalDate, LocalTime) розбирає
+ * {@link TemporalIndex} без створення об'єктів java.time.</p>
  */
 public class DataFileHandler {
     /**
@@ -17,7 +21,6 @@ public class DataFileHandler {
      * @return Масив об'єктів LocalDateTime.
      */
     public static Float[] loadArrayFromFile(String filePath) {
-        DateTimeFormatter Float = DateTimeFormatter.ISO_DATE_TIME;
         Float[] temporaryArray = new Float[1000];
         int currentIndex = 0;
 
@@ -27,6 +30,9 @@ public class DataFileHandler {
                 // Видаляємо можливі невидимі символи та BOM
                 currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
                 if (!currentLine.isEmpty()) {
+                    if (currentIndex == temporaryArray.length) {
+                        temporaryArray = Arrays.copyOf(temporaryArray, temporaryArray.length * 2);
+                    }
                     Float parsedDateTime = Float.parseFloat(currentLine);
                     temporaryArray[currentIndex++] = parsedDateTime;
                 }
@@ -41,6 +47,30 @@ public class DataFileHandler {
         return resultArray;
     }
 
+    /**
+     * Відкриває файл даних float як потік без завантаження в масив: файл відображається
+     * у пам'ять, а рядки розбираються під час обходу, тому паралельний потік ділить
+     * на частини і розбір.
+     * 
+     * @param filePath Шлях до файлу з даними.
+     * @param parallel Чи створювати паралельний потік.
+     * @return Потік значень float, розширених до double.
+     */
+    public static DoubleStream streamFromFile(String filePath, boolean parallel) {
+        return PrimitiveSpliterators.MappedLines.map(Paths.get(filePath)).floats(parallel);
+    }
+
+    /**
+     * Потік значень завантаженого масиву без упаковки та копіювання.
+     * 
+     * @param floatArray Масив float.
+     * @param parallel Чи створювати паралельний потік.
+     * @return Потік значень, розширених до double.
+     */
+    public static DoubleStream stream(float[] floatArray, boolean parallel) {
+        return PrimitiveSpliterators.stream(floatArray, parallel);
+    }
+
     /**
      * Зберігає масив об'єктів LocalDateTime у файл.
      * 
@@ -57,4 +87,21 @@ public class DataFileHandler {
             ioException.printStackTrace();
         }
     }
+
+    /**
+     * Зберігає примітивний масив float у файл без упаковки елементів.
+     * 
+     * @param floatArray Масив float.
+     * @param filePath Шлях до файлу для збереження.
+     */
+    public static void writeArrayToFile(float[] floatArray, String filePath) {
+        try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(filePath))) {
+            for (float element : floatArray) {
+                fileWriter.write(Float.toString(element));
+                fileWriter.newLine();
+            }
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+        }
+    }
 }
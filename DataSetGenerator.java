@@ -0,0 +1,381 @@
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Клас DataSetGenerator створює великі синтетичні файли даних у форматах каталогу list/.
+ *
+ * <p>Для кожного типу відтворюється формат відповідного файлу: наявність BOM,
+ * роздільник рядків (CRLF або LF) та запис значень (наприклад, {@code -4.284784E-201}
+ * для double, {@code 2025-12-26T11:24:30Z} для LocalDateTime).</p>
+ *
+ * <p>Підтримувані розподіли значень:</p>
+ * <ul>
+ *   <li>{@code uniform} - рівномірний;</li>
+ *   <li>{@code gaussian} - нормальний з центром посередині діапазону;</li>
+ *   <li>{@code sorted} - зростаючий;</li>
+ *   <li>{@code nearly-sorted} - зростаючий, де ~5% значень зсунуто в межах невеликого вікна;</li>
+ *   <li>{@code duplicates} - значення з невеликого набору (100 унікальних).</li>
+ * </ul>
+ *
+ * <p>Рядки генеруються блоками паралельно. Кожен блок має власний генератор,
+ * що залежить лише від зерна та номера блоку, тому результат однаковий за будь-якої
+ * кількості потоків. Блоки записуються у файл по порядку, у пам'яті одночасно
+ * перебуває не більше ніж {@code 2 * потоки} блоків.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java DataSetGenerator float 10000000 list/float-10m.data --distribution=gaussian --seed=7
+ * java DataSetGenerator LocalDateTime 1000000 list/LocalDateTime-1m.data --distribution=nearly-sorted
+ * }
+ * </pre>
+ */
+public class DataSetGenerator {
+    static final int LINES_PER_BLOCK = 1 << 16;
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final int DUPLICATE_POOL_SIZE = 100;
+    private static final int NEARLY_SORTED_WINDOW = 32;
+    private static final double NEARLY_SORTED_SHARE = 0.05;
+
+    private static final long MIN_EPOCH_DAY = LocalDate.of(2020, 1, 1).toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.of(2030, 12, 31).toEpochDay();
+    // Символи впорядковані за кодом, щоб розподіл sorted давав впорядкований файл
+    private static final String ALPHABET = sortedChars("АБВГҐДЕЄЖЗИІЇЙКЛМНОПРСТУФХЦЧШЩЬЮЯабвгґдеєжзиіїйклмнопрстуфхцчшщьюяABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz");
+    private static final String[] WORDS = {
+        "autumn", "bright", "calm", "clouds", "crashing", "dew", "evening", "fresh", "golden", "grass",
+        "gentle", "hills", "leaves", "light", "meadow", "moonlight", "morning", "quiet", "rain", "rays",
+        "river", "shining", "silver", "sky", "snow", "sparkling", "stars", "stream", "sunset", "through",
+        "trees", "under", "valley", "waves", "whisper", "wind"
+    };
+
+    /**
+     * Формат рядків і діапазон значень для кожного типу файлу з каталогу list/.
+     */
+    enum DataType {
+        FLOAT("float", true, "\r\n"),
+        DOUBLE("double", true, "\r\n"),
+        INT("int", true, "\n"),
+        LONG("long", true, "\n"),
+        SHORT("short", false, "\n"),
+        BYTE("byte", true, "\n"),
+        CHARACTER("Character", true, "\n"),
+        STRING("String", false, "\n"),
+        LOCAL_DATE("LocalDate", true, "\r\n"),
+        LOCAL_DATE_TIME("LocalDateTime", true, "\r\n"),
+        LOCAL_TIME("LocalTime", true, "\r\n");
+
+        final String fileName;
+        final boolean withBom;
+        final String lineSeparator;
+
+        DataType(String fileName, boolean withBom, String lineSeparator) {
+            this.fileName = fileName;
+            this.withBom = withBom;
+            this.lineSeparator = lineSeparator;
+        }
+
+        static DataType fromName(String name) {
+            for (DataType type : values()) {
+                if (type.fileName.equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Невідомий тип даних: " + name + ". Доступні: " + Arrays.toString(values()));
+        }
+
+        /**
+         * Перетворює нормоване значення x з [0, 1] на рядок формату типу.
+         * Перетворення монотонне, тому впорядковані x дають впорядковані значення.
+         */
+        void append(StringBuilder line, double x, SplittableRandom random) {
+            switch (this) {
+                case FLOAT:
+                    line.append((float) ((x - 0.5) * 2_000_000.0));
+                    break;
+                case DOUBLE:
+                    appendScientific(line, x);
+                    break;
+                case INT:
+                    line.append(Math.round((x - 0.5) * 4_294_967_295.0 - 0.5));
+                    break;
+                case LONG:
+                    line.append((long) ((x - 0.5) * 1.8446744073709552E19));
+                    break;
+                case SHORT:
+                    line.append(Math.round((x - 0.5) * 65_535.0 - 0.5));
+                    break;
+                case BYTE:
+                    line.append(Math.round((x - 0.5) * 255.0 - 0.5));
+                    break;
+                case CHARACTER:
+                    line.append(ALPHABET.charAt((int) scale(x, ALPHABET.length())));
+                    break;
+                case STRING:
+                    appendSentence(line, x, random);
+                    break;
+                case LOCAL_DATE:
+                    line.append(LocalDate.ofEpochDay(MIN_EPOCH_DAY + scale(x, MAX_EPOCH_DAY - MIN_EPOCH_DAY + 1)));
+                    break;
+                case LOCAL_DATE_TIME: {
+                    long secondsInRange = (MAX_EPOCH_DAY - MIN_EPOCH_DAY + 1) * 86_400L;
+                    long epochSecond = MIN_EPOCH_DAY * 86_400L + scale(x, secondsInRange);
+                    // Формат ISO із секундами навіть тоді, коли вони нульові, як у LocalDateTime.data
+                    line.append(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).toLocalDate()).append('T');
+                    appendTime(line, (int) Math.floorMod(epochSecond, 86_400L));
+                    line.append('Z');
+                    break;
+                }
+                case LOCAL_TIME:
+                    appendTime(line, (int) scale(x, 86_400));
+                    break;
+                default:
+                    throw new IllegalStateException(name());
+            }
+        }
+    }
+
+    /**
+     * Розподіл нормованих значень.
+     */
+    enum Distribution {
+        UNIFORM, GAUSSIAN, SORTED, NEARLY_SORTED, DUPLICATES;
+
+        static Distribution fromName(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final DataType type;
+    private final Distribution distribution;
+    private final long lineCount;
+    private final long seed;
+    private final double[] duplicatePool;
+
+    DataSetGenerator(DataType type, Distribution distribution, long lineCount, long seed) {
+        this.type = type;
+        this.distribution = distribution;
+        this.lineCount = lineCount;
+        this.seed = seed;
+        this.duplicatePool = new double[DUPLICATE_POOL_SIZE];
+        SplittableRandom poolRandom = new SplittableRandom(seed);
+        for (int i = 0; i < duplicatePool.length; i++) {
+            duplicatePool[i] = poolRandom.nextDouble();
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            ReportSink.println("Використання: java DataSetGenerator <тип> <кількість-рядків> <файл> "
+                    + "[--distribution=uniform|gaussian|sorted|nearly-sorted|duplicates] [--seed=N] [--threads=N]");
+            ReportSink.println("Типи: float, double, int, long, short, byte, Character, String, LocalDate, LocalDateTime, LocalTime");
+            ReportSink.flush();
+            return;
+        }
+
+        Distribution distribution = Distribution.UNIFORM;
+        long seed = 42L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith("--distribution=")) {
+                distribution = Distribution.fromName(args[i].substring("--distribution=".length()));
+            } else if (args[i].startsWith("--seed=")) {
+                seed = Long.parseLong(args[i].substring("--seed=".length()));
+            } else if (args[i].startsWith("--threads=")) {
+                threads = Integer.parseInt(args[i].substring("--threads=".length()));
+            }
+        }
+
+        DataSetGenerator generator = new DataSetGenerator(DataType.fromName(args[0]), distribution, Long.parseLong(args[1]), seed);
+        generator.writeToFile(args[2], threads);
+        ReportSink.flush();
+    }
+
+    /**
+     * Генерує файл, записуючи блоки по порядку в міру їх готовності.
+     *
+     * @param filePath Шлях до файлу для збереження.
+     * @param threads Кількість потоків генерації.
+     */
+    public void writeToFile(String filePath, int threads) {
+        long timeStart = PerformanceTracker.startOperation();
+        long blockCount = (lineCount + LINES_PER_BLOCK - 1) / LINES_PER_BLOCK;
+        long bytesWritten = 0;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(Paths.get(filePath)), 1 << 20)) {
+            if (type.withBom) {
+                output.write(BOM);
+                bytesWritten += BOM.length;
+            }
+
+            ArrayDeque<Future<byte[]>> inFlight = new ArrayDeque<>();
+            long nextBlock = 0;
+            while (nextBlock < blockCount || !inFlight.isEmpty()) {
+                while (nextBlock < blockCount && inFlight.size() < 2 * Math.max(1, threads)) {
+                    long block = nextBlock++;
+                    inFlight.add(pool.submit(() -> generateBlock(block)));
+                }
+                byte[] blockBytes = inFlight.poll().get();
+                output.write(blockBytes);
+                bytesWritten += blockBytes.length;
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(interruptedException);
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException(executionException.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "генерація файлу " + filePath);
+        long executionTime = Math.max(1, System.nanoTime() - timeStart);
+        ReportSink.println("Тип: " + type.fileName + ", розподіл: " + distribution + ", рядків: " + lineCount
+                + ", байтів: " + bytesWritten + " (" + (bytesWritten * 1000L / executionTime) + " МБ/с)");
+    }
+
+    /**
+     * Генерує один блок рядків. Результат залежить лише від зерна та номера блоку.
+     */
+    byte[] generateBlock(long block) {
+        SplittableRandom random = new SplittableRandom(mix(seed, block));
+        long firstLine = block * LINES_PER_BLOCK;
+        long lastLine = Math.min(lineCount, firstLine + LINES_PER_BLOCK);
+
+        StringBuilder text = new StringBuilder((int) (lastLine - firstLine) * 24);
+        for (long line = firstLine; line < lastLine; line++) {
+            type.append(text, normalizedValue(line, random), random);
+            // Роздільник ставиться між рядками, як у файлах list/*.data
+            if (line < lineCount - 1) {
+                text.append(type.lineSeparator);
+            }
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private double normalizedValue(long line, SplittableRandom random) {
+        switch (distribution) {
+            case UNIFORM:
+                return random.nextDouble();
+            case GAUSSIAN:
+                return clamp(0.5 + random.nextGaussian() * 0.15);
+            case SORTED:
+                return lineCount <= 1 ? 0.0 : (double) line / (lineCount - 1);
+            case NEARLY_SORTED: {
+                double position = line;
+                if (random.nextDouble() < NEARLY_SORTED_SHARE) {
+                    position += random.nextInt(-NEARLY_SORTED_WINDOW, NEARLY_SORTED_WINDOW + 1);
+                }
+                return lineCount <= 1 ? 0.0 : clamp(position / (lineCount - 1));
+            }
+            case DUPLICATES:
+                return duplicatePool[random.nextInt(duplicatePool.length)];
+            default:
+                throw new IllegalStateException(distribution.name());
+        }
+    }
+
+    private static double clamp(double x) {
+        return Math.max(0.0, Math.min(Math.nextDown(1.0), x));
+    }
+
+    private static long scale(double x, long range) {
+        return Math.min(range - 1, (long) (x * range));
+    }
+
+    /**
+     * Записує double у вигляді {@code -4.284784E-201}: 7 значущих цифр і тризначний порядок.
+     * Знак і порядок монотонно залежать від x: від -1E+300 через ±1E-300 до 1E+300.
+     */
+    private static void appendScientific(StringBuilder line, double x) {
+        double t = 2.0 * x - 1.0;
+        double exponentValue = Math.abs(t) * 600.0 - 300.0;
+        int exponent = (int) Math.floor(exponentValue);
+        // Мантиса з [1, 10) з шістьма знаками після коми, без String.format
+        long digits = Math.round(Math.pow(10.0, exponentValue - exponent) * 1_000_000.0);
+        if (digits >= 10_000_000L) {
+            digits /= 10;
+            exponent++;
+        }
+        if (t < 0) {
+            line.append('-');
+        }
+        line.append(digits / 1_000_000L).append('.');
+        long fraction = digits % 1_000_000L;
+        for (long scale = 100_000L; scale > fraction && scale > 1; scale /= 10) {
+            line.append('0');
+        }
+        line.append(fraction).append('E').append(exponent < 0 ? '-' : '+');
+        int absoluteExponent = Math.abs(exponent);
+        if (absoluteExponent < 100) {
+            line.append('0');
+        }
+        if (absoluteExponent < 10) {
+            line.append('0');
+        }
+        line.append(absoluteExponent);
+    }
+
+    private static void appendSentence(StringBuilder line, double x, SplittableRandom random) {
+        // Перше слово визначається розподілом, решта - випадкові
+        String[] sortedWords = SORTED_WORDS;
+        String first = sortedWords[(int) scale(x, sortedWords.length)];
+        line.append(Character.toUpperCase(first.charAt(0))).append(first, 1, first.length());
+        int wordCount = 3 + random.nextInt(4);
+        for (int i = 0; i < wordCount; i++) {
+            line.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+    }
+
+    private static void appendTime(StringBuilder line, int secondOfDay) {
+        LocalTime time = LocalTime.ofSecondOfDay(secondOfDay);
+        appendTwoDigits(line, time.getHour()).append(':');
+        appendTwoDigits(line, time.getMinute()).append(':');
+        appendTwoDigits(line, time.getSecond());
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder line, int value) {
+        return line.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static long mix(long seed, long block) {
+        // Перемішування SplitMix64, щоб сусідні блоки мали незалежні послідовності
+        long z = seed + (block + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final String[] SORTED_WORDS = sortedCopy(WORDS);
+
+    private static String sortedChars(String chars) {
+        char[] sorted = chars.toCharArray();
+        Arrays.sort(sorted);
+        return new String(sorted);
+    }
+
+    private static String[] sortedCopy(String[] words) {
+        String[] copy = words.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,357 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Клас DatasetCatalog знаходить набори даних у каталозі та аналізує їх паралельно.
+ *
+ * <p>Кожен файл {@code *.data} є окремим стовпцем даних. Тип стовпця визначається
+ * за іменем файлу до першого '.' або '-': {@code float.data}, {@code int-10m.data}
+ * тощо (див. {@link ColumnType}). Файли невідомого типу пропускаються.</p>
+ *
+ * <p>Аналіз кожного стовпця (розбір, сортування, мінімум, максимум, кількість
+ * унікальних значень) виконується як окрема задача в пулі з перехопленням роботи
+ * ({@link ForkJoinPool}). Кількість одночасно завантажених стовпців обмежена
+ * семафором, тому пікове споживання пам'яті залежить від найбільших файлів,
+ * а не від їх загальної кількості.</p>
+ *
+ * <p>Результати об'єднуються в один звіт із пропускною здатністю для кожного файлу.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java DatasetCatalog list --threads=4 --max-loaded=2
+ * }
+ * </pre>
+ */
+public class DatasetCatalog {
+    static final String DATA_FILE_SUFFIX = ".data";
+    static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+
+    /**
+     * Тип стовпця: ім'я файлу та розбір рядка у значення.
+     */
+    enum ColumnType {
+        FLOAT("float", Float::parseFloat),
+        DOUBLE("double", Double::parseDouble),
+        INT("int", Integer::parseInt),
+        LONG("long", Long::parseLong),
+        SHORT("short", Short::parseShort),
+        BYTE("byte", Byte::parseByte),
+        CHARACTER("Character", line -> line.charAt(0)),
+        STRING("String", line -> line),
+        LOCAL_DATE("LocalDate", LocalDate::parse),
+        LOCAL_DATE_TIME("LocalDateTime", line -> LocalDateTime.parse(line, DATE_TIME_FORMATTER)),
+        LOCAL_TIME("LocalTime", LocalTime::parse);
+
+        final String fileName;
+        final Function<String, ? extends Comparable<?>> parser;
+
+        ColumnType(String fileName, Function<String, ? extends Comparable<?>> parser) {
+            this.fileName = fileName;
+            this.parser = parser;
+        }
+
+        /**
+         * Визначає тип за іменем файлу або повертає null, якщо тип невідомий.
+         */
+        static ColumnType fromFileName(String fileName) {
+            if (!fileName.endsWith(DATA_FILE_SUFFIX)) {
+                return null;
+            }
+            String baseName = fileName.substring(0, fileName.length() - DATA_FILE_SUFFIX.length());
+            int separator = indexOfAny(baseName, ".-");
+            String typeName = separator < 0 ? baseName : baseName.substring(0, separator);
+            for (ColumnType type : values()) {
+                if (type.fileName.equalsIgnoreCase(typeName)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        private static int indexOfAny(String text, String characters) {
+            for (int i = 0; i < text.length(); i++) {
+                if (characters.indexOf(text.charAt(i)) >= 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Набір даних у каталозі.
+     */
+    static final class Dataset {
+        final Path path;
+        final ColumnType type;
+        final long sizeBytes;
+
+        Dataset(Path path, ColumnType type, long sizeBytes) {
+            this.path = path;
+            this.type = type;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+
+    /**
+     * Результат аналізу одного набору даних.
+     */
+    static final class ColumnReport {
+        final Dataset dataset;
+        final int rowCount;
+        final int distinctCount;
+        final Object minValue;
+        final Object maxValue;
+        final long loadNanos;
+        final long analysisNanos;
+        final String error;
+
+        ColumnReport(Dataset dataset, int rowCount, int distinctCount, Object minValue, Object maxValue,
+                     long loadNanos, long analysisNanos, String error) {
+            this.dataset = dataset;
+            this.rowCount = rowCount;
+            this.distinctCount = distinctCount;
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+            this.loadNanos = loadNanos;
+            this.analysisNanos = analysisNanos;
+            this.error = error;
+        }
+
+        static ColumnReport failed(Dataset dataset, String error) {
+            return new ColumnReport(dataset, 0, 0, null, null, 0, 0, error);
+        }
+    }
+
+    private final List<Dataset> datasets;
+
+    DatasetCatalog(List<Dataset> datasets) {
+        this.datasets = datasets;
+    }
+
+    public static void main(String[] args) {
+        String directory = "list";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxLoaded = Math.max(1, threads / 2);
+        for (String argument : args) {
+            if (ReportSink.applyOption(argument) || PerformanceTracker.applyOption(argument)) {
+                continue;
+            }
+            if (argument.startsWith("--threads=")) {
+                threads = Integer.parseInt(argument.substring("--threads=".length()));
+            } else if (argument.startsWith("--max-loaded=")) {
+                maxLoaded = Integer.parseInt(argument.substring("--max-loaded=".length()));
+            } else {
+                directory = argument;
+            }
+        }
+
+        DatasetCatalog catalog = discover(Paths.get(directory));
+        long timeStart = System.nanoTime();
+        List<ColumnReport> reports = catalog.analyzeAll(threads, maxLoaded);
+        long wallNanos = System.nanoTime() - timeStart;
+        printReport(reports, wallNanos);
+        ReportSink.flush();
+    }
+
+    /**
+     * Знаходить набори даних відомих типів у каталозі (без підкаталогів), упорядковані за іменем.
+     *
+     * @param directory Каталог з файлами *.data.
+     * @return Каталог наборів даних.
+     */
+    public static DatasetCatalog discover(Path directory) {
+        List<Dataset> datasets = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + DATA_FILE_SUFFIX)) {
+            for (Path file : files) {
+                ColumnType type = ColumnType.fromFileName(file.getFileName().toString());
+                if (type == null) {
+                    ReportSink.println("Пропущено файл невідомого типу: " + file);
+                } else if (Files.isRegularFile(file)) {
+                    datasets.add(new Dataset(file, type, Files.size(file)));
+                }
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        datasets.sort((left, right) -> left.path.getFileName().toString().compareTo(right.path.getFileName().toString()));
+        ReportSink.println("Знайдено наборів даних у " + directory + ": " + datasets.size());
+        return new DatasetCatalog(datasets);
+    }
+
+    List<Dataset> getDatasets() {
+        return datasets;
+    }
+
+    /**
+     * Аналізує всі набори даних паралельно.
+     *
+     * @param threads Паралелізм пулу.
+     * @param maxLoaded Найбільша кількість одночасно завантажених наборів.
+     * @return Звіти в порядку наборів у каталозі.
+     */
+    public List<ColumnReport> analyzeAll(int threads, int maxLoaded) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        Semaphore loadPermits = new Semaphore(Math.max(1, maxLoaded));
+        try {
+            List<Future<ColumnReport>> futures = new ArrayList<>();
+            for (Dataset dataset : datasets) {
+                futures.add(pool.submit(() -> analyzeWithPermit(dataset, loadPermits)));
+            }
+            List<ColumnReport> reports = new ArrayList<>();
+            for (Future<ColumnReport> future : futures) {
+                reports.add(future.get());
+            }
+            return reports;
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(interruptedException);
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException(executionException.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static ColumnReport analyzeWithPermit(Dataset dataset, Semaphore loadPermits) {
+        try {
+            // Очікування дозволу блокує потік пулу, тому пул компенсує його додатковим потоком
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean acquired;
+
+                @Override
+                public boolean block() throws InterruptedException {
+                    if (!acquired) {
+                        loadPermits.acquire();
+                        acquired = true;
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return acquired || (acquired = loadPermits.tryAcquire());
+                }
+            });
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            return ColumnReport.failed(dataset, "перервано");
+        }
+        try {
+            return analyze(dataset);
+        } finally {
+            loadPermits.release();
+        }
+    }
+
+    /**
+     * Завантажує та аналізує один набір даних.
+     */
+    static ColumnReport analyze(Dataset dataset) {
+        long timeStart = System.nanoTime();
+        Comparable<Object>[] values;
+        try {
+            values = loadColumn(dataset);
+        } catch (IOException | RuntimeException exception) {
+            return ColumnReport.failed(dataset, exception.getClass().getSimpleName() + ": " + exception.getMessage());
+        }
+        long loadNanos = System.nanoTime() - timeStart;
+
+        timeStart = System.nanoTime();
+        Arrays.sort(values);
+        int distinctCount = values.length == 0 ? 0 : 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1].compareTo(values[i]) != 0) {
+                distinctCount++;
+            }
+        }
+        Object minValue = values.length == 0 ? null : values[0];
+        Object maxValue = values.length == 0 ? null : values[values.length - 1];
+        long analysisNanos = System.nanoTime() - timeStart;
+
+        return new ColumnReport(dataset, values.length, distinctCount, minValue, maxValue, loadNanos, analysisNanos, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object>[] loadColumn(Dataset dataset) throws IOException {
+        Comparable<?>[] values = new Comparable<?>[1024];
+        int count = 0;
+        try (BufferedReader fileReader = Files.newBufferedReader(dataset.path, StandardCharsets.UTF_8)) {
+            String currentLine;
+            while ((currentLine = fileReader.readLine()) != null) {
+                // Видаляємо можливі невидимі символи та BOM
+                currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
+                if (!currentLine.isEmpty()) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count * 2);
+                    }
+                    values[count++] = dataset.type.parser.apply(currentLine);
+                }
+            }
+        }
+        return (Comparable<Object>[]) Arrays.copyOf(values, count);
+    }
+
+    private static void printReport(List<ColumnReport> reports, long wallNanos) {
+        ReportSink.println(String.format(Locale.ROOT, "%n%-24s %-14s %10s %10s %10s %10s %14s %10s  %s",
+                "файл", "тип", "рядків", "унікальних", "читання,мс", "аналіз,мс", "рядків/с", "МБ/с", "мінімум .. максимум"));
+
+        long totalRows = 0;
+        long totalBytes = 0;
+        long totalNanos = 0;
+        for (ColumnReport report : reports) {
+            Dataset dataset = report.dataset;
+            if (report.error != null) {
+                ReportSink.println(String.format(Locale.ROOT, "%-24s %-14s помилка: %s",
+                        dataset.path.getFileName(), dataset.type.fileName, report.error));
+                continue;
+            }
+            long nanos = Math.max(1, report.loadNanos + report.analysisNanos);
+            ReportSink.println(String.format(Locale.ROOT, "%-24s %-14s %10d %10d %10.2f %10.2f %14d %10.2f  %s .. %s",
+                    dataset.path.getFileName(), dataset.type.fileName, report.rowCount, report.distinctCount,
+                    report.loadNanos / 1e6, report.analysisNanos / 1e6,
+                    report.rowCount * 1_000_000_000L / nanos, dataset.sizeBytes * 1000.0 / nanos,
+                    report.minValue, report.maxValue));
+            totalRows += report.rowCount;
+            totalBytes += dataset.sizeBytes;
+            totalNanos += nanos;
+        }
+
+        ReportSink.println(String.format(Locale.ROOT, "Усього: %d наборів, %d рядків, %d Б, сумарний час задач %.2f мс, загальний час %.2f мс (%d рядків/с)",
+                reports.size(), totalRows, totalBytes, totalNanos / 1e6, wallNanos / 1e6, totalRows * 1_000_000_000L / Math.max(1, wallNanos)));
+        ReportSink.println("Піковий обсяг купи: " + peakHeapBytes() / (1024 * 1024) + " МБ");
+    }
+
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,245 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Клас FeedWatcher стежить за файлом даних float і оновлює аналіз після кожного дописування.
+ *
+ * <p>Зміни файлу надходять від {@link WatchService}. Після кожної зміни читаються лише
+ * байти, дописані після останньої обробленої позиції; незавершений рядок (без
+ * символу нового рядка) чекає на наступне дописування. Нові значення:</p>
+ * <ul>
+ *   <li>додаються до накопичувача {@link FloatStatistics.Accumulator} (кількість, мінімум,
+ *       максимум, середнє);</li>
+ *   <li>сортуються ({@link AdaptiveSort}) і зливаються з уже впорядкованим масивом за один
+ *       лінійний прохід;</li>
+ *   <li>додаються до множини {@link CollectionAdvisor.FloatHashSet}.</li>
+ * </ul>
+ * <p>Якщо файл став коротшим (перезаписано), стан будується заново. Після кожного
+ * оновлення виводиться знімок результатів і затримка від події до публікації.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java FeedWatcher list/float.data --search=-31388.32
+ * java FeedWatcher list/float.data --max-updates=10
+ * }
+ * </pre>
+ */
+public class FeedWatcher {
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final Path dataPath;
+    private final Float valueToSearch;
+
+    // Позиція у файлі, до якої всі повні рядки вже оброблено
+    private long processedBytes;
+    private byte[] pendingLine = new byte[0];
+    private FloatStatistics.Accumulator statistics = new FloatStatistics.Accumulator();
+    private float[] sortedValues = new float[0];
+    private CollectionAdvisor.FloatHashSet distinctValues = new CollectionAdvisor.FloatHashSet(16);
+
+    FeedWatcher(Path dataPath, Float valueToSearch) {
+        this.dataPath = dataPath;
+        this.valueToSearch = valueToSearch;
+    }
+
+    public static void main(String[] args) {
+        String filePath = BasicDataOperation.PATH_TO_DATA_FILE;
+        Float valueToSearch = null;
+        long maxUpdates = Long.MAX_VALUE;
+        for (String argument : args) {
+            if (ReportSink.applyOption(argument) || PerformanceTracker.applyOption(argument)) {
+                continue;
+            }
+            if (argument.startsWith("--search=")) {
+                valueToSearch = Float.parseFloat(argument.substring("--search=".length()));
+            } else if (argument.startsWith("--max-updates=")) {
+                maxUpdates = Long.parseLong(argument.substring("--max-updates=".length()));
+            } else {
+                filePath = argument;
+            }
+        }
+
+        FeedWatcher watcher = new FeedWatcher(Paths.get(filePath).toAbsolutePath(), valueToSearch);
+        try {
+            watcher.watch(maxUpdates);
+        } catch (IOException ioException) {
+            ReportSink.println("Помилка стеження за файлом: " + ioException.getMessage());
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        ReportSink.flush();
+    }
+
+    /**
+     * Обробляє поточний вміст файлу, після чого чекає на зміни.
+     *
+     * @param maxUpdates Кількість оновлень, після якої стеження завершується.
+     */
+    void watch(long maxUpdates) throws IOException, InterruptedException {
+        refresh(System.nanoTime());
+        ReportSink.println("Стеження за " + dataPath + " (Ctrl+C - завершення)");
+        ReportSink.flush();
+
+        Path directory = dataPath.getParent();
+        long updates = 0;
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (updates < maxUpdates) {
+                WatchKey key = watchService.take();
+                long eventTime = System.nanoTime();
+                boolean relevant = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // Після переповнення черги подій невідомо, які файли змінено
+                    relevant |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || dataPath.getFileName().equals(event.context());
+                }
+                if (relevant && refresh(eventTime)) {
+                    updates++;
+                }
+                if (!key.reset()) {
+                    ReportSink.println("Каталог " + directory + " більше недоступний.");
+                    break;
+                }
+            }
+        } catch (ClosedWatchServiceException closed) {
+            // Служба закрита під час очікування - стеження завершено
+        }
+    }
+
+    /**
+     * Читає дописані байти та оновлює стан.
+     *
+     * @param eventTime Час події в наносекундах для обчислення затримки.
+     * @return true, якщо додано нові значення або стан побудовано заново.
+     */
+    boolean refresh(long eventTime) throws IOException {
+        try (FileChannel channel = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            boolean rebuilt = false;
+            if (size < processedBytes) {
+                ReportSink.println("Файл став коротшим (" + size + " < " + processedBytes + " Б), стан будується заново.");
+                reset();
+                rebuilt = true;
+            }
+            if (size == processedBytes) {
+                return rebuilt;
+            }
+
+            long timeStart = PerformanceTracker.startOperation();
+
+            float[] delta = readAppendedValues(channel, size);
+            applyDelta(delta);
+
+            PerformanceTracker.displayOperationTime(timeStart, () -> "інкрементне оновлення (" + delta.length + " нових значень)");
+
+            publish(delta.length, eventTime);
+            return delta.length > 0 || rebuilt;
+        }
+    }
+
+    private void reset() {
+        processedBytes = 0;
+        pendingLine = new byte[0];
+        statistics = new FloatStatistics.Accumulator();
+        sortedValues = new float[0];
+        distinctValues = new CollectionAdvisor.FloatHashSet(16);
+    }
+
+    /**
+     * Розбирає повні рядки між processedBytes і size; незавершений рядок зберігається в pendingLine.
+     */
+    private float[] readAppendedValues(FileChannel channel, long size) throws IOException {
+        float[] values = new float[256];
+        int count = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        byte[] lineBytes = pendingLine;
+        int lineLength = pendingLine.length;
+
+        long position = processedBytes;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+            for (int i = 0; i < read; i++) {
+                byte current = buffer.get(i);
+                if (current != '\n') {
+                    if (lineLength == lineBytes.length) {
+                        lineBytes = Arrays.copyOf(lineBytes, Math.max(64, lineLength * 2));
+                    }
+                    lineBytes[lineLength++] = current;
+                    continue;
+                }
+                Float value = parseLine(lineBytes, lineLength);
+                if (value != null) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count * 2);
+                    }
+                    values[count++] = value;
+                }
+                lineLength = 0;
+            }
+        }
+        processedBytes = position;
+        pendingLine = Arrays.copyOf(lineBytes, lineLength);
+        return Arrays.copyOf(values, count);
+    }
+
+    private static Float parseLine(byte[] lineBytes, int lineLength) {
+        // Видаляємо можливі невидимі символи та BOM
+        String text = new String(lineBytes, 0, lineLength, StandardCharsets.UTF_8).trim().replaceAll("^\\uFEFF", "");
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Float.parseFloat(text);
+        } catch (NumberFormatException numberFormatException) {
+            ReportSink.println("Пропущено рядок, що не є числом: '" + text + "'");
+            return null;
+        }
+    }
+
+    /**
+     * Додає нові значення до накопичувача, впорядкованого масиву та множини.
+     */
+    private void applyDelta(float[] delta) {
+        for (float value : delta) {
+            statistics.add(value);
+            distinctValues.add(value);
+        }
+        AdaptiveSort.sort(delta);
+        sortedValues = AdaptiveSort.mergeSorted(sortedValues, delta);
+    }
+
+    private void publish(int added, long eventTime) {
+        StringBuilder snapshot = new StringBuilder(String.format(Locale.ROOT,
+                "Оновлення: +%d, усього %d, унікальних %d, мін. %s, макс. %s, медіана %s, середнє %.6g",
+                added, statistics.count, distinctValues.size(),
+                statistics.count == 0 ? "-" : Float.toString(statistics.min),
+                statistics.count == 0 ? "-" : Float.toString(statistics.max),
+                Float.toString(FloatStatistics.percentile(sortedValues, 0.5)), statistics.mean()));
+        if (valueToSearch != null) {
+            snapshot.append(", '").append(valueToSearch).append("' ")
+                    .append(distinctValues.contains(valueToSearch) ? "присутнє" : "відсутнє");
+        }
+        snapshot.append(", затримка ").append((System.nanoTime() - eventTime) / 1000).append(" мкс");
+        ReportSink.println(snapshot.toString());
+        ReportSink.flush();
+    }
+}
@@ -0,0 +1,253 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Клас FloatAnalysisCache зберігає результати аналізу файлу float між запусками.
+ *
+ * <p>Поруч із файлом даних створюється файл {@code <файл>.analysis}, що містить
+ * відбиток вхідного файлу (розмір, час зміни, CRC32C вмісту), відсортований
+ * масив значень у двійковому вигляді, мінімум, максимум та кількість унікальних
+ * значень. Відсортований масив слугує пошуковим індексом для бінарного пошуку.</p>
+ *
+ * <p>Якщо відбиток збігається з поточним станом файлу, аналіз завантажується
+ * без розбору та сортування. Спочатку порівнюються розмір і час зміни: якщо
+ * вони збігаються, вміст файлу не читається. CRC32C обчислюється лише тоді,
+ * коли розмір той самий, а час зміни інший (наприклад, після копіювання чи
+ * touch); якщо вміст не змінився, у кеші оновлюється час зміни. Будь-яка зміна
+ * вмісту робить кеш недійсним, і він перебудовується автоматично.</p>
+ */
+public class FloatAnalysisCache {
+    static final String CACHE_FILE_SUFFIX = ".analysis";
+
+    private static final int CACHE_MAGIC = 0x464C4F41; // "FLOA"
+    private static final int CACHE_VERSION = 1;
+    // magic, version, size, mtime, crc, count, min, max, distinct
+    private static final int LAST_MODIFIED_OFFSET = Integer.BYTES * 2 + Long.BYTES;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 3 + Integer.BYTES + Float.BYTES * 2 + Integer.BYTES;
+
+    /**
+     * Результат аналізу набору даних float.
+     */
+    static final class FloatAnalysis {
+        final float[] sortedValues;
+        final float minValue;
+        final float maxValue;
+        final int distinctCount;
+
+        FloatAnalysis(float[] sortedValues, float minValue, float maxValue, int distinctCount) {
+            this.sortedValues = sortedValues;
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+            this.distinctCount = distinctCount;
+        }
+
+        /**
+         * Шукає значення у відсортованому масиві.
+         *
+         * @param value Значення для пошуку.
+         * @return Позиція значення або від'ємне число за контрактом Arrays.binarySearch.
+         */
+        int find(float value) {
+            return Arrays.binarySearch(sortedValues, value);
+        }
+
+        /**
+         * Шукає значення у відсортованому масиві обраною стратегією.
+         */
+        int find(float value, FloatSearch.Strategy strategy) {
+            return strategy.search(sortedValues, value);
+        }
+    }
+
+    /**
+     * Відбиток файлу даних. Контрольна сума вмісту обчислюється лише на вимогу.
+     */
+    private static final class Fingerprint {
+        final Path dataPath;
+        final long size;
+        final long lastModified;
+        private long checksum;
+        private boolean checksumComputed;
+
+        Fingerprint(Path dataPath) {
+            this.dataPath = dataPath;
+            try {
+                this.size = Files.size(dataPath);
+                this.lastModified = Files.getLastModifiedTime(dataPath).toMillis();
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+
+        long checksum() {
+            if (!checksumComputed) {
+                checksum = computeChecksum(dataPath);
+                checksumComputed = true;
+            }
+            return checksum;
+        }
+    }
+
+    /**
+     * Повертає аналіз файлу з кешу або обчислює його та зберігає кеш.
+     *
+     * @param filePath Шлях до файлу з даними float.
+     * @return Результат аналізу.
+     */
+    public static FloatAnalysis loadOrCompute(String filePath) {
+        Path dataPath = Paths.get(filePath);
+        Path cachePath = Paths.get(filePath + CACHE_FILE_SUFFIX);
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        Fingerprint fingerprint = new Fingerprint(dataPath);
+        FloatAnalysis cached = readCache(cachePath, fingerprint);
+        if (cached != null) {
+            PerformanceTracker.displayOperationTime(timeStart, "завантаження аналізу з кешу");
+            return cached;
+        }
+
+        ReportSink.println("Кеш аналізу відсутній або застарів: " + cachePath);
+        timeStart = PerformanceTracker.startOperation();
+
+        FloatAnalysis analysis = analyze(DataFileHandler.loadArrayFromFile(filePath));
+
+        PerformanceTracker.displayOperationTime(timeStart, "розбір, сортування та аналіз файлу даних");
+
+        writeCache(cachePath, fingerprint, analysis);
+        return analysis;
+    }
+
+    /**
+     * Обчислює аналіз масиву: сортування, мінімум, максимум, кількість унікальних значень.
+     *
+     * @param values Значення з файлу.
+     * @return Результат аналізу.
+     */
+    static FloatAnalysis analyze(Float[] values) {
+        float[] sortedValues = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sortedValues[i] = values[i];
+        }
+        // Файли *.sorted та вже впорядковані дані не сортуються повторно
+        AdaptiveSort.Shape shape = AdaptiveSort.sort(sortedValues);
+        ReportSink.println("Форма вхідних даних: " + shape);
+
+        // Унікальність визначається як у TreeSet<Float>: через Float.compare
+        int distinctCount = sortedValues.length == 0 ? 0 : 1;
+        for (int i = 1; i < sortedValues.length; i++) {
+            if (Float.compare(sortedValues[i - 1], sortedValues[i]) != 0) {
+                distinctCount++;
+            }
+        }
+
+        float minValue = sortedValues.length == 0 ? Float.NaN : sortedValues[0];
+        float maxValue = sortedValues.length == 0 ? Float.NaN : sortedValues[sortedValues.length - 1];
+        return new FloatAnalysis(sortedValues, minValue, maxValue, distinctCount);
+    }
+
+    private static long computeChecksum(Path dataPath) {
+        try (FileChannel channel = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            CRC32C checksum = new CRC32C();
+            long position = 0;
+            while (position < size) {
+                long chunkSize = Math.min(Integer.MAX_VALUE, size - position);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, chunkSize);
+                checksum.update(chunk);
+                position += chunkSize;
+            }
+            return checksum.getValue();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private static FloatAnalysis readCache(Path cachePath, Fingerprint fingerprint) {
+        if (!Files.exists(cachePath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != CACHE_MAGIC || buffer.getInt() != CACHE_VERSION
+                    || buffer.getLong() != fingerprint.size) {
+                return null;
+            }
+            long cachedLastModified = buffer.getLong();
+            long cachedChecksum = buffer.getLong();
+            boolean touched = cachedLastModified != fingerprint.lastModified;
+            if (touched && cachedChecksum != fingerprint.checksum()) {
+                return null;
+            }
+            int count = buffer.getInt();
+            float minValue = buffer.getFloat();
+            float maxValue = buffer.getFloat();
+            int distinctCount = buffer.getInt();
+            if (buffer.remaining() != (long) count * Float.BYTES) {
+                return null;
+            }
+            float[] sortedValues = new float[count];
+            buffer.asFloatBuffer().get(sortedValues);
+            if (touched) {
+                refreshLastModified(cachePath, fingerprint.lastModified);
+            }
+            return new FloatAnalysis(sortedValues, minValue, maxValue, distinctCount);
+        } catch (IOException ioException) {
+            // Пошкоджений кеш перебудовується
+            return null;
+        }
+    }
+
+    private static void writeCache(Path cachePath, Fingerprint fingerprint, FloatAnalysis analysis) {
+        Path temporaryPath = cachePath.resolveSibling(cachePath.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath), 1 << 16))) {
+            output.writeInt(CACHE_MAGIC);
+            output.writeInt(CACHE_VERSION);
+            output.writeLong(fingerprint.size);
+            output.writeLong(fingerprint.lastModified);
+            output.writeLong(fingerprint.checksum());
+            output.writeInt(analysis.sortedValues.length);
+            output.writeFloat(analysis.minValue);
+            output.writeFloat(analysis.maxValue);
+            output.writeInt(analysis.distinctCount);
+            for (float value : analysis.sortedValues) {
+                output.writeFloat(value);
+            }
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+            return;
+        }
+        try {
+            Files.move(temporaryPath, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+        }
+    }
+
+    /**
+     * Записує до заголовка кешу новий час зміни файлу даних, вміст якого не змінився.
+     */
+    private static void refreshLastModified(Path cachePath, long lastModified) {
+        try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, lastModified), LAST_MODIFIED_OFFSET);
+        } catch (IOException ioException) {
+            // Кеш залишається чинним, контрольна сума перевірятиметься й надалі
+            ioException.printStackTrace();
+        }
+    }
+}
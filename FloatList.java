@@ -0,0 +1,194 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Клас FloatList - подання примітивного масиву float як {@code List<Float>} без копіювання.
+ *
+ * <p>Список не має власного сховища: читання і запис через інтерфейс List
+ * звертаються безпосередньо до масиву, тому масив і список завжди однакові.
+ * Розмір списку фіксований, як у {@link Arrays#asList}.</p>
+ *
+ * <p>Окрім інтерфейсу List, клас надає примітивні операції без упаковки:
+ * {@link #getFloat(int)}, {@link #sort()}, {@link #search(float, FloatSearch.Strategy)},
+ * {@link #minMax()}. Порядок значень такий самий, як у {@link Float#compare}:
+ * -0.0f менше за 0.0f, NaN більше за будь-яке інше значення.</p>
+ *
+ * <p>Після {@link #sort()} список запам'ятовує, що він впорядкований, і повторне
+ * сортування не виконується, доки значення не змінено через {@link #set}.</p>
+ */
+public final class FloatList extends AbstractList<Float> implements RandomAccess {
+    private final float[] values;
+    private final int size;
+    private boolean sorted;
+    private AdaptiveSort.Shape lastSortShape;
+
+    /**
+     * Граничні значення списку.
+     */
+    static final class MinMax {
+        final float min;
+        final float max;
+
+        MinMax(float min, float max) {
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    private FloatList(float[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Створює список поверх масиву без копіювання.
+     *
+     * @param values Масив, що стає сховищем списку.
+     * @return Список, зміни якого видно в масиві і навпаки.
+     */
+    public static FloatList wrap(float[] values) {
+        return new FloatList(Objects.requireNonNull(values), values.length);
+    }
+
+    /**
+     * Перетворює масив об'єктів Float на примітивний масив.
+     *
+     * @param values Масив Float без null.
+     * @return Новий масив float.
+     */
+    public static float[] toPrimitive(Float[] values) {
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Повертає масив-сховище. Зміни в ньому видно в списку, але ознака
+     * впорядкованості прямі записи в масив не відстежує.
+     */
+    public float[] backingArray() {
+        return values;
+    }
+
+    public float getFloat(int index) {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    @Override
+    public Float get(int index) {
+        return getFloat(index);
+    }
+
+    @Override
+    public Float set(int index, Float element) {
+        Objects.checkIndex(index, size);
+        float previous = values[index];
+        values[index] = element;
+        sorted = false;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Float)) {
+            return -1;
+        }
+        int bits = Float.floatToIntBits((Float) o);
+        for (int i = 0; i < size; i++) {
+            if (Float.floatToIntBits(values[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Упорядковує значення за зростанням без упаковки.
+     * Якщо список уже впорядкований і не змінювався, нічого не робить.
+     * Інакше спосіб сортування обирається за формою даних через {@link AdaptiveSort}.
+     */
+    public void sort() {
+        if (!sorted) {
+            lastSortShape = AdaptiveSort.sort(values, 0, size);
+            sorted = true;
+        }
+    }
+
+    /**
+     * Повертає форму даних, виміряну під час останнього сортування, або null, якщо сортування не виконувалось.
+     */
+    public AdaptiveSort.Shape lastSortShape() {
+        return lastSortShape;
+    }
+
+    /**
+     * Природний порядок (comparator null) виконується примітивним сортуванням,
+     * тому {@code Collections.sort(list)} не упаковує значення.
+     */
+    @Override
+    public void sort(Comparator<? super Float> comparator) {
+        if (comparator == null || comparator == Comparator.naturalOrder()) {
+            sort();
+        } else {
+            super.sort(comparator);
+            sorted = false;
+        }
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Шукає значення у впорядкованому списку обраною стратегією.
+     *
+     * @param key Значення для пошуку.
+     * @param strategy Стратегія пошуку.
+     * @return Позиція значення або від'ємне число за контрактом Arrays.binarySearch.
+     */
+    public int search(float key, FloatSearch.Strategy strategy) {
+        return strategy.search(values, 0, size, key);
+    }
+
+    /**
+     * Визначає найменше і найбільше значення. Для впорядкованого списку - за O(1).
+     *
+     * @return Граничні значення або null для порожнього списку.
+     */
+    public MinMax minMax() {
+        if (size == 0) {
+            return null;
+        }
+        if (sorted) {
+            return new MinMax(values[0], values[size - 1]);
+        }
+        float min = values[0];
+        float max = values[0];
+        for (int i = 1; i < size; i++) {
+            float value = values[i];
+            if (Float.compare(value, min) < 0) {
+                min = value;
+            }
+            if (Float.compare(value, max) > 0) {
+                max = value;
+            }
+        }
+        return new MinMax(min, max);
+    }
+}
@@ -0,0 +1,193 @@
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Клас FloatSearch містить стратегії пошуку у впорядкованому масиві float.
+ *
+ * <p>Усі стратегії повертають результат за контрактом {@link Arrays#binarySearch(float[], float)}:
+ * індекс знайденого елемента (за наявності дублікатів - будь-якого з них) або
+ * {@code -(точка вставки) - 1}. Порядок значень такий самий, як у {@link Float#compare}.</p>
+ *
+ * <ul>
+ *   <li>{@link Strategy#BINARY} - бінарний пошук, O(log n) проб;</li>
+ *   <li>{@link Strategy#INTERPOLATION} - інтерполяційний пошук, O(log log n) проб для
+ *       рівномірно розподілених даних. Кількість інтерполяційних проб обмежена
+ *       величиною log2(log2 n) + 2; якщо її вичерпано (нерівномірні дані), решта
+ *       діапазону проглядається бінарним пошуком, тому кількість проб не перевищує
+ *       O(log log n + log n);</li>
+ *   <li>{@link Strategy#EXPONENTIAL} - експоненційний (галопуючий) пошук від початку
+ *       діапазону, O(log k) проб, де k - позиція результату. Корисний для пакетної
+ *       перевірки впорядкованих ключів ({@link #searchSorted}).</li>
+ * </ul>
+ */
+public final class FloatSearch {
+
+    /**
+     * Стратегія пошуку.
+     */
+    enum Strategy {
+        BINARY, INTERPOLATION, EXPONENTIAL;
+
+        static Strategy fromName(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+
+        int search(float[] values, int from, int to, float key) {
+            switch (this) {
+                case INTERPOLATION:
+                    return interpolationSearch(values, from, to, key);
+                case EXPONENTIAL:
+                    return exponentialSearch(values, from, to, key);
+                default:
+                    return Arrays.binarySearch(values, from, to, key);
+            }
+        }
+
+        int search(float[] values, float key) {
+            return search(values, 0, values.length, key);
+        }
+    }
+
+    private FloatSearch() {
+    }
+
+    /**
+     * Інтерполяційний пошук у діапазоні [from, to) з переходом до бінарного пошуку на нерівномірних даних.
+     */
+    public static int interpolationSearch(float[] values, int from, int to, float key) {
+        int low = from;
+        int high = to - 1;
+        if (Float.isNaN(key) || Float.isInfinite(key)) {
+            return Arrays.binarySearch(values, from, to, key);
+        }
+        int probeBudget = interpolationProbeBudget(to - from);
+
+        while (low <= high) {
+            float lowValue = values[low];
+            float highValue = values[high];
+            if (Float.compare(key, lowValue) < 0) {
+                return -(low + 1);
+            }
+            if (Float.compare(key, highValue) > 0) {
+                return -(high + 2);
+            }
+            // Оцінка позиції потребує скінченних і різних граничних значень
+            if (!(highValue > lowValue) || Float.isInfinite(highValue - lowValue)) {
+                break;
+            }
+
+            int range = high - low;
+            int position = low + (int) (((double) key - lowValue) / ((double) highValue - lowValue) * range);
+            position = Math.max(low, Math.min(high, position));
+
+            int comparison = Float.compare(values[position], key);
+            if (comparison == 0) {
+                return position;
+            }
+            if (comparison < 0) {
+                low = position + 1;
+            } else {
+                high = position - 1;
+            }
+            if (--probeBudget == 0) {
+                break;
+            }
+        }
+        return low <= high ? Arrays.binarySearch(values, low, high + 1, key) : -(low + 1);
+    }
+
+    private static int interpolationProbeBudget(int length) {
+        int logLength = 32 - Integer.numberOfLeadingZeros(Math.max(1, length));
+        return 32 - Integer.numberOfLeadingZeros(logLength) + 2;
+    }
+
+    /**
+     * Експоненційний пошук у діапазоні [from, to): межа подвоюється від from, доки
+     * не перевищить ключ, далі - бінарний пошук між двома останніми межами.
+     */
+    public static int exponentialSearch(float[] values, int from, int to, float key) {
+        if (from >= to) {
+            return -(from + 1);
+        }
+        int previous = from;
+        int bound = 1;
+        while (from + bound < to && Float.compare(values[from + bound], key) < 0) {
+            previous = from + bound;
+            bound <<= 1;
+        }
+        return Arrays.binarySearch(values, previous, Math.min(from + bound + 1, to), key);
+    }
+
+    /**
+     * Позиція першого значення, не меншого за key (порядок {@link Float#compare}).
+     */
+    public static int lowerBound(float[] sortedValues, float key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Float.compare(sortedValues[middle], key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Позиція першого значення, більшого за key (порядок {@link Float#compare}).
+     */
+    public static int upperBound(float[] sortedValues, float key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Float.compare(sortedValues[middle], key) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Рахує значення впорядкованого масиву в діапазоні [from, to]; для from > to - нуль.
+     */
+    public static int countBetween(float[] sortedValues, float from, float to) {
+        return Math.max(0, upperBound(sortedValues, to) - lowerBound(sortedValues, from));
+    }
+
+    /**
+     * Шукає впорядковані ключі у впорядкованому масиві одним проходом, як при злитті:
+     * кожен наступний ключ шукається галопом від точки попереднього результату.
+     *
+     * @param values Впорядкований масив.
+     * @param sortedKeys Впорядковані ключі.
+     * @return Для кожного ключа - результат за контрактом Arrays.binarySearch.
+     */
+    public static int[] searchSorted(float[] values, float[] sortedKeys) {
+        int[] results = new int[sortedKeys.length];
+        int cursor = 0;
+        for (int i = 0; i < sortedKeys.length; i++) {
+            int result = exponentialSearch(values, cursor, values.length, sortedKeys[i]);
+            results[i] = result;
+            cursor = result >= 0 ? result : -result - 1;
+        }
+        return results;
+    }
+
+    /**
+     * Рахує, скільки впорядкованих ключів присутні у впорядкованому масиві.
+     */
+    public static int countContained(float[] values, float[] sortedKeys) {
+        int count = 0;
+        for (int result : searchSorted(values, sortedKeys)) {
+            if (result >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,303 @@
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Клас FloatStatistics обчислює описову статистику масиву float за один прохід.
+ *
+ * <p>{@link Accumulator} накопичує кількість, мінімум, максимум, суму з компенсацією
+ * похибки (Kahan-Neumaier), середнє та суму квадратів відхилень (Welford), а також
+ * логарифмічну гістограму: кошик визначається показником і чотирма старшими бітами
+ * мантиси, тож межі кошиків відрізняються не більш ніж на 1/16 і наближені
+ * перцентилі мають таку саму відносну похибку. Значення NaN та нескінченності
+ * рахуються окремо і не впливають на середнє та дисперсію.</p>
+ *
+ * <p>Стани акумуляторів можна об'єднувати ({@link Accumulator#merge}), тому
+ * {@link #accumulateParallel} ділить масив на частини в пулі fork-join і зливає
+ * часткові результати. Для впорядкованого масиву перцентилі обчислюються точно
+ * ({@link #percentile}).</p>
+ */
+public final class FloatStatistics {
+    static final double[] REPORTED_PERCENTILES = {0.5, 0.9, 0.99};
+    static final int REPORTED_HISTOGRAM_BINS = 10;
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+    private static final int MANTISSA_BITS_PER_BIN = 4;
+    private static final int MAGNITUDE_SHIFT = 23 - MANTISSA_BITS_PER_BIN;
+    // Кошики модулів значень: 8 бітів показника і 4 біти мантиси
+    private static final int MAGNITUDE_BINS = 1 << (8 + MANTISSA_BITS_PER_BIN);
+
+    private FloatStatistics() {
+    }
+
+    /**
+     * Частковий стан статистики, який можна доповнювати значеннями та зливати з іншими станами.
+     */
+    static final class Accumulator {
+        long count;
+        long nanCount;
+        long infiniteCount;
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        private long finiteCount;
+        private double mean;
+        private double squaredDeviations;
+        private double sum;
+        private double sumCompensation;
+        // Кошики [0, MAGNITUDE_BINS) - від'ємні значення (від найбільшого модуля), далі - невід'ємні
+        private final long[] bins = new long[2 * MAGNITUDE_BINS];
+
+        void add(float value) {
+            if (Float.isNaN(value)) {
+                nanCount++;
+                return;
+            }
+            count++;
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+            bins[binOf(value)]++;
+            if (Float.isInfinite(value)) {
+                infiniteCount++;
+                return;
+            }
+
+            finiteCount++;
+            double delta = value - mean;
+            mean += delta / finiteCount;
+            squaredDeviations += delta * (value - mean);
+            addToSum(value);
+        }
+
+        /**
+         * Додає до цього стану стан іншої частини даних (формула Чана для дисперсії).
+         */
+        void merge(Accumulator other) {
+            count += other.count;
+            nanCount += other.nanCount;
+            infiniteCount += other.infiniteCount;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            for (int bin = 0; bin < bins.length; bin++) {
+                bins[bin] += other.bins[bin];
+            }
+            if (other.finiteCount == 0) {
+                return;
+            }
+            long combinedCount = finiteCount + other.finiteCount;
+            double delta = other.mean - mean;
+            mean += delta * other.finiteCount / combinedCount;
+            squaredDeviations += other.squaredDeviations + delta * delta * ((double) finiteCount * other.finiteCount / combinedCount);
+            finiteCount = combinedCount;
+            addToSum(other.sum);
+            addToSum(other.sumCompensation);
+        }
+
+        /**
+         * Додавання з компенсацією похибки округлення (Neumaier).
+         */
+        private void addToSum(double value) {
+            double total = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                sumCompensation += (sum - total) + value;
+            } else {
+                sumCompensation += (value - total) + sum;
+            }
+            sum = total;
+        }
+
+        /**
+         * Сума скінченних значень.
+         */
+        double sum() {
+            return sum + sumCompensation;
+        }
+
+        /**
+         * Середнє скінченних значень або NaN, якщо їх немає.
+         */
+        double mean() {
+            return finiteCount == 0 ? Double.NaN : sum() / finiteCount;
+        }
+
+        /**
+         * Вибіркова дисперсія скінченних значень.
+         */
+        double variance() {
+            return finiteCount < 2 ? Double.NaN : squaredDeviations / (finiteCount - 1);
+        }
+
+        double standardDeviation() {
+            return Math.sqrt(variance());
+        }
+
+        /**
+         * Наближений перцентиль за логарифмічною гістограмою: середина кошика, в який потрапляє ранг.
+         *
+         * @param fraction Частка від 0 до 1.
+         */
+        float approximatePercentile(double fraction) {
+            if (count == 0) {
+                return Float.NaN;
+            }
+            long rank = Math.min(count - 1, (long) Math.floor(fraction * (count - 1)));
+            long seen = 0;
+            for (int bin = 0; bin < bins.length; bin++) {
+                seen += bins[bin];
+                if (seen > rank) {
+                    float estimate = binMiddle(bin);
+                    return Math.max(min, Math.min(max, estimate));
+                }
+            }
+            return max;
+        }
+    }
+
+    private static int binOf(float value) {
+        int magnitudeBin = (Float.floatToRawIntBits(value) & Integer.MAX_VALUE) >>> MAGNITUDE_SHIFT;
+        return Float.floatToRawIntBits(value) < 0 ? MAGNITUDE_BINS - 1 - magnitudeBin : MAGNITUDE_BINS + magnitudeBin;
+    }
+
+    private static float binMiddle(int bin) {
+        boolean negative = bin < MAGNITUDE_BINS;
+        int magnitudeBin = negative ? MAGNITUDE_BINS - 1 - bin : bin - MAGNITUDE_BINS;
+        float low = Float.intBitsToFloat(magnitudeBin << MAGNITUDE_SHIFT);
+        float high = Float.intBitsToFloat(((magnitudeBin + 1) << MAGNITUDE_SHIFT) - 1);
+        // Кошик нескінченності містить лише її
+        float middle = Float.isInfinite(low) ? low : low + (high - low) / 2;
+        return negative ? -middle : middle;
+    }
+
+    /**
+     * Накопичує статистику діапазону [from, to) одним послідовним проходом.
+     */
+    public static Accumulator accumulate(float[] values, int from, int to) {
+        Accumulator accumulator = new Accumulator();
+        for (int i = from; i < to; i++) {
+            accumulator.add(values[i]);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Накопичує статистику паралельно: частини по {@value #PARALLEL_CHUNK_SIZE} елементів
+     * обробляються в спільному пулі fork-join, часткові стани зливаються попарно.
+     */
+    public static Accumulator accumulateParallel(float[] values) {
+        return ForkJoinPool.commonPool().invoke(new ChunkTask(values, 0, values.length));
+    }
+
+    private static final class ChunkTask extends RecursiveTask<Accumulator> {
+        private static final long serialVersionUID = 1L;
+
+        private final float[] values;
+        private final int from;
+        private final int to;
+
+        ChunkTask(float[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= PARALLEL_CHUNK_SIZE) {
+                return accumulate(values, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(values, from, middle);
+            left.fork();
+            Accumulator right = new ChunkTask(values, middle, to).compute();
+            Accumulator result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+
+    /**
+     * Точний перцентиль впорядкованого масиву з лінійною інтерполяцією між сусідніми рангами.
+     * Значення NaN (після сортування вони в кінці) не враховуються.
+     *
+     * @param sortedValues Масив, впорядкований за зростанням.
+     * @param fraction Частка від 0 до 1.
+     */
+    public static float percentile(float[] sortedValues, double fraction) {
+        int length = sortedValues.length;
+        while (length > 0 && Float.isNaN(sortedValues[length - 1])) {
+            length--;
+        }
+        if (length == 0) {
+            return Float.NaN;
+        }
+        double position = fraction * (length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(length - 1, lower + 1);
+        double weight = position - lower;
+        if (weight == 0) {
+            return sortedValues[lower];
+        }
+        return (float) (sortedValues[lower] + (sortedValues[upper] - (double) sortedValues[lower]) * weight);
+    }
+
+    /**
+     * Гістограма з кошиками однакової ширини між min і max для впорядкованого масиву:
+     * межі кошиків знаходяться бінарним пошуком, без перегляду всіх значень.
+     *
+     * @return Кількість значень у кожному з binCount кошиків; останній кошик включає max.
+     */
+    public static long[] histogram(float[] sortedValues, float min, float max, int binCount) {
+        long[] counts = new long[binCount];
+        if (!(max > min) || Float.isInfinite(max - min)) {
+            // Ширину кошика неможливо визначити: усі значення в першому кошику
+            counts[0] = FloatSearch.countBetween(sortedValues, min, max);
+            return counts;
+        }
+        double width = ((double) max - min) / binCount;
+        int start = FloatSearch.lowerBound(sortedValues, min);
+        for (int bin = 0; bin < binCount; bin++) {
+            int end = bin == binCount - 1
+                    ? FloatSearch.upperBound(sortedValues, max)
+                    : FloatSearch.lowerBound(sortedValues, (float) (min + width * (bin + 1)));
+            counts[bin] = end - start;
+            start = end;
+        }
+        return counts;
+    }
+
+    /**
+     * Виводить статистику: моменти, перцентилі (точні для впорядкованого масиву) та гістограму.
+     */
+    static void printSummary(Accumulator statistics, float[] values, boolean sorted) {
+        ReportSink.println(String.format(Locale.ROOT, "Кількість: %d (NaN: %d, нескінченних: %d), сума: %.6g, середнє: %.6g, стандартне відхилення: %.6g",
+                statistics.count, statistics.nanCount, statistics.infiniteCount,
+                statistics.sum(), statistics.mean(), statistics.standardDeviation()));
+
+        StringBuilder percentiles = new StringBuilder(sorted ? "Перцентилі (точні):" : "Перцентилі (наближені):");
+        for (double fraction : REPORTED_PERCENTILES) {
+            float value = sorted ? percentile(values, fraction) : statistics.approximatePercentile(fraction);
+            percentiles.append(String.format(Locale.ROOT, " p%s=%s", formatFraction(fraction), value));
+        }
+        ReportSink.println(percentiles.toString());
+
+        if (sorted && statistics.count > 0) {
+            long[] counts = histogram(values, statistics.min, statistics.max, REPORTED_HISTOGRAM_BINS);
+            double width = ((double) statistics.max - statistics.min) / counts.length;
+            ReportSink.println("Гістограма:");
+            int toPrint = ReportSink.elementsToPrint(counts.length);
+            for (int bin = 0; bin < toPrint; bin++) {
+                ReportSink.println(String.format(Locale.ROOT, "  [%14.6g, %14.6g%s %d",
+                        statistics.min + width * bin, statistics.min + width * (bin + 1),
+                        bin == counts.length - 1 ? "]" : ")", counts[bin]));
+            }
+            ReportSink.printOmitted(toPrint, counts.length);
+        }
+    }
+
+    private static String formatFraction(double fraction) {
+        double percent = fraction * 100;
+        return percent == Math.rint(percent) ? Long.toString((long) percent) : Double.toString(percent);
+    }
+}
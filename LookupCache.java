@@ -0,0 +1,100 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Клас LookupCache - обмежений кеш результатів пошуку з витісненням LRU.
+ *
+ * <p>Кешуються як знайдені значення, так і відсутність значення (null), тому
+ * повторні запити до відсутніх ключів також не доходять до основної колекції.
+ * Кеш не відстежує зміни колекції сам: власник колекції має викликати
+ * {@link #invalidate(Object)} для кожного ключа, результат пошуку якого змінився.</p>
+ *
+ * <p>Лічильники влучань, промахів та витіснень виводяться через
+ * {@link PerformanceTracker#displayCacheStatistics(String, long, long, long)}.</p>
+ *
+ * @param <K> тип ключа пошуку
+ * @param <V> тип результату пошуку
+ */
+public class LookupCache<K, V> {
+    private static final Object ABSENT = new Object();
+
+    private final String name;
+    private final LinkedHashMap<K, Object> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Створює кеш заданої місткості.
+     *
+     * @param name Назва кешу для звітів.
+     * @param capacity Максимальна кількість записів.
+     */
+    public LookupCache(String name, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Місткість кешу має бути додатною: " + capacity);
+        }
+        this.name = name;
+        // accessOrder = true: порядок ітерації від найдавніше використаного до щойно використаного
+        this.entries = new LinkedHashMap<K, Object>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Object> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Повертає кешований результат пошуку або обчислює його через loader.
+     *
+     * @param key Ключ пошуку.
+     * @param loader Функція пошуку в основній колекції (може повертати null).
+     * @return Результат пошуку або null, якщо значення відсутнє.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        Object cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+            return cached == ABSENT ? null : (V) cached;
+        }
+        misses++;
+        V value = loader.apply(key);
+        entries.put(key, value == null ? ABSENT : value);
+        return value;
+    }
+
+    /**
+     * Видаляє результат пошуку для ключа після зміни колекції.
+     *
+     * @param key Ключ, результат пошуку якого змінився.
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Виводить лічильники влучань, промахів та витіснень.
+     */
+    public synchronized void displayStatistics() {
+        PerformanceTracker.displayCacheStatistics(name, hits, misses, evictions);
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Клас LookupCacheBenchmark вимірює виграш від {@link LookupCache} на нерівномірному навантаженні.
+ *
+ * <p>Запити до TreeMap з ключами Pet генеруються за розподілом Ціпфа: невелика
+ * кількість тварин запитується значно частіше за решту. Для кожного варіанту
+ * (прямий пошук у TreeMap та пошук через кеш) виводиться середня затримка,
+ * перцентилі p50/p99 та статистика кешу.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java LookupCacheBenchmark 1000000 2000000 0.99 10000
+ * }
+ * </pre>
+ * <p>Аргументи: кількість тварин, кількість запитів, показник розподілу Ціпфа, місткість кешу.</p>
+ */
+public class LookupCacheBenchmark {
+    private static final long SEED = 42L;
+    private static final String[] SPECIES = {"Сова вухата", "Полярна сова", "Сова сіра", "Сипуха", "Сова болотяна"};
+
+    public static void main(String[] args) {
+        int petCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        double exponent = args.length > 2 ? Double.parseDouble(args[2]) : 0.99;
+        int cacheCapacity = args.length > 3 ? Integer.parseInt(args[3]) : BasicDataOperationUsingMap.LOOKUP_CACHE_CAPACITY;
+
+        BasicDataOperationUsingMap.Pet[] pets = new BasicDataOperationUsingMap.Pet[petCount];
+        TreeMap<BasicDataOperationUsingMap.Pet, String> treeMap = new TreeMap<>();
+        for (int i = 0; i < petCount; i++) {
+            pets[i] = new BasicDataOperationUsingMap.Pet("Тварина-" + i, SPECIES[i % SPECIES.length]);
+            treeMap.put(pets[i], "Власник-" + (i % 1000));
+        }
+
+        // Ранги Ціпфа перемішуються, щоб популярні тварини не були сусідами в дереві
+        int[] queries = zipfianQueries(petCount, queryCount, exponent, new Random(SEED));
+
+        ReportSink.println("Тварин: " + petCount + ", запитів: " + queryCount + ", s = " + exponent + ", місткість кешу: " + cacheCapacity);
+
+        // Розігрів JIT обома варіантами
+        runDirect(treeMap, pets, queries);
+        runCached(treeMap, pets, queries, new LookupCache<>("розігрів", cacheCapacity));
+
+        long[] directLatencies = runDirect(treeMap, pets, queries);
+        printLatencies("TreeMap.get", directLatencies);
+
+        LookupCache<BasicDataOperationUsingMap.Pet, String> cache = new LookupCache<>("пошук за ключем в TreeMap", cacheCapacity);
+        long[] cachedLatencies = runCached(treeMap, pets, queries, cache);
+        printLatencies("LookupCache", cachedLatencies);
+        cache.displayStatistics();
+        ReportSink.flush();
+    }
+
+    private static long[] runDirect(TreeMap<BasicDataOperationUsingMap.Pet, String> treeMap,
+                                    BasicDataOperationUsingMap.Pet[] pets, int[] queries) {
+        long[] latencies = new long[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            long timeStart = System.nanoTime();
+            String owner = treeMap.get(pets[queries[i]]);
+            latencies[i] = System.nanoTime() - timeStart;
+            if (owner == null) {
+                throw new IllegalStateException("Тварину не знайдено: " + pets[queries[i]]);
+            }
+        }
+        return latencies;
+    }
+
+    private static long[] runCached(TreeMap<BasicDataOperationUsingMap.Pet, String> treeMap,
+                                    BasicDataOperationUsingMap.Pet[] pets, int[] queries,
+                                    LookupCache<BasicDataOperationUsingMap.Pet, String> cache) {
+        long[] latencies = new long[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            long timeStart = System.nanoTime();
+            String owner = cache.getOrLoad(pets[queries[i]], treeMap::get);
+            latencies[i] = System.nanoTime() - timeStart;
+            if (owner == null) {
+                throw new IllegalStateException("Тварину не знайдено: " + pets[queries[i]]);
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * Генерує послідовність індексів за розподілом Ціпфа через обернену функцію розподілу.
+     */
+    static int[] zipfianQueries(int itemCount, int queryCount, double exponent, Random random) {
+        double[] cumulative = new double[itemCount];
+        double sum = 0;
+        for (int rank = 0; rank < itemCount; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+
+        int[] permutation = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            permutation[i] = i;
+        }
+        for (int i = itemCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+
+        int[] queries = new int[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            queries[i] = permutation[Math.min(rank, itemCount - 1)];
+        }
+        return queries;
+    }
+
+    private static void printLatencies(String variantName, long[] latencies) {
+        long total = 0;
+        for (long latency : latencies) {
+            total += latency;
+        }
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        ReportSink.println(String.format("%-12s середня %,8.1f нс  p50 %,6d нс  p99 %,8d нс  сумарно %,d нс",
+                variantName, (double) total / latencies.length,
+                sorted[sorted.length / 2], sorted[(int) (sorted.length * 0.99)], total));
+    }
+}
@@ -0,0 +1,912 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Клас PartitionedEngine розподіляє набір даних float між кількома процесами-обробниками на локальній машині.
+ *
+ * <p>Файл даних розбивається на N сегментів за значенням: межі сегментів - квантилі
+ * випадкової вибірки значень, тож сегменти мають приблизно однаковий розмір. Файл
+ * читається потоково двічі: перший прохід рахує значення і збирає вибірку, другий
+ * одразу дописує кожне значення до файлу його сегмента, тому координатор не тримає
+ * весь набір у пам'яті. Кожен сегмент належить окремому процесу JVM (обробнику),
+ * який тримає свої значення у впорядкованому масиві та відповідає на запити через
+ * локальний сокет. Координатор:</p>
+ * <ul>
+ *   <li>надсилає пошук значення лише до сегмента, якому це значення належить;</li>
+ *   <li>надсилає запит на підрахунок у діапазоні лише до сегментів, що перетинаються з
+ *       діапазоном, і додає відповіді;</li>
+ *   <li>об'єднує кількість, мінімум і максимум усіх сегментів;</li>
+ *   <li>розподіляє нові значення за сегментами; якщо найбільший сегмент перевищує середній
+ *       розмір більше ніж у {@code --skew} разів, сегменти перебудовуються за точними
+ *       квантилями всіх значень, які запитуються в сегментів за рангом.</li>
+ * </ul>
+ * <p>Запит до кількох сегментів спочатку надсилається всім, а потім збираються
+ * відповіді, тому обробники працюють одночасно. Для кожного сегмента виводяться
+ * метрики: кількість значень, межі, кількість запитів, час обробки в обробнику і час
+ * повного звернення з боку координатора.</p>
+ *
+ * <p>Протокол - текстові рядки: {@code CONTAINS v}, {@code COUNT від до}, {@code STATS}, {@code AT ранг},
+ * {@code ADD v1 v2 ...}, {@code DUMP файл}, {@code LOAD файл}, {@code METRICS},
+ * {@code SHUTDOWN}. Значення передаються у форматі {@link Float#toString}, тому
+ * відновлюються точно.</p>
+ *
+ * <p>Демонстраційний запуск виконує запити, дописує значення вище за поточний
+ * максимум (усі потрапляють до останнього сегмента), перебудовує сегменти і повторює
+ * запити. Відповіді звіряються з повним впорядкованим масивом, який координатор
+ * завантажує лише для цієї звірки.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java PartitionedEngine list/float.data --shards=4 --search=-31388.32 --range=-1000:1000
+ * java PartitionedEngine list/float.data --shards=8 --ingest=5000 --skew=1.3
+ * }
+ * </pre>
+ */
+public class PartitionedEngine implements AutoCloseable {
+    static final int SAMPLE_SIZE = 10_000;
+    static final double DEFAULT_SKEW_THRESHOLD = 1.5;
+    private static final int DEFAULT_SHARD_COUNT = 4;
+    private static final String WORKER_OPTION = "--worker";
+    private static final String PORT_PREFIX = "PORT ";
+    private static final int TIMEOUT_MILLIS = (int) TimeUnit.SECONDS.toMillis(60);
+    private static final long SEED = 42L;
+
+    private final Path workDirectory;
+    private final ShardClient[] shards;
+    // boundaries[i] - найменше значення сегмента i + 1; значення, рівне межі, належить сегменту праворуч
+    private float[] boundaries;
+    private int rebalanceCount;
+
+    private PartitionedEngine(Path workDirectory, float[] boundaries, ShardClient[] shards) {
+        this.workDirectory = workDirectory;
+        this.boundaries = boundaries;
+        this.shards = shards;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals(WORKER_OPTION)) {
+            Worker.run(Paths.get(args[1]));
+            return;
+        }
+
+        String filePath = BasicDataOperation.PATH_TO_DATA_FILE;
+        int shardCount = DEFAULT_SHARD_COUNT;
+        Float valueToSearch = null;
+        float[] range = null;
+        Integer ingestCount = null;
+        double skewThreshold = DEFAULT_SKEW_THRESHOLD;
+        for (String argument : args) {
+            if (ReportSink.applyOption(argument) || PerformanceTracker.applyOption(argument)) {
+                continue;
+            }
+            if (argument.startsWith("--shards=")) {
+                shardCount = Integer.parseInt(argument.substring("--shards=".length()));
+            } else if (argument.startsWith("--search=")) {
+                valueToSearch = Float.parseFloat(argument.substring("--search=".length()));
+            } else if (argument.startsWith("--range=")) {
+                String[] bounds = argument.substring("--range=".length()).split(":", 2);
+                range = new float[] {Float.parseFloat(bounds[0]), Float.parseFloat(bounds[1])};
+            } else if (argument.startsWith("--ingest=")) {
+                ingestCount = Integer.parseInt(argument.substring("--ingest=".length()));
+            } else if (argument.startsWith("--skew=")) {
+                skewThreshold = Double.parseDouble(argument.substring("--skew=".length()));
+            } else {
+                filePath = argument;
+            }
+        }
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Кількість сегментів має бути додатною: " + shardCount);
+        }
+
+        Path dataFile = Paths.get(filePath);
+        long timeStart = PerformanceTracker.startOperation();
+
+        FileSample sample;
+        try {
+            sample = FileSample.scan(dataFile, SAMPLE_SIZE, new Random(SEED));
+        } catch (IOException ioException) {
+            ReportSink.println("Помилка читання " + filePath + ": " + ioException.getMessage());
+            ReportSink.flush();
+            return;
+        }
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "вибірка з " + dataFile + " (" + sample.count + " значень)");
+        if (sample.count == 0) {
+            ReportSink.println("Файл " + filePath + " не містить значень.");
+            ReportSink.flush();
+            return;
+        }
+
+        float[] sortedSample = sample.sortedValues;
+        if (valueToSearch == null) {
+            valueToSearch = sortedSample[sortedSample.length / 2];
+        }
+        if (range == null) {
+            range = new float[] {sortedSample[sortedSample.length / 4], sortedSample[sortedSample.length * 3 / 4]};
+        }
+
+        try (PartitionedEngine engine = start(dataFile, sample, shardCount, Files.createTempDirectory("partitioned-engine"))) {
+            engine.printMetrics();
+            // Повний впорядкований масив завантажується лише для звірки відповідей сегментів
+            float[] reference = Worker.loadSorted(dataFile);
+            engine.runQueries(reference, valueToSearch, range);
+
+            int count = ingestCount != null ? ingestCount : Math.toIntExact(sample.count);
+            if (count > 0) {
+                float[] appended = new float[count];
+                float top = engine.summary().max;
+                float step = Math.max(Math.ulp(top), 0.01f);
+                for (int i = 0; i < count; i++) {
+                    appended[i] = top + step * (i + 1);
+                }
+
+                timeStart = PerformanceTracker.startOperation();
+
+                engine.add(appended);
+
+                PerformanceTracker.displayOperationTime(timeStart, () -> "додавання " + count + " значень вище за максимум");
+
+                reference = AdaptiveSort.mergeSorted(reference, appended);
+                engine.rebalanceIfSkewed(skewThreshold);
+                engine.printMetrics();
+                engine.runQueries(reference, valueToSearch, range);
+            }
+        } catch (IOException ioException) {
+            ReportSink.println("Помилка роботи з сегментами: " + ioException.getMessage());
+        }
+        ReportSink.flush();
+    }
+
+    /**
+     * Розкладає файл даних за сегментами, записуючи файли сегментів під час читання,
+     * і запускає по процесу-обробнику на сегмент.
+     *
+     * @param sample Вибірка з того самого файлу; межі сегментів - її квантилі.
+     */
+    static PartitionedEngine start(Path dataFile, FileSample sample, int shardCount, Path workDirectory) throws IOException {
+        long timeStart = PerformanceTracker.startOperation();
+
+        float[] boundaries = quantileBoundaries(sample.sortedValues, shardCount);
+        Path[] shardFiles = writeShards(new Path[] {dataFile}, new long[] {sample.count}, boundaries, workDirectory);
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "розбиття на " + shardCount + " сегментів за квантилями вибірки");
+
+        timeStart = PerformanceTracker.startOperation();
+
+        ShardClient[] shards = new ShardClient[shardCount];
+        try {
+            // Процеси запускаються всі одразу, щоб завантаження сегментів відбувалося паралельно
+            List<Process> processes = new ArrayList<>();
+            for (Path shardFile : shardFiles) {
+                processes.add(ShardClient.launch(shardFile));
+            }
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = ShardClient.connect(i, processes.get(i));
+            }
+        } catch (IOException | RuntimeException exception) {
+            for (ShardClient shard : shards) {
+                if (shard != null) {
+                    shard.close();
+                }
+            }
+            throw exception;
+        }
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "запуск " + shardCount + " процесів-обробників");
+        return new PartitionedEngine(workDirectory, boundaries, shards);
+    }
+
+    static float[] quantileBoundaries(float[] sortedValues, int shardCount) {
+        float[] boundaries = new float[shardCount - 1];
+        for (int i = 1; i < shardCount; i++) {
+            boundaries[i - 1] = sortedValues[(int) ((long) i * sortedValues.length / shardCount)];
+        }
+        return boundaries;
+    }
+
+    /**
+     * Номер сегмента, якому належить значення (порядок {@link Float#compare}).
+     */
+    static int route(float[] boundaries, float value) {
+        int low = 0;
+        int high = boundaries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Float.compare(boundaries[middle], value) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Розкладає значення за сегментами.
+     */
+    static float[][] split(float[] values, float[] boundaries) {
+        int[] counts = new int[boundaries.length + 1];
+        for (float value : values) {
+            counts[route(boundaries, value)]++;
+        }
+        float[][] parts = new float[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            parts[i] = new float[counts[i]];
+        }
+        int[] fill = new int[counts.length];
+        for (float value : values) {
+            int shard = route(boundaries, value);
+            parts[shard][fill[shard]++] = value;
+        }
+        return parts;
+    }
+
+    /**
+     * Читає вхідні файли по черзі й одразу дописує кожне значення до файлу його сегмента,
+     * тож у пам'яті не тримається жоден із наборів значень.
+     *
+     * @param expectedCounts Очікувана кількість значень у кожному вхідному файлі.
+     * @return Файли сегментів.
+     * @throws IOException якщо файл не читається чи не записується або кількість значень не збігається
+     */
+    private static Path[] writeShards(Path[] sources, long[] expectedCounts, float[] boundaries, Path workDirectory) throws IOException {
+        Path[] shardFiles = new Path[boundaries.length + 1];
+        BufferedWriter[] writers = new BufferedWriter[shardFiles.length];
+        try {
+            for (int i = 0; i < shardFiles.length; i++) {
+                shardFiles[i] = workDirectory.resolve("shard-" + i + ".data");
+                writers[i] = Files.newBufferedWriter(shardFiles[i], StandardCharsets.UTF_8);
+            }
+            for (int i = 0; i < sources.length; i++) {
+                long count = forEachValue(sources[i], value -> {
+                    BufferedWriter writer = writers[route(boundaries, value)];
+                    writer.write(Float.toString(value));
+                    writer.newLine();
+                });
+                if (count != expectedCounts[i]) {
+                    throw new IOException("Файл " + sources[i] + " містить " + count + " значень замість " + expectedCounts[i]);
+                }
+            }
+        } finally {
+            IOException closeFailure = null;
+            for (BufferedWriter writer : writers) {
+                try {
+                    if (writer != null) {
+                        writer.close();
+                    }
+                } catch (IOException ioException) {
+                    closeFailure = ioException;
+                }
+            }
+            if (closeFailure != null) {
+                throw closeFailure;
+            }
+        }
+        return shardFiles;
+    }
+
+    /**
+     * Зберігає значення у файл, по одному в рядку. На відміну від {@link DataFileHandler},
+     * помилки запису не приховуються.
+     */
+    static void writeValues(float[] values, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (float value : values) {
+                writer.write(Float.toString(value));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Обробник одного значення під час потокового читання файлу.
+     */
+    interface ValueConsumer {
+        void accept(float value) throws IOException;
+    }
+
+    /**
+     * Читає значення з файлу по одному в рядку, не зберігаючи їх; порожні рядки та BOM
+     * на початку файлу пропускаються, помилки читання і розбору не приховуються.
+     *
+     * @return Кількість прочитаних значень.
+     */
+    static long forEachValue(Path file, ValueConsumer consumer) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line != null && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+            for (; line != null; line = reader.readLine()) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    consumer.accept(Float.parseFloat(line));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Читає всі значення файлу в масив.
+     */
+    static float[] readValues(Path file) throws IOException {
+        class Collector implements ValueConsumer {
+            float[] values = new float[1024];
+            int count;
+
+            @Override
+            public void accept(float value) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = value;
+            }
+        }
+        Collector collector = new Collector();
+        forEachValue(file, collector);
+        return Arrays.copyOf(collector.values, collector.count);
+    }
+
+    /**
+     * Кількість значень файлу та рівномірна випадкова вибірка з них, зібрані за один прохід.
+     */
+    static final class FileSample {
+        final long count;
+        final float[] sortedValues;
+
+        private FileSample(long count, float[] sortedValues) {
+            this.count = count;
+            this.sortedValues = sortedValues;
+        }
+
+        /**
+         * Вибірка резервуаром: k-те значення замінює випадковий елемент вибірки з імовірністю sampleSize / k.
+         */
+        static FileSample scan(Path file, int sampleSize, Random random) throws IOException {
+            float[] reservoir = new float[sampleSize];
+            long count = forEachValue(file, new ValueConsumer() {
+                private long seen;
+
+                @Override
+                public void accept(float value) {
+                    if (seen < sampleSize) {
+                        reservoir[(int) seen] = value;
+                    } else {
+                        long slot = random.nextLong(seen + 1);
+                        if (slot < sampleSize) {
+                            reservoir[(int) slot] = value;
+                        }
+                    }
+                    seen++;
+                }
+            });
+            float[] sample = Arrays.copyOf(reservoir, (int) Math.min(count, sampleSize));
+            Arrays.sort(sample);
+            return new FileSample(count, sample);
+        }
+    }
+
+    public boolean contains(float value) {
+        return Boolean.parseBoolean(shards[route(boundaries, value)].request("CONTAINS " + value));
+    }
+
+    /**
+     * Кількість значень у діапазоні [from, to]; запит надсилається лише сегментам, що перетинаються з діапазоном.
+     */
+    public long countBetween(float from, float to) {
+        if (Float.compare(from, to) > 0) {
+            return 0;
+        }
+        int first = route(boundaries, from);
+        int last = route(boundaries, to);
+        for (int i = first; i <= last; i++) {
+            shards[i].send("COUNT " + from + " " + to);
+        }
+        long count = 0;
+        for (int i = first; i <= last; i++) {
+            count += Long.parseLong(shards[i].receive());
+        }
+        return count;
+    }
+
+    /**
+     * Кількість, мінімум і максимум кожного сегмента.
+     */
+    ShardStats[] shardStats() {
+        for (ShardClient shard : shards) {
+            shard.send("STATS");
+        }
+        ShardStats[] stats = new ShardStats[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            stats[i] = ShardStats.parse(shards[i].receive());
+        }
+        return stats;
+    }
+
+    /**
+     * Кількість, мінімум і максимум усіх сегментів разом.
+     */
+    public ShardStats summary() {
+        ShardStats total = new ShardStats(0, Float.NaN, Float.NaN);
+        for (ShardStats stats : shardStats()) {
+            total = total.combine(stats);
+        }
+        return total;
+    }
+
+    /**
+     * Додає значення: кожен сегмент отримує одним запитом лише свої значення.
+     */
+    public void add(float[] values) {
+        float[][] parts = split(values, boundaries);
+        List<Integer> contacted = new ArrayList<>();
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].length == 0) {
+                continue;
+            }
+            StringBuilder command = new StringBuilder("ADD");
+            for (float value : parts[i]) {
+                command.append(' ').append(value);
+            }
+            shards[i].send(command.toString());
+            contacted.add(i);
+        }
+        for (int shard : contacted) {
+            shards[shard].receive();
+        }
+    }
+
+    /**
+     * Відношення розміру найбільшого сегмента до середнього.
+     */
+    double skew() {
+        long total = 0;
+        long largest = 0;
+        for (ShardStats stats : shardStats()) {
+            total += stats.count;
+            largest = Math.max(largest, stats.count);
+        }
+        return total == 0 ? 1.0 : (double) largest * shards.length / total;
+    }
+
+    /**
+     * Перебудовує сегменти, якщо перекіс перевищує поріг.
+     *
+     * @return true, якщо сегменти перебудовано.
+     */
+    boolean rebalanceIfSkewed(double threshold) throws IOException {
+        double skew = skew();
+        ReportSink.println(String.format("Перекіс сегментів: %.2f (поріг %.2f)", skew, threshold));
+        if (skew <= threshold) {
+            return false;
+        }
+        rebalance();
+        ReportSink.println(String.format("Перекіс після перебудови: %.2f", skew()));
+        return true;
+    }
+
+    /**
+     * Перебудовує сегменти за точними квантилями всіх значень. Кількість процесів не змінюється.
+     *
+     * <p>Сегменти вивантажують свої значення у файли; оскільки кожен сегмент упорядкований, а
+     * сегменти йдуть за зростанням меж, значення з рангом r знаходиться в сегменті, де
+     * накопичена кількість перевищує r, і запитується в нього командою {@code AT}. Далі файли
+     * вивантаження читаються потоково й розкладаються за новими межами, тож координатор
+     * не збирає значення в пам'яті.</p>
+     */
+    void rebalance() throws IOException {
+        long timeStart = PerformanceTracker.startOperation();
+
+        Path[] dumpFiles = new Path[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            dumpFiles[i] = workDirectory.resolve("shard-" + i + ".dump");
+            shards[i].send("DUMP " + dumpFiles[i]);
+        }
+        long[] dumpedCounts = new long[shards.length];
+        long total = 0;
+        for (int i = 0; i < shards.length; i++) {
+            dumpedCounts[i] = Long.parseLong(shards[i].receive());
+            total += dumpedCounts[i];
+        }
+        if (total == 0) {
+            return;
+        }
+
+        float[] newBoundaries = rankBoundaries(dumpedCounts, total);
+        // Кількість значень кожного файлу звіряється з відповіддю DUMP під час читання; якщо файл
+        // неповний, нові сегменти не завантажуються, а обробники зберігають попередні значення
+        Path[] shardFiles = writeShards(dumpFiles, dumpedCounts, newBoundaries, workDirectory);
+        for (Path dumpFile : dumpFiles) {
+            Files.deleteIfExists(dumpFile);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].send("LOAD " + shardFiles[i]);
+        }
+        long loaded = 0;
+        for (ShardClient shard : shards) {
+            loaded += Long.parseLong(shard.receive());
+        }
+        if (loaded != total) {
+            throw new IllegalStateException("Після перебудови сегменти містять " + loaded + " значень замість " + total);
+        }
+        boundaries = newBoundaries;
+        rebalanceCount++;
+
+        long rebalancedCount = total;
+        PerformanceTracker.displayOperationTime(timeStart, () -> "перебудова сегментів (" + rebalancedCount + " значень)");
+    }
+
+    /**
+     * Межі за точними квантилями: значення з рангом i * total / shardCount запитуються
+     * в сегментів, що їх містять. Запити надсилаються всі одразу.
+     *
+     * @param counts Кількість значень кожного сегмента.
+     */
+    private float[] rankBoundaries(long[] counts, long total) {
+        int[] owners = new int[shards.length - 1];
+        int shard = 0;
+        long before = 0;
+        for (int i = 1; i < shards.length; i++) {
+            long rank = i * total / shards.length;
+            while (rank >= before + counts[shard]) {
+                before += counts[shard++];
+            }
+            owners[i - 1] = shard;
+            shards[shard].send("AT " + (rank - before));
+        }
+        // Відповіді одного сегмента надходять у порядку запитів
+        float[] newBoundaries = new float[owners.length];
+        for (int i = 0; i < owners.length; i++) {
+            newBoundaries[i] = Float.parseFloat(shards[owners[i]].receive());
+        }
+        return newBoundaries;
+    }
+
+    /**
+     * Виконує пошук, підрахунок у діапазоні й об'єднання мінімуму та максимуму, звіряючи відповіді з повним масивом.
+     */
+    private void runQueries(float[] reference, float valueToSearch, float[] range) {
+        long timeStart = PerformanceTracker.startOperation();
+
+        boolean found = contains(valueToSearch);
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "пошук у сегменті " + route(boundaries, valueToSearch));
+
+        timeStart = PerformanceTracker.startOperation();
+
+        long rangeCount = countBetween(range[0], range[1]);
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "підрахунок у діапазоні [" + range[0] + ", " + range[1] + "] (сегменти "
+                + route(boundaries, range[0]) + ".." + route(boundaries, range[1]) + ")");
+
+        timeStart = PerformanceTracker.startOperation();
+
+        ShardStats summary = summary();
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "об'єднання кількості, мінімуму і максимуму " + shards.length + " сегментів");
+
+        ReportSink.println("Елемент '" + valueToSearch + "' " + (found ? "знайдено" : "відсутній"));
+        ReportSink.println("Значень у діапазоні: " + rangeCount);
+        ReportSink.println("Кількість: " + summary.count + ", мінімум: " + summary.min + ", максимум: " + summary.max);
+
+        long expectedRange = FloatSearch.countBetween(reference, range[0], range[1]);
+        boolean expectedFound = Arrays.binarySearch(reference, valueToSearch) >= 0;
+        if (found != expectedFound || rangeCount != expectedRange || summary.count != reference.length
+                || Float.compare(summary.min, reference[0]) != 0 || Float.compare(summary.max, reference[reference.length - 1]) != 0) {
+            throw new IllegalStateException("Відповіді сегментів не збігаються з повним масивом");
+        }
+    }
+
+    /**
+     * Виводить метрики кожного сегмента.
+     */
+    void printMetrics() {
+        ShardStats[] stats = shardStats();
+        for (ShardClient shard : shards) {
+            shard.send("METRICS");
+        }
+        ReportSink.println("\nСегменти (" + shards.length + ", перебудов: " + rebalanceCount + "):");
+        ReportSink.println(String.format("%-8s %10s %14s %14s %10s %14s %14s",
+                "сегмент", "значень", "мінімум", "максимум", "запитів", "обробка, мкс", "звернення, мкс"));
+        for (int i = 0; i < shards.length; i++) {
+            String[] metrics = shards[i].receive().split(" ");
+            long requests = Long.parseLong(metrics[0]);
+            long busyNanos = Long.parseLong(metrics[1]);
+            ShardClient shard = shards[i];
+            ReportSink.println(String.format("%-8d %10d %14s %14s %10d %14.1f %14.1f", i, stats[i].count,
+                    stats[i].count == 0 ? "-" : Float.toString(stats[i].min), stats[i].count == 0 ? "-" : Float.toString(stats[i].max),
+                    requests, requests == 0 ? 0.0 : busyNanos / 1e3 / requests,
+                    shard.requests == 0 ? 0.0 : shard.roundTripNanos / 1e3 / shard.requests));
+        }
+    }
+
+    /**
+     * Зупиняє обробники та видаляє файли сегментів.
+     */
+    @Override
+    public void close() throws IOException {
+        for (ShardClient shard : shards) {
+            shard.close();
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(workDirectory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(workDirectory);
+    }
+
+    /**
+     * Кількість, мінімум і максимум сегмента.
+     */
+    static final class ShardStats {
+        final long count;
+        final float min;
+        final float max;
+
+        ShardStats(long count, float min, float max) {
+            this.count = count;
+            this.min = min;
+            this.max = max;
+        }
+
+        static ShardStats parse(String response) {
+            String[] parts = response.split(" ");
+            long count = Long.parseLong(parts[0]);
+            return count == 0 ? new ShardStats(0, Float.NaN, Float.NaN)
+                    : new ShardStats(count, Float.parseFloat(parts[1]), Float.parseFloat(parts[2]));
+        }
+
+        String format() {
+            return count == 0 ? "0 - -" : count + " " + min + " " + max;
+        }
+
+        ShardStats combine(ShardStats other) {
+            if (other.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                return other;
+            }
+            return new ShardStats(count + other.count,
+                    Float.compare(other.min, min) < 0 ? other.min : min,
+                    Float.compare(other.max, max) > 0 ? other.max : max);
+        }
+    }
+
+    /**
+     * З'єднання координатора з процесом-обробником сегмента.
+     */
+    static final class ShardClient implements AutoCloseable {
+        private final int index;
+        private final Process process;
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final BufferedWriter writer;
+        // Час надсилання запитів, що очікують на відповідь
+        private final ArrayDeque<Long> pendingSince = new ArrayDeque<>();
+        long requests;
+        long roundTripNanos;
+
+        private ShardClient(int index, Process process, Socket socket) throws IOException {
+            this.index = index;
+            this.process = process;
+            this.socket = socket;
+            this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        static Process launch(Path shardFile) throws IOException {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            ProcessBuilder builder = new ProcessBuilder(java, "-Dfile.encoding=UTF-8",
+                    "-cp", System.getProperty("java.class.path"), PartitionedEngine.class.getName(),
+                    WORKER_OPTION, shardFile.toString());
+            builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+            return builder.start();
+        }
+
+        /**
+         * Чекає, доки обробник завантажить сегмент і повідомить порт, після чого з'єднується з ним.
+         */
+        static ShardClient connect(int index, Process process) throws IOException {
+            BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            String line = output.readLine();
+            if (line == null || !line.startsWith(PORT_PREFIX)) {
+                process.destroyForcibly();
+                throw new IOException("Обробник сегмента " + index + " не повідомив порт: " + line);
+            }
+            Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(line.substring(PORT_PREFIX.length())));
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            return new ShardClient(index, process, socket);
+        }
+
+        void send(String command) {
+            try {
+                writer.write(command);
+                writer.newLine();
+                writer.flush();
+                pendingSince.addLast(System.nanoTime());
+            } catch (IOException ioException) {
+                throw new UncheckedIOException("Сегмент " + index + ": " + ioException.getMessage(), ioException);
+            }
+        }
+
+        String receive() {
+            try {
+                String response = reader.readLine();
+                roundTripNanos += System.nanoTime() - pendingSince.removeFirst();
+                requests++;
+                if (response == null) {
+                    throw new IllegalStateException("Обробник сегмента " + index + " завершив роботу");
+                }
+                if (response.startsWith("ERROR")) {
+                    throw new IllegalStateException("Сегмент " + index + ": " + response);
+                }
+                return response;
+            } catch (IOException ioException) {
+                throw new UncheckedIOException("Сегмент " + index + ": " + ioException.getMessage(), ioException);
+            }
+        }
+
+        String request(String command) {
+            send(command);
+            return receive();
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (!socket.isClosed()) {
+                    request("SHUTDOWN");
+                    socket.close();
+                }
+            } catch (IOException | RuntimeException exception) {
+                // Обробник уже недоступний - процес буде зупинено примусово
+            }
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException interruptedException) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Процес-обробник: тримає значення одного сегмента у впорядкованому масиві й обслуговує одне з'єднання координатора.
+     */
+    static final class Worker {
+        private float[] sortedValues;
+        private long requests;
+        private long busyNanos;
+
+        private Worker(float[] sortedValues) {
+            this.sortedValues = sortedValues;
+        }
+
+        static void run(Path shardFile) {
+            Worker worker;
+            try {
+                worker = new Worker(loadSorted(shardFile));
+            } catch (IOException ioException) {
+                System.err.println("Обробник сегмента " + shardFile + ": " + ioException.getMessage());
+                return;
+            }
+            try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                // Якщо координатор не з'єднався, обробник не залишається працювати назавжди
+                serverSocket.setSoTimeout(TIMEOUT_MILLIS);
+                System.out.println(PORT_PREFIX + serverSocket.getLocalPort());
+                System.out.flush();
+                try (Socket socket = serverSocket.accept()) {
+                    socket.setTcpNoDelay(true);
+                    worker.serve(socket);
+                }
+            } catch (IOException ioException) {
+                System.err.println("Обробник сегмента " + shardFile + ": " + ioException.getMessage());
+            }
+        }
+
+        private static float[] loadSorted(Path file) throws IOException {
+            float[] values = readValues(file);
+            AdaptiveSort.sort(values);
+            return values;
+        }
+
+        /**
+         * Обробляє запити, доки координатор не закриє з'єднання або не надішле SHUTDOWN.
+         */
+        private void serve(Socket socket) throws IOException {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            String command;
+            while ((command = reader.readLine()) != null) {
+                long timeStart = System.nanoTime();
+                String response;
+                try {
+                    response = handle(command);
+                } catch (RuntimeException exception) {
+                    response = "ERROR " + exception;
+                }
+                busyNanos += System.nanoTime() - timeStart;
+                requests++;
+                writer.write(response);
+                writer.newLine();
+                writer.flush();
+                if (command.equals("SHUTDOWN")) {
+                    return;
+                }
+            }
+        }
+
+        private String handle(String command) {
+            String[] parts = command.split(" ");
+            switch (parts[0]) {
+                case "CONTAINS":
+                    return Boolean.toString(Arrays.binarySearch(sortedValues, Float.parseFloat(parts[1])) >= 0);
+                case "COUNT":
+                    float from = Float.parseFloat(parts[1]);
+                    float to = Float.parseFloat(parts[2]);
+                    return Long.toString(FloatSearch.countBetween(sortedValues, from, to));
+                case "AT":
+                    return Float.toString(sortedValues[Integer.parseInt(parts[1])]);
+                case "STATS":
+                    return (sortedValues.length == 0 ? new ShardStats(0, Float.NaN, Float.NaN)
+                            : new ShardStats(sortedValues.length, sortedValues[0], sortedValues[sortedValues.length - 1])).format();
+                case "ADD":
+                    float[] added = new float[parts.length - 1];
+                    for (int i = 1; i < parts.length; i++) {
+                        added[i - 1] = Float.parseFloat(parts[i]);
+                    }
+                    AdaptiveSort.sort(added);
+                    sortedValues = AdaptiveSort.mergeSorted(sortedValues, added);
+                    return Integer.toString(sortedValues.length);
+                case "DUMP":
+                    // Помилка запису повертається координатору як ERROR, а не лише виводиться
+                    try {
+                        writeValues(sortedValues, Paths.get(command.substring("DUMP ".length())));
+                    } catch (IOException ioException) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                    return Integer.toString(sortedValues.length);
+                case "LOAD":
+                    try {
+                        sortedValues = loadSorted(Paths.get(command.substring("LOAD ".length())));
+                    } catch (IOException ioException) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                    return Integer.toString(sortedValues.length);
+                case "METRICS":
+                    return requests + " " + busyNanos;
+                case "SHUTDOWN":
+                    return "OK";
+                default:
+                    throw new IllegalArgumentException("Невідома команда: " + parts[0]);
+            }
+        }
+    }
+}
@@ -1,16 +1,247 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 /**
  * Клас PerformanceTracker відстежує продуктивність операцій з даними.
+ * 
+ * <p>У режимі профілювання ({@code --profile}) поряд із тривалістю операції
+ * виводяться час CPU і обсяг пам'яті, виділеної поточним потоком, а також
+ * кількість і сумарний час зборок сміття за час операції. Для цього операція
+ * має починатися з {@link #startOperation()} замість {@code System.nanoTime()}.
+ * Операції можуть бути вкладеними: знімки початку зберігаються в стеку потоку.</p>
+ *
+ * <p>Назву операції, яку потрібно складати з кількох частин, варто передавати як
+ * {@link Supplier}: вона обчислюється вже після фіксації часу завершення.</p>
  */
 public class PerformanceTracker {
+    private static final ThreadLocal<ArrayDeque<ResourceSnapshot>> OPERATION_STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+    // Обмеження стеку на випадок операцій, для яких час так і не було виведено
+    private static final int MAX_OPEN_OPERATIONS = 256;
+    // Час запуску, переданий скриптом запуску (мс від епохи), точніший за час старту процесу з ОС
+    private static final String LAUNCH_TIME_PROPERTY = "startup.launchMillis";
+
+    private static volatile boolean profilingEnabled;
+    private static boolean firstResultReported;
+
+    /**
+     * MXBean-и завантажуються лише в режимі профілювання: ініціалізація java.lang.management
+     * помітно подовжує запуск JVM, а без --profile вони не потрібні.
+     */
+    private static final class Beans {
+        static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+        static final List<GarbageCollectorMXBean> GC_BEANS = ManagementFactory.getGarbageCollectorMXBeans();
+    }
+
+    /**
+     * Знімок лічильників ресурсів: час, CPU і виділена пам'ять поточного потоку, зборки сміття JVM.
+     * Значення -1 означає, що лічильник не підтримується JVM.
+     */
+    static final class ResourceSnapshot {
+        final long wallNanos;
+        final long cpuNanos;
+        final long allocatedBytes;
+        final long gcCount;
+        final long gcMillis;
+
+        private ResourceSnapshot(long wallNanos, long cpuNanos, long allocatedBytes, long gcCount, long gcMillis) {
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        static ResourceSnapshot take() {
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean gcBean : Beans.GC_BEANS) {
+                gcCount += Math.max(0, gcBean.getCollectionCount());
+                gcMillis += Math.max(0, gcBean.getCollectionTime());
+            }
+            ThreadMXBean threadBean = Beans.THREAD_BEAN;
+            long allocatedBytes = threadBean instanceof com.sun.management.ThreadMXBean
+                    ? ((com.sun.management.ThreadMXBean) threadBean).getCurrentThreadAllocatedBytes() : -1;
+            long cpuNanos = threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+            // Час знімається останнім, щоб читання лічильників не потрапило до виміру
+            return new ResourceSnapshot(System.nanoTime(), cpuNanos, allocatedBytes, gcCount, gcMillis);
+        }
+
+        /**
+         * Описує різницю між цим (кінцевим) і початковим знімком.
+         */
+        String describeSince(ResourceSnapshot start) {
+            StringBuilder description = new StringBuilder();
+            if (cpuNanos >= 0 && start.cpuNanos >= 0) {
+                description.append("CPU ").append(cpuNanos - start.cpuNanos).append(" нс, ");
+            }
+            if (allocatedBytes >= 0 && start.allocatedBytes >= 0) {
+                description.append("виділено ").append(allocatedBytes - start.allocatedBytes).append(" Б, ");
+            }
+            description.append("GC ").append(gcCount - start.gcCount).append(" зборок / ")
+                    .append(gcMillis - start.gcMillis).append(" мс");
+            return description.toString();
+        }
+    }
+
+    /**
+     * Вмикає або вимикає вимірювання CPU, виділеної пам'яті та зборок сміття.
+     */
+    public static void setProfilingEnabled(boolean enabled) {
+        if (enabled && Beans.THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+            ((com.sun.management.ThreadMXBean) Beans.THREAD_BEAN).setThreadAllocatedMemoryEnabled(true);
+        }
+        if (enabled && Beans.THREAD_BEAN.isCurrentThreadCpuTimeSupported()) {
+            Beans.THREAD_BEAN.setThreadCpuTimeEnabled(true);
+        }
+        profilingEnabled = enabled;
+    }
+
+    public static boolean isProfilingEnabled() {
+        return profilingEnabled;
+    }
+
+    /**
+     * Обробляє параметри профілювання командного рядка: {@code --profile}, {@code --jfr}, {@code --jfr=каталог}.
+     * Запис JFR вмикає також профілювання.
+     * 
+     * @param argument Аргумент командного рядка.
+     * @return true, якщо аргумент розпізнано.
+     */
+    public static boolean applyOption(String argument) {
+        if (argument.equals("--profile")) {
+            setProfilingEnabled(true);
+            return true;
+        }
+        if (argument.equals("--jfr") || argument.startsWith("--jfr=")) {
+            setProfilingEnabled(true);
+            PhaseProfiler.enableFlightRecording(argument.startsWith("--jfr=") ? argument.substring("--jfr=".length()) : PhaseProfiler.DEFAULT_JFR_DIRECTORY);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Позначає початок операції. У режимі профілювання додає знімок лічильників до стеку поточного потоку.
+     * 
+     * @return Початковий час операції в наносекундах, як {@code System.nanoTime()}.
+     */
+    public static long startOperation() {
+        if (!profilingEnabled) {
+            return System.nanoTime();
+        }
+        ResourceSnapshot snapshot = ResourceSnapshot.take();
+        ArrayDeque<ResourceSnapshot> starts = OPERATION_STARTS.get();
+        if (starts.size() == MAX_OPEN_OPERATIONS) {
+            starts.removeLast();
+        }
+        starts.push(snapshot);
+        return snapshot.wallNanos;
+    }
+
     /**
      * Відображає тривалість виконання операції в наносекундах.
+     * Якщо операцію розпочато через {@link #startOperation()} у режимі профілювання,
+     * додатково виводяться CPU, виділена пам'ять і зборки сміття.
      * 
      * @param startTime Початковий час операції в наносекундах.
      * @param operationName Назва операції.
      */
     public static void displayOperationTime(long startTime, String operationName) {
         long finishTime = System.nanoTime();
-        long executionTime = (finishTime - startTime);
-        System.out.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс =========");
+        String resources = describeResourcesSince(startTime);
+        printOperationTime(operationName, finishTime - startTime, resources);
+    }
+
+    /**
+     * Відображає тривалість виконання операції, назва якої обчислюється після завершення вимірювання.
+     * 
+     * @param startTime Початковий час операції в наносекундах.
+     * @param operationName Постачальник назви операції.
+     */
+    public static void displayOperationTime(long startTime, Supplier<String> operationName) {
+        long finishTime = System.nanoTime();
+        String resources = describeResourcesSince(startTime);
+        printOperationTime(operationName.get(), finishTime - startTime, resources);
+    }
+
+    /**
+     * Знімає зі стеку потоку знімок операції з заданим часом початку і описує витрачені ресурси.
+     * Знімки над ним належать вкладеним операціям, час яких не виводився, і теж знімаються.
+     * 
+     * @return Опис ресурсів або null, якщо профілювання вимкнене чи знімок не знайдено.
+     */
+    private static String describeResourcesSince(long startTime) {
+        if (!profilingEnabled) {
+            return null;
+        }
+        ArrayDeque<ResourceSnapshot> starts = OPERATION_STARTS.get();
+        int depth = 0;
+        for (Iterator<ResourceSnapshot> iterator = starts.iterator(); iterator.hasNext(); depth++) {
+            if (iterator.next().wallNanos == startTime) {
+                ResourceSnapshot finish = ResourceSnapshot.take();
+                for (int i = 0; i < depth; i++) {
+                    starts.pop();
+                }
+                return finish.describeSince(starts.pop());
+            }
+        }
+        return null;
+    }
+
+    private static void printOperationTime(String operationName, long executionTime, String resources) {
+        if (resources != null) {
+            ReportSink.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс (" + resources + ") =========");
+            return;
+        }
+        ReportSink.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс =========");
+    }
+
+    /**
+     * Один раз за запуск виводить час від старту JVM до першого результату.
+     * Час старту береться з властивості {@code -Dstartup.launchMillis} (мс від епохи), яку
+     * встановлює скрипт startup-benchmark.sh, або з часу створення процесу.
+     * 
+     * @param resultName Назва першого отриманого результату.
+     */
+    public static synchronized void displayTimeToFirstResult(String resultName) {
+        if (firstResultReported) {
+            return;
+        }
+        firstResultReported = true;
+        long launchMillis;
+        String launchProperty = System.getProperty(LAUNCH_TIME_PROPERTY);
+        if (launchProperty != null) {
+            launchMillis = Long.parseLong(launchProperty);
+        } else {
+            Optional<Instant> processStart = ProcessHandle.current().info().startInstant();
+            if (!processStart.isPresent()) {
+                return;
+            }
+            launchMillis = processStart.get().toEpochMilli();
+        }
+        ReportSink.println("\n========= Час до першого результату ('" + resultName + "'): "
+                + (System.currentTimeMillis() - launchMillis) + " мс від запуску JVM =========");
+    }
+
+    /**
+     * Відображає статистику кешу: влучання, промахи, витіснення та частку влучань.
+     * 
+     * @param cacheName Назва кешу.
+     * @param hits Кількість влучань.
+     * @param misses Кількість промахів.
+     * @param evictions Кількість витіснених записів.
+     */
+    public static void displayCacheStatistics(String cacheName, long hits, long misses, long evictions) {
+        long requests = hits + misses;
+        double hitRatio = requests == 0 ? 0.0 : 100.0 * hits / requests;
+        ReportSink.println("\n========= Кеш '" + cacheName + "': влучань " + hits + ", промахів " + misses
+                + ", витіснень " + evictions + String.format(", частка влучань %.1f%%", hitRatio) + " =========");
     }
 }
\ No newline at end of file
@@ -0,0 +1,381 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Клас PetDataFileHandler управляє роботою з файлами записів Pet -> власник.
+ *
+ * <p>Формат файлу аналогічний файлам у каталозі list/: один запис у рядку,
+ * можливий BOM на початку, порожні рядки ігноруються. Поля запису розділяються
+ * символом ';':</p>
+ * <pre>
+ * кличка;вид;власник
+ * </pre>
+ * <p>Порожнє поле виду відповідає Pet без виду.</p>
+ *
+ * <p>Завантаження розділене на фази (читання, розбір, побудова Map), тривалість
+ * кожної фази виводиться через {@link PerformanceTracker}.</p>
+ */
+public class PetDataFileHandler {
+    static final char FIELD_SEPARATOR = ';';
+
+    /**
+     * Результат розбору файлу: паралельні масиви ключів і значень у порядку рядків файлу.
+     */
+    static final class PetRecords {
+        final BasicDataOperationUsingMap.Pet[] pets;
+        final String[] owners;
+
+        PetRecords(BasicDataOperationUsingMap.Pet[] pets, String[] owners) {
+            this.pets = pets;
+            this.owners = owners;
+        }
+
+        int size() {
+            return pets.length;
+        }
+    }
+
+    /**
+     * Завантажує записи Pet -> власник з файлу.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param parallel Чи розбирати рядки паралельно.
+     * @return Розібрані записи у порядку рядків файлу.
+     */
+    public static PetRecords loadRecordsFromFile(String filePath, boolean parallel) {
+        long timeStart = PerformanceTracker.startOperation();
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader fileReader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            String currentLine;
+            while ((currentLine = fileReader.readLine()) != null) {
+                lines.add(currentLine);
+            }
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+        }
+
+        PerformanceTracker.displayOperationTime(timeStart, "читання файлу записів Pet");
+
+        timeStart = PerformanceTracker.startOperation();
+
+        int count = lines.size();
+        BasicDataOperationUsingMap.Pet[] pets = new BasicDataOperationUsingMap.Pet[count];
+        String[] owners = new String[count];
+        IntStream indexes = IntStream.range(0, count);
+        if (parallel) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> parseLine(lines.get(i), i, pets, owners));
+        PetRecords records = dropEmptyLines(pets, owners);
+
+        PerformanceTracker.displayOperationTime(timeStart, parallel ? "паралельний розбір записів Pet" : "послідовний розбір записів Pet");
+        printLoadRate(records.size(), timeStart);
+
+        return records;
+    }
+
+    /**
+     * Очищає сирий рядок файлу і розбирає його; порожні рядки залишають null у масивах.
+     * BOM може стояти лише на початку файлу, тому перевіряється тільки перший рядок.
+     */
+    private static void parseLine(String line, int index, BasicDataOperationUsingMap.Pet[] pets, String[] owners) {
+        if (index == 0 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+            line = line.substring(1);
+        }
+        line = line.trim();
+        if (!line.isEmpty()) {
+            parseRecord(line, index, pets, owners);
+        }
+    }
+
+    /**
+     * Прибирає позиції порожніх рядків, зберігаючи порядок записів.
+     * Якщо порожніх рядків не було, масиви використовуються без копіювання.
+     */
+    private static PetRecords dropEmptyLines(BasicDataOperationUsingMap.Pet[] pets, String[] owners) {
+        int size = 0;
+        for (int i = 0; i < pets.length; i++) {
+            if (pets[i] != null) {
+                pets[size] = pets[i];
+                owners[size] = owners[i];
+                size++;
+            }
+        }
+        if (size == pets.length) {
+            return new PetRecords(pets, owners);
+        }
+        return new PetRecords(Arrays.copyOf(pets, size), Arrays.copyOf(owners, size));
+    }
+
+    /**
+     * Створює Hashtable з записів, заздалегідь задаючи місткість без перехешування.
+     *
+     * @param records Розібрані записи.
+     * @return Hashtable з усіма записами (пізніший запис з тим самим ключем перекриває попередній).
+     */
+    public static Hashtable<BasicDataOperationUsingMap.Pet, String> buildHashtable(PetRecords records) {
+        long timeStart = PerformanceTracker.startOperation();
+
+        // Коефіцієнт заповнення Hashtable за замовчуванням - 0.75
+        Hashtable<BasicDataOperationUsingMap.Pet, String> hashtable = new Hashtable<>(records.size() * 4 / 3 + 1);
+        for (int i = 0; i < records.size(); i++) {
+            hashtable.put(records.pets[i], records.owners[i]);
+        }
+
+        PerformanceTracker.displayOperationTime(timeStart, "побудова Hashtable із записів Pet");
+
+        return hashtable;
+    }
+
+    /**
+     * Створює TreeMap з записів.
+     *
+     * Якщо записи вже впорядковані за ключами, дерево будується за O(n) через
+     * конструктор TreeMap(SortedMap). Інакше записи спочатку сортуються.
+     *
+     * @param records Розібрані записи.
+     * @param parallel Чи сортувати невпорядковані записи паралельно.
+     * @return TreeMap з усіма записами (пізніший запис з тим самим ключем перекриває попередній).
+     */
+    public static TreeMap<BasicDataOperationUsingMap.Pet, String> buildTreeMap(PetRecords records, boolean parallel) {
+        long timeStart = PerformanceTracker.startOperation();
+
+        List<Map.Entry<BasicDataOperationUsingMap.Pet, String>> entries = new ArrayList<>(records.size());
+        boolean sorted = true;
+        for (int i = 0; i < records.size(); i++) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(records.pets[i], records.owners[i]));
+            if (i > 0 && records.pets[i - 1].compareTo(records.pets[i]) >= 0) {
+                sorted = false;
+            }
+        }
+
+        if (!sorted) {
+            // Обидва сортування стабільні, тому серед однакових ключів останнім залишається пізніший запис
+            Comparator<Map.Entry<BasicDataOperationUsingMap.Pet, String>> byKey = Map.Entry.comparingByKey();
+            if (parallel) {
+                entries = entries.parallelStream().sorted(byKey).collect(Collectors.toList());
+            } else {
+                entries.sort(byKey);
+            }
+        }
+
+        TreeMap<BasicDataOperationUsingMap.Pet, String> treeMap = new TreeMap<>(new SortedEntries(entries, 0, dropDuplicateKeys(entries)));
+
+        PerformanceTracker.displayOperationTime(timeStart, sorted ? "побудова TreeMap із впорядкованих записів Pet" : "побудова TreeMap із невпорядкованих записів Pet");
+
+        return treeMap;
+    }
+
+    /**
+     * Зберігає записи Map у файл у форматі кличка;вид;власник.
+     *
+     * @param map Map з записами.
+     * @param filePath Шлях до файлу для збереження.
+     */
+    public static void writeRecordsToFile(Map<BasicDataOperationUsingMap.Pet, String> map, String filePath) {
+        try (BufferedWriter fileWriter = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            for (Map.Entry<BasicDataOperationUsingMap.Pet, String> entry : map.entrySet()) {
+                BasicDataOperationUsingMap.Pet pet = entry.getKey();
+                fileWriter.write(pet.getNickname());
+                fileWriter.write(FIELD_SEPARATOR);
+                if (pet.getSpecies() != null) {
+                    fileWriter.write(pet.getSpecies());
+                }
+                fileWriter.write(FIELD_SEPARATOR);
+                fileWriter.write(entry.getValue());
+                fileWriter.newLine();
+            }
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+        }
+    }
+
+    /**
+     * Розбирає один рядок запису та записує результат у масиви за вказаним індексом.
+     */
+    private static void parseRecord(String line, int index, BasicDataOperationUsingMap.Pet[] pets, String[] owners) {
+        int firstSeparator = line.indexOf(FIELD_SEPARATOR);
+        int secondSeparator = firstSeparator < 0 ? -1 : line.indexOf(FIELD_SEPARATOR, firstSeparator + 1);
+        if (secondSeparator < 0) {
+            throw new IllegalArgumentException("Невірний формат запису Pet у рядку " + (index + 1) + ": " + line);
+        }
+
+        String nickname = line.substring(0, firstSeparator);
+        String species = secondSeparator == firstSeparator + 1 ? null : line.substring(firstSeparator + 1, secondSeparator);
+        pets[index] = new BasicDataOperationUsingMap.Pet(nickname, species);
+        owners[index] = line.substring(secondSeparator + 1);
+    }
+
+    /**
+     * Ущільнює впорядкований масив, залишаючи для кожного ключа лише останній запис.
+     *
+     * @return кількість записів після ущільнення
+     */
+    private static int dropDuplicateKeys(List<Map.Entry<BasicDataOperationUsingMap.Pet, String>> entries) {
+        int size = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (size > 0 && entries.get(size - 1).getKey().equals(entries.get(i).getKey())) {
+                entries.set(size - 1, entries.get(i));
+            } else {
+                entries.set(size++, entries.get(i));
+            }
+        }
+        return size;
+    }
+
+    private static void printLoadRate(int count, long timeStart) {
+        long executionTime = Math.max(1, System.nanoTime() - timeStart);
+        ReportSink.println("Розібрано записів: " + count + " (" + (count * 1_000_000_000L / executionTime) + " записів/с)");
+    }
+
+    /**
+     * Незмінне подання впорядкованого списку записів без повторів ключів як SortedMap.
+     *
+     * Конструктор TreeMap(SortedMap) використовує comparator(), size() та ітератор
+     * entrySet(), будуючи збалансоване дерево за O(n). Пошук за ключем і діапазонні
+     * подання (subMap, headMap, tailMap) працюють двійковим пошуком над тим самим
+     * списком без копіювання; межі діапазонів обмежуються межами поточного подання.
+     */
+    private static final class SortedEntries extends AbstractMap<BasicDataOperationUsingMap.Pet, String>
+            implements SortedMap<BasicDataOperationUsingMap.Pet, String> {
+        private final List<Map.Entry<BasicDataOperationUsingMap.Pet, String>> entries;
+        private final int from;
+        private final int to;
+
+        SortedEntries(List<Map.Entry<BasicDataOperationUsingMap.Pet, String>> entries, int from, int to) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Set<Map.Entry<BasicDataOperationUsingMap.Pet, String>> entrySet() {
+            return new AbstractSet<Map.Entry<BasicDataOperationUsingMap.Pet, String>>() {
+                @Override
+                public Iterator<Map.Entry<BasicDataOperationUsingMap.Pet, String>> iterator() {
+                    return new Iterator<Map.Entry<BasicDataOperationUsingMap.Pet, String>>() {
+                        private int position = from;
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < to;
+                        }
+
+                        @Override
+                        public Map.Entry<BasicDataOperationUsingMap.Pet, String> next() {
+                            if (position >= to) {
+                                throw new NoSuchElementException();
+                            }
+                            return entries.get(position++);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return to - from;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public String get(Object key) {
+            int index = indexOf(key);
+            return index >= 0 ? entries.get(index).getValue() : null;
+        }
+
+        @Override
+        public Comparator<? super BasicDataOperationUsingMap.Pet> comparator() {
+            return null;
+        }
+
+        @Override
+        public BasicDataOperationUsingMap.Pet firstKey() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+            return entries.get(from).getKey();
+        }
+
+        @Override
+        public BasicDataOperationUsingMap.Pet lastKey() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+            return entries.get(to - 1).getKey();
+        }
+
+        @Override
+        public SortedMap<BasicDataOperationUsingMap.Pet, String> subMap(BasicDataOperationUsingMap.Pet fromKey, BasicDataOperationUsingMap.Pet toKey) {
+            if (fromKey.compareTo(toKey) > 0) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return new SortedEntries(entries, lowerBound(fromKey), lowerBound(toKey));
+        }
+
+        @Override
+        public SortedMap<BasicDataOperationUsingMap.Pet, String> headMap(BasicDataOperationUsingMap.Pet toKey) {
+            return new SortedEntries(entries, from, lowerBound(toKey));
+        }
+
+        @Override
+        public SortedMap<BasicDataOperationUsingMap.Pet, String> tailMap(BasicDataOperationUsingMap.Pet fromKey) {
+            return new SortedEntries(entries, lowerBound(fromKey), to);
+        }
+
+        /**
+         * Позиція першого запису з ключем, не меншим за key, у межах [from, to].
+         */
+        private int lowerBound(BasicDataOperationUsingMap.Pet key) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries.get(middle).getKey().compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int indexOf(Object key) {
+            if (!(key instanceof BasicDataOperationUsingMap.Pet)) {
+                return -1;
+            }
+            int index = lowerBound((BasicDataOperationUsingMap.Pet) key);
+            return index < to && entries.get(index).getKey().compareTo((BasicDataOperationUsingMap.Pet) key) == 0 ? index : -1;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Клас PetKeyBenchmark порівнює продуктивність ключів Pet у Map.
+ *
+ * <p>Порівнюються дві реалізації ключа:</p>
+ * <ul>
+ *   <li>{@link LegacyPet} - попередня реалізація, яка обчислює хеш-код при кожному виклику
+ *       і зберігає окремий рядок виду для кожної тварини;</li>
+ *   <li>{@link BasicDataOperationUsingMap.Pet} - незмінний ключ зі збереженим хеш-кодом
+ *       та канонічними рядками виду.</li>
+ * </ul>
+ *
+ * <p>Для кожної реалізації вимірюються пропускна здатність put/get у HashMap,
+ * put у TreeMap та обсяг пам'яті, зайнятої ключами.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java -Xmx2g PetKeyBenchmark 1000000 5
+ * }
+ * </pre>
+ */
+public class PetKeyBenchmark {
+    private static final String[] SPECIES = {
+        "Сова вухата", "Полярна сова", "Сова сіра", "Сипуха", "Сова болотяна",
+        "Сичик-горобець", "Сова яструбина", "Сова білолиця", "Сичик-хатник"
+    };
+
+    /**
+     * Попередня реалізація ключа Pet, збережена для порівняння.
+     */
+    static final class LegacyPet implements Comparable<LegacyPet> {
+        private final String nickname;
+        private final String species;
+
+        LegacyPet(String nickname, String species) {
+            this.nickname = nickname;
+            this.species = species;
+        }
+
+        @Override
+        public int compareTo(LegacyPet other) {
+            if (other == null) return 1;
+            int nicknameComparison;
+            if (this.nickname == null && other.nickname == null) {
+                nicknameComparison = 0;
+            } else if (this.nickname == null) {
+                nicknameComparison = -1;
+            } else if (other.nickname == null) {
+                nicknameComparison = 1;
+            } else {
+                nicknameComparison = this.nickname.compareTo(other.nickname);
+            }
+            if (nicknameComparison != 0) {
+                return nicknameComparison;
+            }
+            if (this.species == null && other.species == null) return 0;
+            if (this.species == null) return 1;
+            if (other.species == null) return -1;
+            return other.species.compareTo(this.species);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            LegacyPet pet = (LegacyPet) obj;
+            boolean nicknameEquals = nickname != null ? nickname.equals(pet.nickname) : pet.nickname == null;
+            boolean speciesEquals = species != null ? species.equals(pet.species) : pet.species == null;
+            return nicknameEquals && speciesEquals;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = nickname != null ? nickname.hashCode() : 0;
+            result = 31 * result + (species != null ? species.hashCode() : 0);
+            return result;
+        }
+    }
+
+    /**
+     * Фабрика ключів, яка імітує розбір рядків з файлу: кожен рядок виду - новий об'єкт.
+     */
+    interface KeyFactory<K> {
+        K create(String nickname, String species);
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        ReportSink.println("Кількість ключів: " + count + ", раундів: " + rounds);
+
+        runScenario("LegacyPet", count, rounds, LegacyPet::new);
+        runScenario("Pet", count, rounds, BasicDataOperationUsingMap.Pet::new);
+        ReportSink.flush();
+    }
+
+    /**
+     * Виконує вимірювання для однієї реалізації ключа та виводить результати.
+     */
+    private static <K extends Comparable<K>> void runScenario(String name, int count, int rounds, KeyFactory<K> factory) {
+        ReportSink.println("\n========= " + name + " =========");
+
+        long memoryBefore = usedMemory();
+        Object[] keys = createKeys(count, factory);
+        long memoryAfter = usedMemory();
+        ReportSink.println("Пам'ять, зайнята ключами: " + (memoryAfter - memoryBefore) / 1024 + " КБ");
+
+        long bestPut = Long.MAX_VALUE;
+        long bestGet = Long.MAX_VALUE;
+        long bestTreePut = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            Map<K, String> hashMap = new HashMap<>(count * 4 / 3 + 1);
+
+            long timeStart = System.nanoTime();
+            for (Object key : keys) {
+                hashMap.put(cast(key), "власник");
+            }
+            bestPut = Math.min(bestPut, System.nanoTime() - timeStart);
+
+            int hits = 0;
+            timeStart = System.nanoTime();
+            for (Object key : keys) {
+                if (hashMap.get(cast(key)) != null) {
+                    hits++;
+                }
+            }
+            bestGet = Math.min(bestGet, System.nanoTime() - timeStart);
+
+            Map<K, String> treeMap = new TreeMap<>();
+            timeStart = System.nanoTime();
+            for (Object key : keys) {
+                treeMap.put(cast(key), "власник");
+            }
+            bestTreePut = Math.min(bestTreePut, System.nanoTime() - timeStart);
+
+            if (hits != keys.length || treeMap.size() != hashMap.size()) {
+                throw new IllegalStateException("Невідповідність розміру Map для " + name);
+            }
+        }
+
+        printThroughput("HashMap.put", count, bestPut);
+        printThroughput("HashMap.get", count, bestGet);
+        printThroughput("TreeMap.put", count, bestTreePut);
+    }
+
+    private static <K> Object[] createKeys(int count, KeyFactory<K> factory) {
+        Object[] keys = new Object[count];
+        for (int i = 0; i < count; i++) {
+            // new String імітує окремі рядки, отримані під час розбору файлу
+            keys[i] = factory.create("Тварина-" + i, new String(SPECIES[i % SPECIES.length]));
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K cast(Object key) {
+        return (K) key;
+    }
+
+    private static void printThroughput(String operationName, int count, long nanos) {
+        double operationsPerSecond = count * 1_000_000_000.0 / nanos;
+        ReportSink.println(String.format("%-12s %,14d нс  %,16.0f оп/с", operationName, nanos, operationsPerSecond));
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
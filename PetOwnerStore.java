@@ -0,0 +1,400 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Клас PetOwnerStore зберігає записи Pet -> власник на диску.
+ *
+ * <p>Сховище складається з двох файлів у вказаному каталозі:</p>
+ * <ul>
+ *   <li>{@code pets.log} - журнал змін лише на дозапис. Кожен запис містить довжину,
+ *       контрольну суму CRC32 та операцію put/remove. Записи накопичуються в буфері
+ *       і скидаються на диск з fsync групами ({@link #groupCommitSize} операцій або
+ *       явний виклик {@link #sync()}).</li>
+ *   <li>{@code pets.snapshot} - компактний двійковий знімок усієї Map. Рядки видів
+ *       записуються один раз у словник, а записи посилаються на них за індексом.
+ *       Знімок створюється кожні {@link #snapshotInterval} змін; після створення
+ *       знімка журнал очищується.</li>
+ * </ul>
+ *
+ * <p>Відновлення ({@link #recover(Map)}) завантажує знімок і повторює хвіст журналу.
+ * Пошкоджений або недописаний останній запис журналу відкидається.</p>
+ */
+public class PetOwnerStore implements Closeable {
+    private static final String LOG_FILE_NAME = "pets.log";
+    private static final String SNAPSHOT_FILE_NAME = "pets.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x50455453; // "PETS"
+    private static final byte OPERATION_PUT = 1;
+    private static final byte OPERATION_REMOVE = 2;
+    private static final int NO_SPECIES = -1;
+    // Запис містить три рядки writeUTF (до 64 КБ кожен) та кілька службових байтів
+    private static final int MAX_RECORD_SIZE = 3 * (Short.MAX_VALUE * 2 + 4) + 8;
+
+    private final Path logPath;
+    private final Path snapshotPath;
+    private final int groupCommitSize;
+    private final int snapshotInterval;
+
+    private FileChannel logChannel;
+    private DataOutputStream logOutput;
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(64);
+    private final DataOutputStream recordOutput = new DataOutputStream(recordBuffer);
+    private final CRC32 checksum = new CRC32();
+
+    private int pendingOperations;
+    private int operationsSinceSnapshot;
+
+    /**
+     * Відкриває сховище у каталозі, створюючи його за потреби.
+     *
+     * @param directory Каталог сховища.
+     * @param groupCommitSize Кількість операцій, після якої виконується fsync журналу.
+     * @param snapshotInterval Кількість змін між знімками.
+     */
+    public PetOwnerStore(String directory, int groupCommitSize, int snapshotInterval) {
+        if (groupCommitSize < 1 || snapshotInterval < 1) {
+            throw new IllegalArgumentException("Розмір групи та інтервал знімків мають бути додатними");
+        }
+        Path storeDirectory = Paths.get(directory);
+        this.logPath = storeDirectory.resolve(LOG_FILE_NAME);
+        this.snapshotPath = storeDirectory.resolve(SNAPSHOT_FILE_NAME);
+        this.groupCommitSize = groupCommitSize;
+        this.snapshotInterval = snapshotInterval;
+        try {
+            Files.createDirectories(storeDirectory);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * Перевіряє, чи містить сховище збережені дані.
+     *
+     * @return true, якщо існує знімок або журнал
+     */
+    public boolean exists() {
+        return Files.exists(snapshotPath) || Files.exists(logPath);
+    }
+
+    /**
+     * Відновлює стан сховища в порожню Map: завантажує знімок і повторює журнал.
+     * Після відновлення журнал відкривається для дозапису.
+     *
+     * @param target Map, у яку завантажуються записи.
+     */
+    public synchronized void recover(Map<BasicDataOperationUsingMap.Pet, String> target) {
+        long timeStart = PerformanceTracker.startOperation();
+
+        int snapshotRecords = loadSnapshot(target);
+
+        PerformanceTracker.displayOperationTime(timeStart, "завантаження знімка сховища Pet");
+        timeStart = PerformanceTracker.startOperation();
+
+        int logRecords = replayLog(target);
+
+        PerformanceTracker.displayOperationTime(timeStart, "повторення журналу сховища Pet");
+        ReportSink.println("Відновлено записів зі знімка: " + snapshotRecords + ", операцій з журналу: " + logRecords);
+
+        operationsSinceSnapshot = logRecords;
+        openLog();
+    }
+
+    /**
+     * Записує операцію put до журналу.
+     *
+     * @param pet Ключ запису.
+     * @param owner Нове значення запису.
+     */
+    public synchronized void logPut(BasicDataOperationUsingMap.Pet pet, String owner) {
+        try {
+            recordOutput.writeByte(OPERATION_PUT);
+            writePet(recordOutput, pet);
+            recordOutput.writeUTF(owner);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        appendRecord();
+    }
+
+    /**
+     * Записує операцію remove до журналу.
+     *
+     * @param pet Ключ видаленого запису.
+     */
+    public synchronized void logRemove(BasicDataOperationUsingMap.Pet pet) {
+        try {
+            recordOutput.writeByte(OPERATION_REMOVE);
+            writePet(recordOutput, pet);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        appendRecord();
+    }
+
+    /**
+     * Створює знімок, якщо з моменту попереднього накопичилось достатньо змін.
+     *
+     * @param source Поточний стан Map.
+     */
+    public synchronized void snapshotIfDue(Map<BasicDataOperationUsingMap.Pet, String> source) {
+        if (operationsSinceSnapshot >= snapshotInterval) {
+            snapshot(source);
+        }
+    }
+
+    /**
+     * Записує знімок усієї Map і очищує журнал.
+     *
+     * Знімок спочатку записується у тимчасовий файл і лише після fsync атомарно
+     * замінює попередній, тому збій під час запису не пошкоджує наявний знімок.
+     * Якщо збій станеться до очищення журналу, повторення вже врахованих операцій
+     * дає той самий стан, бо кожна операція задає остаточне значення ключа.
+     *
+     * @param source Поточний стан Map.
+     */
+    public synchronized void snapshot(Map<BasicDataOperationUsingMap.Pet, String> source) {
+        long timeStart = PerformanceTracker.startOperation();
+
+        Path temporaryPath = snapshotPath.resolveSibling(SNAPSHOT_FILE_NAME + ".tmp");
+        try (FileOutputStream fileOutput = new FileOutputStream(temporaryPath.toFile());
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutput, 1 << 16))) {
+            // Словник видів: кожен унікальний вид записується один раз
+            Map<String, Integer> speciesIndex = new HashMap<>();
+            List<String> speciesDictionary = new ArrayList<>();
+            for (BasicDataOperationUsingMap.Pet pet : source.keySet()) {
+                String species = pet.getSpecies();
+                if (species != null && !speciesIndex.containsKey(species)) {
+                    speciesIndex.put(species, speciesDictionary.size());
+                    speciesDictionary.add(species);
+                }
+            }
+
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeInt(speciesDictionary.size());
+            for (String species : speciesDictionary) {
+                output.writeUTF(species);
+            }
+            output.writeInt(source.size());
+            for (Map.Entry<BasicDataOperationUsingMap.Pet, String> entry : source.entrySet()) {
+                BasicDataOperationUsingMap.Pet pet = entry.getKey();
+                output.writeUTF(pet.getNickname());
+                output.writeInt(pet.getSpecies() == null ? NO_SPECIES : speciesIndex.get(pet.getSpecies()));
+                output.writeUTF(entry.getValue());
+            }
+            output.flush();
+            fileOutput.getFD().sync();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+
+        try {
+            Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Перейменування стає стійким лише після fsync каталогу; до цього журнал ще потрібен
+            try (FileChannel directory = FileChannel.open(snapshotPath.getParent(), StandardOpenOption.READ)) {
+                directory.force(true);
+            }
+            truncateLog();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        operationsSinceSnapshot = 0;
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "створення знімка сховища Pet (" + source.size() + " записів)");
+    }
+
+    /**
+     * Скидає накопичені записи журналу на диск з fsync.
+     */
+    public synchronized void sync() {
+        if (logOutput == null || pendingOperations == 0) {
+            return;
+        }
+        try {
+            logOutput.flush();
+            logChannel.force(false);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        pendingOperations = 0;
+    }
+
+    /**
+     * Фіксує незбережені записи та закриває журнал.
+     */
+    @Override
+    public synchronized void close() {
+        sync();
+        if (logOutput != null) {
+            try {
+                logOutput.close();
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            logOutput = null;
+            logChannel = null;
+        }
+    }
+
+    private void appendRecord() {
+        if (logOutput == null) {
+            openLog();
+        }
+        checksum.reset();
+        checksum.update(recordBuffer.toByteArray(), 0, recordBuffer.size());
+        try {
+            logOutput.writeInt(recordBuffer.size());
+            logOutput.writeInt((int) checksum.getValue());
+            recordBuffer.writeTo(logOutput);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        recordBuffer.reset();
+
+        operationsSinceSnapshot++;
+        if (++pendingOperations >= groupCommitSize) {
+            sync();
+        }
+    }
+
+    private void openLog() {
+        if (logOutput != null) {
+            return;
+        }
+        try {
+            logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            logOutput = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(logChannel), 1 << 16));
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private void truncateLog() throws IOException {
+        if (logOutput != null) {
+            logOutput.flush();
+            logChannel.truncate(0);
+            logChannel.force(false);
+            pendingOperations = 0;
+        } else {
+            Files.deleteIfExists(logPath);
+        }
+    }
+
+    private int loadSnapshot(Map<BasicDataOperationUsingMap.Pet, String> target) {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16))) {
+            if (input.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Невірний формат знімка: " + snapshotPath);
+            }
+            String[] speciesDictionary = new String[input.readInt()];
+            for (int i = 0; i < speciesDictionary.length; i++) {
+                speciesDictionary[i] = input.readUTF();
+            }
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                String nickname = input.readUTF();
+                int speciesIndex = input.readInt();
+                String owner = input.readUTF();
+                String species = speciesIndex == NO_SPECIES ? null : speciesDictionary[speciesIndex];
+                target.put(new BasicDataOperationUsingMap.Pet(nickname, species), owner);
+            }
+            return count;
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private int replayLog(Map<BasicDataOperationUsingMap.Pet, String> target) {
+        if (!Files.exists(logPath)) {
+            return 0;
+        }
+        int replayed = 0;
+        long validLength = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(logPath), 1 << 16))) {
+            while (true) {
+                byte[] payload;
+                int expectedChecksum;
+                try {
+                    int length = input.readInt();
+                    if (length <= 0 || length > MAX_RECORD_SIZE) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    expectedChecksum = input.readInt();
+                    input.readFully(payload);
+                } catch (EOFException endOfLog) {
+                    break;
+                }
+                checksum.reset();
+                checksum.update(payload, 0, payload.length);
+                if ((int) checksum.getValue() != expectedChecksum) {
+                    break;
+                }
+                applyRecord(payload, target);
+                replayed++;
+                validLength += Integer.BYTES * 2 + payload.length;
+            }
+        } catch (IOException corruptedTail) {
+            // Пошкоджений хвіст журналу відкидається нижче
+        }
+
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+            if (channel.size() > validLength) {
+                ReportSink.println("Відкинуто пошкоджений хвіст журналу: " + (channel.size() - validLength) + " байт");
+                channel.truncate(validLength);
+                channel.force(false);
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return replayed;
+    }
+
+    private static void applyRecord(byte[] payload, Map<BasicDataOperationUsingMap.Pet, String> target) throws IOException {
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+        byte operation = record.readByte();
+        BasicDataOperationUsingMap.Pet pet = readPet(record);
+        if (operation == OPERATION_PUT) {
+            target.put(pet, record.readUTF());
+        } else if (operation == OPERATION_REMOVE) {
+            target.remove(pet);
+        } else {
+            throw new IOException("Невідома операція журналу: " + operation);
+        }
+    }
+
+    private static void writePet(DataOutputStream output, BasicDataOperationUsingMap.Pet pet) throws IOException {
+        output.writeUTF(pet.getNickname());
+        output.writeBoolean(pet.getSpecies() != null);
+        if (pet.getSpecies() != null) {
+            output.writeUTF(pet.getSpecies());
+        }
+    }
+
+    private static BasicDataOperationUsingMap.Pet readPet(DataInputStream input) throws IOException {
+        String nickname = input.readUTF();
+        String species = input.readBoolean() ? input.readUTF() : null;
+        return new BasicDataOperationUsingMap.Pet(nickname, species);
+    }
+}
@@ -0,0 +1,150 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Клас PhaseProfiler вимірює ресурси, витрачені на фазу обробки (наприклад, роботу одного BasicDataOperationUsing*).
+ *
+ * <p>У режимі профілювання після завершення фази виводяться тривалість, час CPU,
+ * пам'ять, виділена потоком фази, та зборки сміття. Якщо увімкнено запис JFR
+ * ({@code --jfr}), для кожної фази створюється окремий файл {@code <каталог>/<фаза>.jfr}
+ * з налаштуваннями "profile", а у звіт додається підсумок запису: паузи GC та
+ * класи з найбільшою часткою вибірки виділень пам'яті.</p>
+ *
+ * <pre>
+ * {@code
+ * PhaseProfiler.Phase phase = PhaseProfiler.begin("BasicDataOperationUsingList");
+ * try {
+ *     listProcessor.executeDataOperations();
+ * } finally {
+ *     phase.close();
+ * }
+ * }
+ * </pre>
+ */
+public class PhaseProfiler {
+    static final String DEFAULT_JFR_DIRECTORY = "jfr";
+    private static final int TOP_ALLOCATION_CLASSES = 3;
+
+    private static volatile String jfrDirectory;
+
+    /**
+     * Вмикає запис JFR для кожної фази.
+     *
+     * @param directory Каталог для файлів записів.
+     */
+    static void enableFlightRecording(String directory) {
+        jfrDirectory = directory;
+    }
+
+    /**
+     * Розпочинає фазу. Якщо профілювання вимкнене, фаза нічого не вимірює.
+     *
+     * @param phaseName Назва фази, використовується також як ім'я файлу JFR.
+     * @return Фаза, яку слід закрити після завершення обробки.
+     */
+    public static Phase begin(String phaseName) {
+        return new Phase(phaseName);
+    }
+
+    /**
+     * Фаза обробки, що вимірюється від створення до закриття.
+     */
+    static final class Phase implements AutoCloseable {
+        private final String name;
+        private final PerformanceTracker.ResourceSnapshot start;
+        private final Recording recording;
+
+        private Phase(String name) {
+            this.name = name;
+            this.recording = PerformanceTracker.isProfilingEnabled() && jfrDirectory != null ? startRecording(name) : null;
+            this.start = PerformanceTracker.isProfilingEnabled() ? PerformanceTracker.ResourceSnapshot.take() : null;
+        }
+
+        @Override
+        public void close() {
+            if (start == null) {
+                return;
+            }
+            PerformanceTracker.ResourceSnapshot finish = PerformanceTracker.ResourceSnapshot.take();
+            ReportSink.println("\n========= Фаза '" + name + "': " + (finish.wallNanos - start.wallNanos) + " нс ("
+                    + finish.describeSince(start) + ") =========");
+            if (recording != null) {
+                stopRecording(name, recording);
+            }
+        }
+    }
+
+    private static Recording startRecording(String phaseName) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName(phaseName);
+            recording.start();
+            return recording;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException exception) {
+            ReportSink.println("Не вдалося розпочати запис JFR для фази '" + phaseName + "': " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private static void stopRecording(String phaseName, Recording recording) {
+        try {
+            recording.stop();
+            Path directory = Paths.get(jfrDirectory);
+            Files.createDirectories(directory);
+            Path recordingPath = directory.resolve(phaseName + ".jfr");
+            recording.dump(recordingPath);
+            summarize(recordingPath);
+        } catch (IOException ioException) {
+            ReportSink.println("Не вдалося зберегти запис JFR для фази '" + phaseName + "': " + ioException.getMessage());
+        } finally {
+            recording.close();
+        }
+    }
+
+    /**
+     * Виводить підсумок запису: паузи GC і класи з найбільшою вагою вибірки виділень.
+     */
+    private static void summarize(Path recordingPath) throws IOException {
+        long gcCount = 0;
+        Duration gcPause = Duration.ZERO;
+        long sampledBytes = 0;
+        Map<String, Long> bytesByClass = new HashMap<>();
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingPath)) {
+            switch (event.getEventType().getName()) {
+                case "jdk.GarbageCollection":
+                    gcCount++;
+                    gcPause = gcPause.plus(event.getDuration("sumOfPauses"));
+                    break;
+                case "jdk.ObjectAllocationSample":
+                    long weight = event.getLong("weight");
+                    sampledBytes += weight;
+                    bytesByClass.merge(event.getClass("objectClass").getName(), weight, Long::sum);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        StringBuilder topClasses = new StringBuilder();
+        long totalBytes = Math.max(1, sampledBytes);
+        bytesByClass.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_ALLOCATION_CLASSES)
+                .forEach(entry -> topClasses.append(topClasses.length() == 0 ? "" : ", ")
+                        .append(entry.getKey()).append(String.format(" %.1f%%", 100.0 * entry.getValue() / totalBytes)));
+
+        ReportSink.println("JFR " + recordingPath + ": паузи GC " + gcCount + " / " + gcPause.toNanos() + " нс, вибірка виділень "
+                + sampledBytes + " Б" + (topClasses.length() == 0 ? "" : " (" + topClasses + ")"));
+    }
+}
@@ -0,0 +1,347 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Клас PrimitiveSpliterators надає примітивні {@link Spliterator} над наборами даних без упаковки елементів.
+ *
+ * <ul>
+ *   <li>{@link FloatArraySpliterator} - {@link Spliterator.OfDouble} над масивом float
+ *       (для float[] стандартного {@code Arrays.spliterator} немає);</li>
+ *   <li>{@link MappedLines} - файл даних, відображений у пам'ять ({@link FileChannel#map}),
+ *       з індексом початків непорожніх рядків. Індекс будується одним проходом по байтах,
+ *       після чого кількість елементів відома точно, і {@link MappedDoubleSpliterator} та
+ *       {@link MappedIntSpliterator} діляться навпіл за номерами рядків. Розбір рядків
+ *       виконується вже в паралельних задачах.</li>
+ * </ul>
+ *
+ * <p>Усі спліттератори мають характеристики SIZED, SUBSIZED, ORDERED, IMMUTABLE і NONNULL,
+ * тож {@code DoubleStream.parallel()} ділить роботу на рівні частини.</p>
+ *
+ * <pre>
+ * {@code
+ * double mean = PrimitiveSpliterators.stream(floatArray, true).filter(v -> v > 0).average().orElse(0);
+ * }
+ * </pre>
+ */
+public final class PrimitiveSpliterators {
+    static final int CHARACTERISTICS = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED
+            | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+    // Менші частини не діляться: накладні витрати задачі більші за роботу
+    static final int MIN_SPLIT_SIZE = 1 << 10;
+
+    private PrimitiveSpliterators() {
+    }
+
+    /**
+     * Потік значень масиву float як double.
+     */
+    public static DoubleStream stream(float[] values, boolean parallel) {
+        return StreamSupport.doubleStream(new FloatArraySpliterator(values, 0, values.length), parallel);
+    }
+
+    /**
+     * Спліттератор над діапазоном [from, to) масиву float.
+     */
+    static final class FloatArraySpliterator implements Spliterator.OfDouble {
+        private final float[] values;
+        private int from;
+        private final int to;
+
+        FloatArraySpliterator(float[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public OfDouble trySplit() {
+            int middle = (from + to) >>> 1;
+            if (to - from < 2 * MIN_SPLIT_SIZE) {
+                return null;
+            }
+            FloatArraySpliterator prefix = new FloatArraySpliterator(values, from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(values[from++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            float[] array = values;
+            int end = to;
+            for (int i = from; i < end; i++) {
+                action.accept(array[i]);
+            }
+            from = end;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Текстовий файл даних, відображений у пам'ять, з індексом початків непорожніх рядків.
+     * Розмір файлу обмежений 2 ГБ (одне відображення).
+     */
+    static final class MappedLines {
+        final MappedByteBuffer buffer;
+        final int[] lineStarts;
+        final int lineCount;
+
+        private MappedLines(MappedByteBuffer buffer, int[] lineStarts, int lineCount) {
+            this.buffer = buffer;
+            this.lineStarts = lineStarts;
+            this.lineCount = lineCount;
+        }
+
+        /**
+         * Відображає файл у пам'ять і будує індекс рядків. BOM, пробіли та '\r' пропускаються.
+         */
+        static MappedLines map(Path path) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Файл більший за 2 ГБ: " + path);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                return new MappedLines(buffer, null, 0).indexed();
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+
+        private MappedLines indexed() {
+            int limit = buffer.limit();
+            int position = limit >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+                    && buffer.get(2) == (byte) 0xBF ? 3 : 0;
+            int[] starts = new int[Math.max(16, limit / 8)];
+            int count = 0;
+            boolean lineStarted = false;
+            for (; position < limit; position++) {
+                byte current = buffer.get(position);
+                if (current == '\n') {
+                    lineStarted = false;
+                } else if (!lineStarted && (current & 0xFF) > ' ') {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                    }
+                    starts[count++] = position;
+                    lineStarted = true;
+                }
+            }
+            return new MappedLines(buffer, starts, count);
+        }
+
+        /**
+         * Кінець вмісту рядка, що починається з start (без пробілів і '\r' в кінці).
+         */
+        int lineEnd(int start) {
+            int limit = buffer.limit();
+            int end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        String lineText(int line) {
+            int start = lineStarts[line];
+            byte[] bytes = new byte[lineEnd(start) - start];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Розбирає ціле число без створення рядка.
+         */
+        int parseInt(int line) {
+            int start = lineStarts[line];
+            int end = lineEnd(start);
+            int position = start;
+            boolean negative = buffer.get(position) == '-';
+            if (negative || buffer.get(position) == '+') {
+                position++;
+            }
+            if (position == end) {
+                throw new NumberFormatException("Рядок " + (line + 1) + ": '" + lineText(line) + "'");
+            }
+            long value = 0;
+            for (; position < end; position++) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("Рядок " + (line + 1) + ": '" + lineText(line) + "'");
+                }
+                value = value * 10 - digit;
+                if (value < Integer.MIN_VALUE) {
+                    throw new NumberFormatException("Рядок " + (line + 1) + " поза межами int: '" + lineText(line) + "'");
+                }
+            }
+            if (!negative && value == Integer.MIN_VALUE) {
+                throw new NumberFormatException("Рядок " + (line + 1) + " поза межами int: '" + lineText(line) + "'");
+            }
+            return (int) (negative ? value : -value);
+        }
+
+        double parseDouble(int line, boolean floatPrecision) {
+            String text = lineText(line);
+            return floatPrecision ? Float.parseFloat(text) : Double.parseDouble(text);
+        }
+
+        /**
+         * Значення файлу double.
+         */
+        DoubleStream doubles(boolean parallel) {
+            return StreamSupport.doubleStream(new MappedDoubleSpliterator(this, 0, lineCount, false), parallel);
+        }
+
+        /**
+         * Значення файлу float, розширені до double (так само, як після {@link DataFileHandler#loadArrayFromFile}).
+         */
+        DoubleStream floats(boolean parallel) {
+            return StreamSupport.doubleStream(new MappedDoubleSpliterator(this, 0, lineCount, true), parallel);
+        }
+
+        IntStream ints(boolean parallel) {
+            return StreamSupport.intStream(new MappedIntSpliterator(this, 0, lineCount), parallel);
+        }
+    }
+
+    /**
+     * Спліттератор значень double над рядками [from, to) відображеного файлу.
+     */
+    static final class MappedDoubleSpliterator implements Spliterator.OfDouble {
+        private final MappedLines lines;
+        private int from;
+        private final int to;
+        // true - значення розбираються як float, щоб збігатися з масивом float того самого файлу
+        private final boolean floatPrecision;
+
+        MappedDoubleSpliterator(MappedLines lines, int from, int to, boolean floatPrecision) {
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+            this.floatPrecision = floatPrecision;
+        }
+
+        @Override
+        public OfDouble trySplit() {
+            int middle = (from + to) >>> 1;
+            if (to - from < 2 * MIN_SPLIT_SIZE) {
+                return null;
+            }
+            MappedDoubleSpliterator prefix = new MappedDoubleSpliterator(lines, from, middle, floatPrecision);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(lines.parseDouble(from++, floatPrecision));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            for (int line = from; line < to; line++) {
+                action.accept(lines.parseDouble(line, floatPrecision));
+            }
+            from = to;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Спліттератор значень int над рядками [from, to) відображеного файлу.
+     */
+    static final class MappedIntSpliterator implements Spliterator.OfInt {
+        private final MappedLines lines;
+        private int from;
+        private final int to;
+
+        MappedIntSpliterator(MappedLines lines, int from, int to) {
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int middle = (from + to) >>> 1;
+            if (to - from < 2 * MIN_SPLIT_SIZE) {
+                return null;
+            }
+            MappedIntSpliterator prefix = new MappedIntSpliterator(lines, from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(lines.parseInt(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (int line = from; line < to; line++) {
+                action.accept(lines.parseInt(line));
+            }
+            from = to;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+import java.util.Arrays;
+
+/**
+ * Клас RadixSort сортує масиви long та int порозрядним сортуванням (LSD).
+ *
+ * <p>Ключі розбиваються на байти; гістограми всіх розрядів обчислюються за один
+ * прохід, після чого кожен розряд - один стабільний прохід розподілу між масивом і
+ * буфером. Розряд, у якому всі ключі однакові, пропускається, тому для міток часу
+ * одного року (спільні старші байти) реальних проходів зазвичай три-чотири.
+ * Знаковий біт інвертується, щоб порядок збігався з {@link Long#compare}.</p>
+ *
+ * <p>Для коротких масивів використовується {@link Arrays#sort}: накладні витрати
+ * на гістограми там більші за виграш.</p>
+ */
+public final class RadixSort {
+    static final int MIN_RADIX_LENGTH = 512;
+    private static final int RADIX = 256;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Сортує масив long за зростанням.
+     */
+    public static void sort(long[] values) {
+        int length = values.length;
+        if (length < MIN_RADIX_LENGTH) {
+            Arrays.sort(values);
+            return;
+        }
+
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (long value : values) {
+            long key = value ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < Long.BYTES; digit++) {
+                counts[digit][(int) (key >>> (digit * 8)) & 0xFF]++;
+            }
+        }
+
+        long[] source = values;
+        long[] target = new long[length];
+        for (int digit = 0; digit < Long.BYTES; digit++) {
+            int[] offsets = counts[digit];
+            if (!toOffsets(offsets, length)) {
+                continue;
+            }
+            int shift = digit * 8;
+            for (long value : source) {
+                target[offsets[(int) ((value ^ Long.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+
+    /**
+     * Сортує масив int за зростанням.
+     */
+    public static void sort(int[] values) {
+        int length = values.length;
+        if (length < MIN_RADIX_LENGTH) {
+            Arrays.sort(values);
+            return;
+        }
+
+        int[][] counts = new int[Integer.BYTES][RADIX];
+        for (int value : values) {
+            int key = value ^ Integer.MIN_VALUE;
+            for (int digit = 0; digit < Integer.BYTES; digit++) {
+                counts[digit][(key >>> (digit * 8)) & 0xFF]++;
+            }
+        }
+
+        int[] source = values;
+        int[] target = new int[length];
+        for (int digit = 0; digit < Integer.BYTES; digit++) {
+            int[] offsets = counts[digit];
+            if (!toOffsets(offsets, length)) {
+                continue;
+            }
+            int shift = digit * 8;
+            for (int value : source) {
+                target[offsets[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+
+    /**
+     * Перетворює гістограму розряду на початкові позиції кошиків.
+     *
+     * @return false, якщо всі ключі потрапили в один кошик і прохід не потрібен.
+     */
+    private static boolean toOffsets(int[] counts, int length) {
+        int position = 0;
+        for (int bucket = 0; bucket < RADIX; bucket++) {
+            int count = counts[bucket];
+            if (count == length) {
+                return false;
+            }
+            counts[bucket] = position;
+            position += count;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Клас ReportSink - буферизований вивід звітів обробників даних.
+ *
+ * <p>Рядки накопичуються в пам'яті та передаються до System.out великими блоками,
+ * тому вивід не сповільнює виміряні операції. Буфер скидається при заповненні,
+ * явним викликом {@link #flush()} та під час завершення JVM.</p>
+ *
+ * <p>Режим звіту визначає, скільки елементів колекцій виводиться:</p>
+ * <ul>
+ *   <li>{@link Mode#SUMMARY} - лише підсумки операцій, без вмісту колекцій;</li>
+ *   <li>{@link Mode#SAMPLE} - перші {@link #getSampleSize()} елементів (за замовчуванням);</li>
+ *   <li>{@link Mode#FULL} - усі елементи.</li>
+ * </ul>
+ */
+public class ReportSink {
+    /**
+     * Режим деталізації звіту.
+     */
+    public enum Mode {
+        SUMMARY,
+        SAMPLE,
+        FULL
+    }
+
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+    private static final int DEFAULT_SAMPLE_SIZE = 10;
+    private static final String MODE_OPTION_PREFIX = "--report=";
+
+    private static final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private static Mode mode = Mode.SAMPLE;
+    private static int sampleSize = DEFAULT_SAMPLE_SIZE;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ReportSink::flush));
+    }
+
+    /**
+     * Додає рядок до звіту.
+     *
+     * @param line Рядок звіту.
+     */
+    public static synchronized void println(String line) {
+        buffer.append(line).append(System.lineSeparator());
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Передає накопичені рядки до System.out.
+     */
+    public static synchronized void flush() {
+        if (buffer.length() > 0) {
+            System.out.print(buffer);
+            buffer.setLength(0);
+        }
+        System.out.flush();
+    }
+
+    /**
+     * Визначає, скільки елементів колекції потрібно вивести в поточному режимі.
+     *
+     * @param totalElements Кількість елементів у колекції.
+     * @return Кількість елементів для виведення.
+     */
+    public static synchronized int elementsToPrint(int totalElements) {
+        switch (mode) {
+            case SUMMARY:
+                return 0;
+            case SAMPLE:
+                return Math.min(sampleSize, totalElements);
+            default:
+                return totalElements;
+        }
+    }
+
+    /**
+     * Виводить підсумок про елементи, які не потрапили до звіту.
+     *
+     * @param printedElements Кількість виведених елементів.
+     * @param totalElements Загальна кількість елементів.
+     */
+    public static void printOmitted(int printedElements, int totalElements) {
+        if (printedElements < totalElements) {
+            println("  ... ще " + (totalElements - printedElements) + " з " + totalElements + " елементів (повний вивід: " + MODE_OPTION_PREFIX + "full)");
+        }
+    }
+
+    /**
+     * Розбирає параметр командного рядка виду --report=summary|sample|full[:розмір].
+     * Невідомий режим або розмір вибірки не змінюють поточних налаштувань:
+     * виводиться попередження з переліком допустимих режимів.
+     *
+     * @param argument Аргумент командного рядка.
+     * @return true, якщо аргумент є параметром звіту
+     */
+    public static synchronized boolean applyOption(String argument) {
+        if (!argument.startsWith(MODE_OPTION_PREFIX)) {
+            return false;
+        }
+        String value = argument.substring(MODE_OPTION_PREFIX.length());
+        int sizeSeparator = value.indexOf(':');
+        try {
+            int newSampleSize = sampleSize;
+            if (sizeSeparator >= 0) {
+                newSampleSize = Integer.parseInt(value.substring(sizeSeparator + 1));
+                value = value.substring(0, sizeSeparator);
+            }
+            mode = Mode.valueOf(value.toUpperCase());
+            sampleSize = newSampleSize;
+        } catch (IllegalArgumentException invalidOption) {
+            println("Пропущено невідомий параметр звіту '" + argument + "'. Допустимі режими: "
+                    + MODE_OPTION_PREFIX + "summary, " + MODE_OPTION_PREFIX + "sample[:розмір], " + MODE_OPTION_PREFIX + "full");
+        }
+        return true;
+    }
+
+    public static synchronized Mode getMode() {
+        return mode;
+    }
+
+    public static synchronized void setMode(Mode newMode) {
+        mode = newMode;
+    }
+
+    public static synchronized int getSampleSize() {
+        return sampleSize;
+    }
+}
@@ -0,0 +1,109 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Клас SearchStrategyBenchmark порівнює стратегії {@link FloatSearch} на рівномірних і нерівномірних даних.
+ *
+ * <p>Для кожного розподілу (рівномірний, експоненційний) будується впорядкований
+ * масив, половина запитів - наявні значення, половина - відсутні. Для кожної
+ * стратегії виводиться середній час пошуку. Окремо порівнюється пакетна перевірка
+ * впорядкованих ключів: окремий бінарний пошук для кожного ключа проти
+ * {@link FloatSearch#searchSorted} з галопом від попереднього результату.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java SearchStrategyBenchmark 10000000 1000000
+ * }
+ * </pre>
+ * <p>Аргументи: розмір масиву, кількість запитів.</p>
+ */
+public class SearchStrategyBenchmark {
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        Random random = new Random(SEED);
+
+        float[] uniform = new float[size];
+        float[] skewed = new float[size];
+        for (int i = 0; i < size; i++) {
+            uniform[i] = (random.nextFloat() - 0.5f) * 2_000_000f;
+            skewed[i] = (float) Math.exp(random.nextDouble() * 40);
+        }
+        Arrays.sort(uniform);
+        Arrays.sort(skewed);
+
+        ReportSink.println("Елементів: " + size + ", запитів: " + queryCount);
+        runDistribution("рівномірний", uniform, queryCount, random);
+        runDistribution("експоненційний", skewed, queryCount, random);
+        ReportSink.flush();
+    }
+
+    private static void runDistribution(String name, float[] values, int queryCount, Random random) {
+        float[] queries = new float[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            float present = values[random.nextInt(values.length)];
+            queries[i] = i % 2 == 0 ? present : Math.nextUp(present);
+        }
+
+        ReportSink.println("\n========= Розподіл: " + name + " =========");
+        int[] expected = new int[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            expected[i] = Arrays.binarySearch(values, queries[i]);
+        }
+
+        for (FloatSearch.Strategy strategy : FloatSearch.Strategy.values()) {
+            // Перший прохід - розігрів JIT
+            runStrategy(strategy, values, queries, expected);
+            long executionTime = runStrategy(strategy, values, queries, expected);
+            ReportSink.println(String.format("%-14s %8.1f нс/запит", strategy, (double) executionTime / queryCount));
+        }
+
+        float[] sortedKeys = queries.clone();
+        Arrays.sort(sortedKeys);
+        for (int repeat = 0; repeat < 2; repeat++) {
+            long timeStart = System.nanoTime();
+            int binaryCount = 0;
+            for (float key : sortedKeys) {
+                if (Arrays.binarySearch(values, key) >= 0) {
+                    binaryCount++;
+                }
+            }
+            long binaryTime = System.nanoTime() - timeStart;
+
+            timeStart = System.nanoTime();
+            int gallopCount = FloatSearch.countContained(values, sortedKeys);
+            long gallopTime = System.nanoTime() - timeStart;
+
+            if (binaryCount != gallopCount) {
+                throw new IllegalStateException("Розбіжність пакетного пошуку: " + binaryCount + " != " + gallopCount);
+            }
+            if (repeat == 1) {
+                ReportSink.println(String.format("пакет %d ключів: бінарний %8.1f нс/ключ, галоп %8.1f нс/ключ, знайдено %d",
+                        sortedKeys.length, (double) binaryTime / sortedKeys.length, (double) gallopTime / sortedKeys.length, gallopCount));
+            }
+        }
+    }
+
+    private static long runStrategy(FloatSearch.Strategy strategy, float[] values, float[] queries, int[] expected) {
+        long timeStart = System.nanoTime();
+        int[] results = new int[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            results[i] = strategy.search(values, queries[i]);
+        }
+        long executionTime = System.nanoTime() - timeStart;
+
+        for (int i = 0; i < queries.length; i++) {
+            // Для наявних значень допустимий індекс будь-якого з дублікатів
+            boolean matches = expected[i] >= 0
+                    ? results[i] >= 0 && Float.compare(values[results[i]], queries[i]) == 0
+                    : results[i] == expected[i];
+            if (!matches) {
+                throw new IllegalStateException(strategy + ": результат " + results[i] + " не відповідає " + expected[i] + " для " + queries[i]);
+            }
+        }
+        return executionTime;
+    }
+}
@@ -0,0 +1,130 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Клас SortedColumnBenchmark порівнює {@link SortedFloatColumn} з текстовим файлом і масивом float.
+ *
+ * <p>Генерується впорядкований масив значень (рівномірний розподіл або цілі числа
+ * з повторами). Для нього вимірюються розмір текстового файлу {@code .sorted} і
+ * стиснутого файлу, час читання кожного з диска, сума всіх значень (масив проти
+ * розпакування блок за блоком), перевірка наявності та підрахунок у діапазоні.
+ * Результати звіряються з масивом.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java SortedColumnBenchmark 5000000 200000
+ * }
+ * </pre>
+ * <p>Аргументи: кількість значень, кількість запитів.</p>
+ */
+public class SortedColumnBenchmark {
+    private static final long SEED = 42L;
+    private static final int MEASURED_PASSES = 5;
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        Random random = new Random(SEED);
+
+        float[] uniform = new float[size];
+        float[] integers = new float[size];
+        for (int i = 0; i < size; i++) {
+            uniform[i] = (random.nextFloat() - 0.5f) * 2_000_000f;
+            integers[i] = random.nextInt(100_000);
+        }
+        Arrays.sort(uniform);
+        Arrays.sort(integers);
+
+        ReportSink.println("Значень: " + size + ", запитів: " + queryCount);
+        runDistribution("рівномірний float", uniform, queryCount, random);
+        runDistribution("цілі з повторами", integers, queryCount, random);
+        ReportSink.flush();
+    }
+
+    private static void runDistribution(String name, float[] values, int queryCount, Random random) throws IOException {
+        ReportSink.println("\n========= Дані: " + name + " =========");
+        Path textFile = Files.createTempFile("sorted-column", ".data.sorted");
+        Path packedFile = Path.of(textFile + SortedFloatColumn.FILE_SUFFIX);
+        try {
+            DataFileHandler.writeArrayToFile(values, textFile.toString());
+            SortedFloatColumn.encode(values).write(packedFile);
+
+            long timeStart = System.nanoTime();
+            float[] fromText = FloatList.toPrimitive(DataFileHandler.loadArrayFromFile(textFile.toString()));
+            long textReadTime = System.nanoTime() - timeStart;
+
+            SortedFloatColumn column = null;
+            long packedReadTime = 0;
+            for (int repeat = 0; repeat < 2; repeat++) {
+                timeStart = System.nanoTime();
+                column = SortedFloatColumn.read(packedFile);
+                packedReadTime = System.nanoTime() - timeStart;
+            }
+            if (!Arrays.equals(fromText, column.decode())) {
+                throw new IllegalStateException("Розпаковані значення не збігаються з текстовим файлом");
+            }
+            column.printSizeReport(textFile.toString());
+            ReportSink.println(String.format("читання: текст %.1f мс, стиснутий файл %.1f мс",
+                    textReadTime / 1e6, packedReadTime / 1e6));
+
+            float[] queries = new float[queryCount];
+            for (int i = 0; i < queryCount; i++) {
+                float present = values[random.nextInt(values.length)];
+                queries[i] = i % 2 == 0 ? present : Math.nextUp(present);
+            }
+
+            for (int repeat = 0; repeat < MEASURED_PASSES; repeat++) {
+                // Попередні проходи - розігрів JIT, звіт виводиться за останнім
+                boolean report = repeat == MEASURED_PASSES - 1;
+
+                timeStart = System.nanoTime();
+                double arraySum = 0;
+                for (float value : values) {
+                    arraySum += value;
+                }
+                long arrayScan = System.nanoTime() - timeStart;
+                timeStart = System.nanoTime();
+                double columnSum = column.sum();
+                long columnScan = System.nanoTime() - timeStart;
+
+                timeStart = System.nanoTime();
+                int arrayFound = 0;
+                long arrayRange = 0;
+                for (float query : queries) {
+                    if (Arrays.binarySearch(values, query) >= 0) {
+                        arrayFound++;
+                    }
+                    arrayRange += FloatSearch.countBetween(values, query, query + 1000f);
+                }
+                long arrayQueries = System.nanoTime() - timeStart;
+                timeStart = System.nanoTime();
+                int columnFound = 0;
+                long columnRange = 0;
+                for (float query : queries) {
+                    if (column.contains(query)) {
+                        columnFound++;
+                    }
+                    columnRange += column.countBetween(query, query + 1000f);
+                }
+                long columnQueries = System.nanoTime() - timeStart;
+
+                if (arraySum != columnSum || arrayFound != columnFound || arrayRange != columnRange) {
+                    throw new IllegalStateException("Розбіжність: " + arraySum + "/" + columnSum + ", "
+                            + arrayFound + "/" + columnFound + ", " + arrayRange + "/" + columnRange);
+                }
+                if (report) {
+                    ReportSink.println(String.format("сума: масив %.2f мс, стиснутий %.2f мс", arrayScan / 1e6, columnScan / 1e6));
+                    ReportSink.println(String.format("пошук і діапазон: масив %.1f нс/запит, стиснутий %.1f нс/запит",
+                            (double) arrayQueries / queryCount, (double) columnQueries / queryCount));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(textFile);
+            Files.deleteIfExists(packedFile);
+        }
+    }
+}
@@ -0,0 +1,543 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Клас SortedFloatColumn зберігає впорядкований масив float у стиснутих блоках.
+ *
+ * <p>Кожне значення перетворюється на ключ int, порядок якого збігається з
+ * {@link Float#compare}: для від'ємних чисел інвертуються біти модуля. Ключі
+ * діляться на блоки по {@value #BLOCK_SIZE}; для блоку зберігаються заголовок
+ * (найменший і найбільший ключ, ширина в бітах) і різниці сусідніх ключів,
+ * упаковані з однаковою шириною, достатньою для найбільшої різниці блоку.
+ * Блок з однакових значень займає лише заголовок.</p>
+ *
+ * <p>Заголовки дозволяють пропускати блоки без розпакування: пошук розпаковує
+ * один блок, підрахунок у діапазоні - не більше двох граничних блоків.
+ * Розпакування блоку виконується у два проходи: спочатку різниці зсувами
+ * зчитуються з поточного 64-бітного слова (наступне слово завантажується лише
+ * на межі) окремим для кожної ширини варіантом циклу, потім префіксна сума
+ * відновлює ключі й одразу перетворює їх на float. Повний обхід усе одно
+ * приблизно вдвічі повільніший за підсумовування масиву float: кожне значення
+ * потребує розпакування різниці, префіксної суми та перетворення ключа.</p>
+ *
+ * <p>Формат файлу (big-endian): {@code "SFC1"}, кількість значень, кількість блоків,
+ * кількість слів; далі для кожного блоку найменший ключ, найбільший ключ, ширина
+ * та зміщення в словах; далі слова упакованих різниць.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java SortedFloatColumn list/float.data.sorted
+ * }
+ * </pre>
+ */
+public final class SortedFloatColumn {
+    static final int BLOCK_SIZE = 128;
+    static final String FILE_SUFFIX = ".packed";
+    private static final int MAGIC = 0x53464331;
+
+    private final int size;
+    private final int[] blockMinKeys;
+    private final int[] blockMaxKeys;
+    private final byte[] blockBitWidths;
+    private final int[] blockWordOffsets;
+    private final long[] words;
+
+    private SortedFloatColumn(int size, int[] blockMinKeys, int[] blockMaxKeys, byte[] blockBitWidths,
+                              int[] blockWordOffsets, long[] words) {
+        this.size = size;
+        this.blockMinKeys = blockMinKeys;
+        this.blockMaxKeys = blockMaxKeys;
+        this.blockBitWidths = blockBitWidths;
+        this.blockWordOffsets = blockWordOffsets;
+        this.words = words;
+    }
+
+    /**
+     * Ключ int з тим самим порядком, що й {@link Float#compare}; перетворення є власним оберненим.
+     */
+    static int orderedKey(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    static float fromOrderedKey(int key) {
+        return Float.intBitsToFloat(key ^ ((key >> 31) & Integer.MAX_VALUE));
+    }
+
+    /**
+     * Стискає впорядкований масив.
+     *
+     * @param sortedValues Масив, впорядкований за {@link Float#compare}.
+     * @throws IllegalArgumentException Якщо масив не впорядкований.
+     */
+    public static SortedFloatColumn encode(float[] sortedValues) {
+        int size = sortedValues.length;
+        int blockCount = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] minKeys = new int[blockCount];
+        int[] maxKeys = new int[blockCount];
+        byte[] bitWidths = new byte[blockCount];
+        int[] wordOffsets = new int[blockCount + 1];
+        long[] words = new long[Math.max(16, size / 8)];
+        int wordCount = 0;
+
+        for (int block = 0; block < blockCount; block++) {
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(size, from + BLOCK_SIZE);
+            long maxDelta = 0;
+            int previous = orderedKey(sortedValues[from]);
+            for (int i = from + 1; i < to; i++) {
+                int key = orderedKey(sortedValues[i]);
+                if (key < previous) {
+                    throw new IllegalArgumentException("Масив не впорядкований на позиції " + i);
+                }
+                maxDelta = Math.max(maxDelta, (long) key - previous);
+                previous = key;
+            }
+            int bitWidth = 64 - Long.numberOfLeadingZeros(maxDelta);
+            minKeys[block] = orderedKey(sortedValues[from]);
+            maxKeys[block] = previous;
+            bitWidths[block] = (byte) bitWidth;
+            wordOffsets[block] = wordCount;
+
+            int blockWords = (int) (((long) (to - from - 1) * bitWidth + 63) / 64);
+            if (wordCount + blockWords + 1 > words.length) {
+                words = Arrays.copyOf(words, Math.max(words.length * 2, wordCount + blockWords + 1));
+            }
+            long bitPosition = (long) wordCount * 64;
+            for (int i = from + 1; i < to; i++) {
+                long delta = (long) orderedKey(sortedValues[i]) - orderedKey(sortedValues[i - 1]);
+                writeBits(words, bitPosition, delta, bitWidth);
+                bitPosition += bitWidth;
+            }
+            wordCount += blockWords;
+            if (block > 0 && Integer.compare(maxKeys[block - 1], minKeys[block]) > 0) {
+                throw new IllegalArgumentException("Масив не впорядкований на позиції " + from);
+            }
+        }
+        wordOffsets[blockCount] = wordCount;
+        // Запасне слово: розпакування завжди читає два сусідні слова
+        return new SortedFloatColumn(size, minKeys, maxKeys, bitWidths, wordOffsets, Arrays.copyOf(words, wordCount + 1));
+    }
+
+    private static void writeBits(long[] words, long bitPosition, long value, int bitWidth) {
+        if (bitWidth == 0) {
+            return;
+        }
+        int word = (int) (bitPosition >>> 6);
+        int shift = (int) (bitPosition & 63);
+        words[word] |= value << shift;
+        if (shift + bitWidth > 64) {
+            words[word + 1] |= value >>> (64 - shift);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int blockCount() {
+        return blockMinKeys.length;
+    }
+
+    private int blockLength(int block) {
+        return Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE);
+    }
+
+    /**
+     * Розпаковує різниці сусідніх ключів блоку в deltas[1 .. довжина блоку).
+     *
+     * <p>Кожна гілка передає ширину константою: після вбудовування {@link #unpack}
+     * JIT-компілятор отримує окремий варіант циклу для кожної ширини, що трапляється
+     * в даних, з постійними маскою та зсувами.</p>
+     *
+     * @return Кількість значень у блоці.
+     */
+    private int unpackDeltas(int block, int[] deltas) {
+        int length = blockLength(block);
+        int word = blockWordOffsets[block];
+        switch (blockBitWidths[block]) {
+            case 0:
+                Arrays.fill(deltas, 1, length, 0);
+                break;
+            case 1:
+                unpack(words, word, 1, deltas, length);
+                break;
+            case 2:
+                unpack(words, word, 2, deltas, length);
+                break;
+            case 3:
+                unpack(words, word, 3, deltas, length);
+                break;
+            case 4:
+                unpack(words, word, 4, deltas, length);
+                break;
+            case 5:
+                unpack(words, word, 5, deltas, length);
+                break;
+            case 6:
+                unpack(words, word, 6, deltas, length);
+                break;
+            case 7:
+                unpack(words, word, 7, deltas, length);
+                break;
+            case 8:
+                unpack(words, word, 8, deltas, length);
+                break;
+            case 9:
+                unpack(words, word, 9, deltas, length);
+                break;
+            case 10:
+                unpack(words, word, 10, deltas, length);
+                break;
+            case 11:
+                unpack(words, word, 11, deltas, length);
+                break;
+            case 12:
+                unpack(words, word, 12, deltas, length);
+                break;
+            case 13:
+                unpack(words, word, 13, deltas, length);
+                break;
+            case 14:
+                unpack(words, word, 14, deltas, length);
+                break;
+            case 15:
+                unpack(words, word, 15, deltas, length);
+                break;
+            case 16:
+                unpack(words, word, 16, deltas, length);
+                break;
+            case 17:
+                unpack(words, word, 17, deltas, length);
+                break;
+            case 18:
+                unpack(words, word, 18, deltas, length);
+                break;
+            case 19:
+                unpack(words, word, 19, deltas, length);
+                break;
+            case 20:
+                unpack(words, word, 20, deltas, length);
+                break;
+            case 21:
+                unpack(words, word, 21, deltas, length);
+                break;
+            case 22:
+                unpack(words, word, 22, deltas, length);
+                break;
+            case 23:
+                unpack(words, word, 23, deltas, length);
+                break;
+            case 24:
+                unpack(words, word, 24, deltas, length);
+                break;
+            case 25:
+                unpack(words, word, 25, deltas, length);
+                break;
+            case 26:
+                unpack(words, word, 26, deltas, length);
+                break;
+            case 27:
+                unpack(words, word, 27, deltas, length);
+                break;
+            case 28:
+                unpack(words, word, 28, deltas, length);
+                break;
+            case 29:
+                unpack(words, word, 29, deltas, length);
+                break;
+            case 30:
+                unpack(words, word, 30, deltas, length);
+                break;
+            case 31:
+                unpack(words, word, 31, deltas, length);
+                break;
+            case 32:
+                unpack(words, word, 32, deltas, length);
+                break;
+            default:
+                throw new IllegalStateException("Невірна ширина блоку " + block + ": " + blockBitWidths[block]);
+        }
+        return length;
+    }
+
+    /**
+     * Різниці зчитуються з поточного 64-бітного слова; наступне слово завантажується
+     * лише тоді, коли різниця перетинає межу слів.
+     */
+    private static void unpack(long[] words, int word, int bitWidth, int[] deltas, int length) {
+        long mask = (1L << bitWidth) - 1;
+        long buffer = words[word];
+        int available = 64;
+        for (int i = 1; i < length; i++) {
+            if (available >= bitWidth) {
+                deltas[i] = (int) (buffer & mask);
+                buffer >>>= bitWidth;
+                available -= bitWidth;
+            } else {
+                long next = words[++word];
+                deltas[i] = (int) ((buffer | (next << available)) & mask);
+                buffer = next >>> (bitWidth - available);
+                available += 64 - bitWidth;
+            }
+        }
+    }
+
+    /**
+     * Розпаковує ключі блоку в keys[0 .. довжина блоку): різниці, потім префіксні суми.
+     *
+     * @return Кількість значень у блоці.
+     */
+    int decodeBlockKeys(int block, int[] keys) {
+        int length = unpackDeltas(block, keys);
+        int key = blockMinKeys[block];
+        keys[0] = key;
+        for (int i = 1; i < length; i++) {
+            key += keys[i];
+            keys[i] = key;
+        }
+        return length;
+    }
+
+    /**
+     * Розпаковує блок у значення float: префіксна сума і перетворення ключа виконуються одним проходом.
+     */
+    int decodeBlock(int block, int[] deltas, float[] values, int offset) {
+        int length = unpackDeltas(block, deltas);
+        int key = blockMinKeys[block];
+        values[offset] = fromOrderedKey(key);
+        for (int i = 1; i < length; i++) {
+            key += deltas[i];
+            values[offset + i] = fromOrderedKey(key);
+        }
+        return length;
+    }
+
+    /**
+     * Розпаковує весь стовпець.
+     */
+    public float[] decode() {
+        float[] values = new float[size];
+        int[] keys = new int[BLOCK_SIZE];
+        for (int block = 0; block < blockCount(); block++) {
+            decodeBlock(block, keys, values, block * BLOCK_SIZE);
+        }
+        return values;
+    }
+
+    public float min() {
+        return fromOrderedKey(blockMinKeys[0]);
+    }
+
+    public float max() {
+        return fromOrderedKey(blockMaxKeys[blockMaxKeys.length - 1]);
+    }
+
+    /**
+     * Перевіряє наявність значення: блок обирається за заголовками, розпаковується лише він.
+     */
+    public boolean contains(float value) {
+        int key = orderedKey(value);
+        int block = firstBlockWithMaxAtLeast(key);
+        if (block == blockCount() || blockMinKeys[block] > key) {
+            return false;
+        }
+        int[] keys = new int[BLOCK_SIZE];
+        int length = decodeBlockKeys(block, keys);
+        return Arrays.binarySearch(keys, 0, length, key) >= 0;
+    }
+
+    /**
+     * Кількість значень у діапазоні [from, to]: повні блоки рахуються за заголовками.
+     */
+    public long countBetween(float from, float to) {
+        int fromKey = orderedKey(from);
+        int toKey = orderedKey(to);
+        if (size == 0 || fromKey > toKey) {
+            return 0;
+        }
+        return rank(toKey, true) - rank(fromKey, false);
+    }
+
+    /**
+     * Кількість ключів, менших за key (або не більших, якщо inclusive).
+     */
+    private long rank(int key, boolean inclusive) {
+        // Перший блок, який може містити ключі, не менші (більші) за key
+        int block = inclusive ? firstBlockWithMaxAbove(key) : firstBlockWithMaxAtLeast(key);
+        if (block == blockCount()) {
+            return size;
+        }
+        long before = (long) block * BLOCK_SIZE;
+        if (inclusive ? blockMinKeys[block] > key : blockMinKeys[block] >= key) {
+            return before;
+        }
+        int[] keys = new int[BLOCK_SIZE];
+        int length = decodeBlockKeys(block, keys);
+        int position = 0;
+        while (position < length && (inclusive ? keys[position] <= key : keys[position] < key)) {
+            position++;
+        }
+        return before + position;
+    }
+
+    private int firstBlockWithMaxAtLeast(int key) {
+        int low = 0;
+        int high = blockCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (blockMaxKeys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstBlockWithMaxAbove(int key) {
+        int low = 0;
+        int high = blockCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (blockMaxKeys[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Сума всіх значень з розпакуванням блок за блоком в один буфер.
+     */
+    public double sum() {
+        int[] deltas = new int[BLOCK_SIZE];
+        double total = 0;
+        for (int block = 0; block < blockCount(); block++) {
+            int length = unpackDeltas(block, deltas);
+            int key = blockMinKeys[block];
+            total += fromOrderedKey(key);
+            for (int i = 1; i < length; i++) {
+                key += deltas[i];
+                total += fromOrderedKey(key);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Розмір у файлі в байтах.
+     */
+    public long encodedBytes() {
+        return 16 + (long) blockCount() * 13 + (long) (words.length - 1) * 8;
+    }
+
+    public void write(Path path) {
+        int blockCount = blockCount();
+        int wordCount = words.length - 1;
+        ByteBuffer buffer = ByteBuffer.allocate((int) encodedBytes());
+        buffer.putInt(MAGIC).putInt(size).putInt(blockCount).putInt(wordCount);
+        for (int block = 0; block < blockCount; block++) {
+            buffer.putInt(blockMinKeys[block]).putInt(blockMaxKeys[block])
+                    .put(blockBitWidths[block]).putInt(blockWordOffsets[block]);
+        }
+        buffer.asLongBuffer().put(words, 0, wordCount);
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    public static SortedFloatColumn read(Path path) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Файл не є стиснутим стовпцем: " + path);
+        }
+        int size = buffer.getInt();
+        int blockCount = buffer.getInt();
+        int wordCount = buffer.getInt();
+        int[] minKeys = new int[blockCount];
+        int[] maxKeys = new int[blockCount];
+        byte[] bitWidths = new byte[blockCount];
+        int[] wordOffsets = new int[blockCount + 1];
+        for (int block = 0; block < blockCount; block++) {
+            minKeys[block] = buffer.getInt();
+            maxKeys[block] = buffer.getInt();
+            bitWidths[block] = buffer.get();
+            wordOffsets[block] = buffer.getInt();
+        }
+        wordOffsets[blockCount] = wordCount;
+        long[] words = new long[wordCount + 1];
+        buffer.asLongBuffer().get(words, 0, wordCount);
+        return new SortedFloatColumn(size, minKeys, maxKeys, bitWidths, wordOffsets, words);
+    }
+
+    public static void main(String[] args) {
+        String filePath = BasicDataOperation.PATH_TO_DATA_FILE + ".sorted";
+        for (String argument : args) {
+            if (!ReportSink.applyOption(argument) && !PerformanceTracker.applyOption(argument)) {
+                filePath = argument;
+            }
+        }
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        float[] values = FloatList.toPrimitive(DataFileHandler.loadArrayFromFile(filePath));
+
+        PerformanceTracker.displayOperationTime(timeStart, "читання текстового файлу");
+
+        AdaptiveSort.sort(values);
+        timeStart = PerformanceTracker.startOperation();
+
+        SortedFloatColumn column = encode(values);
+        Path packedPath = Paths.get(filePath + FILE_SUFFIX);
+        column.write(packedPath);
+
+        PerformanceTracker.displayOperationTime(timeStart, () -> "стиснення та запис " + packedPath);
+
+        timeStart = PerformanceTracker.startOperation();
+
+        SortedFloatColumn restored = read(packedPath);
+        float[] decoded = restored.decode();
+
+        PerformanceTracker.displayOperationTime(timeStart, "читання та розпакування стиснутого файлу");
+
+        if (!Arrays.equals(values, decoded)) {
+            throw new IllegalStateException("Розпаковані значення не збігаються з вихідними");
+        }
+        restored.printSizeReport(filePath);
+        ReportSink.flush();
+    }
+
+    void printSizeReport(String textFilePath) {
+        long textBytes;
+        try {
+            textBytes = Files.size(Paths.get(textFilePath));
+        } catch (IOException ioException) {
+            textBytes = -1;
+        }
+        ReportSink.println(String.format("Значень: %d, блоків: %d, текст: %d Б (%.2f Б/значення), стиснуто: %d Б (%.2f Б/значення), у %.1f раза менше",
+                size, blockCount(), textBytes, (double) textBytes / Math.max(1, size),
+                encodedBytes(), (double) encodedBytes() / Math.max(1, size), (double) textBytes / encodedBytes()));
+    }
+}
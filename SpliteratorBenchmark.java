@@ -0,0 +1,85 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * Клас SpliteratorBenchmark порівнює обробку даних через {@link PrimitiveSpliterators} з упакованим списком.
+ *
+ * <p>Для кожного джерела виконується однаковий конвеєр: відбір додатних значень
+ * і обчислення їх кількості та суми. Джерела:</p>
+ * <ul>
+ *   <li>{@code List<Float>} - потік упакованих значень;</li>
+ *   <li>масив float через {@link PrimitiveSpliterators.FloatArraySpliterator}, послідовно й паралельно;</li>
+ *   <li>файл, відображений у пам'ять ({@link DataFileHandler#streamFromFile}), послідовно й паралельно;
+ *       для порівняння - завантаження {@link DataFileHandler#loadArrayFromFile} з подальшим потоком.</li>
+ * </ul>
+ * <p>Результати всіх джерел звіряються.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java SpliteratorBenchmark 5000000
+ * }
+ * </pre>
+ * <p>Аргументи: кількість значень.</p>
+ */
+public class SpliteratorBenchmark {
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Random random = new Random(SEED);
+        float[] values = new float[size];
+        List<Float> boxed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values[i] = (random.nextFloat() - 0.5f) * 2_000_000f;
+            boxed.add(values[i]);
+        }
+        Path dataFile = Files.createTempFile("spliterator-benchmark", ".data");
+        try {
+            DataFileHandler.writeArrayToFile(values, dataFile.toString());
+
+            ReportSink.println("Значень: " + size + ", паралелізм пулу: " + ForkJoinPool.getCommonPoolParallelism());
+            double expected = run("List<Float>", () -> boxed.stream().mapToDouble(Float::doubleValue), null);
+            run("float[] послідовно", () -> PrimitiveSpliterators.stream(values, false), expected);
+            run("float[] паралельно", () -> PrimitiveSpliterators.stream(values, true), expected);
+            run("завантаження файлу", () -> DataFileHandler.stream(
+                    FloatList.toPrimitive(DataFileHandler.loadArrayFromFile(dataFile.toString())), false), expected);
+            run("mmap послідовно", () -> DataFileHandler.streamFromFile(dataFile.toString(), false), expected);
+            run("mmap паралельно", () -> DataFileHandler.streamFromFile(dataFile.toString(), true), expected);
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        } finally {
+            Files.deleteIfExists(dataFile);
+        }
+        ReportSink.flush();
+    }
+
+    /**
+     * Виконує конвеєр двічі (перший раз - розігрів JIT) і виводить час другого проходу.
+     *
+     * @return Сума відібраних значень.
+     */
+    private static double run(String name, Supplier<DoubleStream> source, Double expected) {
+        double result = 0;
+        long executionTime = 0;
+        for (int repeat = 0; repeat < 2; repeat++) {
+            long timeStart = System.nanoTime();
+            result = source.get().filter(value -> value > 0).sum();
+            executionTime = System.nanoTime() - timeStart;
+        }
+        // Порядок додавання в паралельному потоці інший, тому допускається похибка округлення
+        if (expected != null && Math.abs(result - expected) > Math.abs(expected) * 1e-9) {
+            throw new IllegalStateException(name + ": сума " + result + " не збігається з " + expected);
+        }
+        ReportSink.println(String.format("%-22s %10.2f мс, сума додатних %.6e", name, executionTime / 1e6, result));
+        return result;
+    }
+}
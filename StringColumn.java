@@ -0,0 +1,421 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Клас StringColumn зберігає рядки набору даних як байти UTF-8 в одному масиві (арені).
+ *
+ * <p>Замість окремого об'єкта {@link String} з власним масивом на кожен рядок
+ * зберігаються лише арена байтів та таблиця зміщень {@code offsets}: рядок i займає
+ * байти [offsets[i], offsets[i + 1]). Впорядкований індекс {@code order} - це
+ * перестановка номерів рядків, відсортована багатоключовим швидким сортуванням
+ * (тривимірне розбиття за байтом на поточній глибині, Bentley-Sedgewick) без
+ * декодування байтів у символи.</p>
+ *
+ * <p>Порядок - беззнакове порівняння байтів UTF-8, тобто порядок кодових точок
+ * Unicode. Він збігається з {@link String#compareTo} для всіх символів, крім
+ * пар сурогатів (символів поза базовою площиною).</p>
+ *
+ * <p>Перевірка наявності та пошук за префіксом виконуються бінарним пошуком у
+ * впорядкованому індексі: префікс відповідає неперервному діапазону позицій.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java StringColumn list/String.data --contains="Golden rays shining through tall trees" --prefix=Wa
+ * }
+ * </pre>
+ */
+public final class StringColumn {
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int INSERTION_SORT_THRESHOLD = 12;
+
+    private final byte[] arena;
+    private final int[] offsets;
+    private final int[] order;
+
+    private StringColumn(byte[] arena, int[] offsets, int count) {
+        this.arena = arena;
+        this.offsets = offsets;
+        this.order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        sort(0, count, 0);
+    }
+
+    /**
+     * Накопичує рядки, розібрані з послідовних блоків байтів.
+     */
+    static final class Builder {
+        private byte[] arena = new byte[READ_BUFFER_SIZE];
+        private int[] offsets = new int[1025];
+        private int count;
+        private boolean firstLine = true;
+
+        /**
+         * Додає всі повні рядки діапазону [from, to).
+         *
+         * @param last true, якщо це останній блок і незавершений рядок теж слід додати.
+         * @return Кількість оброблених байтів від from; решту слід передати з наступним блоком.
+         */
+        int appendLines(byte[] bytes, int from, int to, boolean last) {
+            int lineStart = from;
+            for (int i = from; i < to; i++) {
+                if (bytes[i] == '\n') {
+                    appendLine(bytes, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (last && lineStart < to) {
+                appendLine(bytes, lineStart, to);
+                lineStart = to;
+            }
+            return lineStart - from;
+        }
+
+        /**
+         * Додає один рядок без обрізання пробілів.
+         */
+        Builder add(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            append(bytes, 0, bytes.length);
+            return this;
+        }
+
+        private void appendLine(byte[] bytes, int from, int to) {
+            // Пропускаємо BOM, пробіли та '\r' (байти UTF-8 багатобайтових символів більші за пробіл)
+            if (firstLine && to - from >= 3 && bytes[from] == (byte) 0xEF
+                    && bytes[from + 1] == (byte) 0xBB && bytes[from + 2] == (byte) 0xBF) {
+                from += 3;
+            }
+            firstLine = false;
+            while (from < to && (bytes[from] & 0xFF) <= ' ') {
+                from++;
+            }
+            while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+                to--;
+            }
+            if (from < to) {
+                append(bytes, from, to);
+            }
+        }
+
+        private void append(byte[] bytes, int from, int to) {
+            int start = offsets[count];
+            int length = to - from;
+            if (start + length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, start + length));
+            }
+            System.arraycopy(bytes, from, arena, start, length);
+            if (count + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++count] = start + length;
+        }
+
+        StringColumn build() {
+            return new StringColumn(Arrays.copyOf(arena, offsets[count]), Arrays.copyOf(offsets, count + 1), count);
+        }
+    }
+
+    /**
+     * Завантажує файл рядків блоками по {@value #READ_BUFFER_SIZE} байт.
+     *
+     * @param filePath Шлях до файлу UTF-8, один рядок даних у рядку файлу.
+     * @return Стовпець із впорядкованим індексом.
+     */
+    public static StringColumn load(String filePath) {
+        Builder builder = new Builder();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int length = 0;
+        try (InputStream input = Files.newInputStream(Paths.get(filePath))) {
+            int read;
+            while ((read = input.read(buffer, length, buffer.length - length)) >= 0) {
+                length += read;
+                int consumed = builder.appendLines(buffer, 0, length, false);
+                length -= consumed;
+                System.arraycopy(buffer, consumed, buffer, 0, length);
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            builder.appendLines(buffer, 0, length, true);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return builder.build();
+    }
+
+    public static void main(String[] args) {
+        String filePath = "list/String.data";
+        String containsText = null;
+        String prefixText = null;
+        for (String argument : args) {
+            if (ReportSink.applyOption(argument) || PerformanceTracker.applyOption(argument)) {
+                continue;
+            }
+            if (argument.startsWith("--contains=")) {
+                containsText = argument.substring("--contains=".length());
+            } else if (argument.startsWith("--prefix=")) {
+                prefixText = argument.substring("--prefix=".length());
+            } else {
+                filePath = argument;
+            }
+        }
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        StringColumn column = load(filePath);
+
+        PerformanceTracker.displayOperationTime(timeStart, "завантаження та сортування рядків в арені");
+
+        ReportSink.println("Файл: " + filePath + ", рядків: " + column.size() + ", унікальних: " + column.distinctCount());
+        ReportSink.println("Впорядковані рядки:");
+        int toPrint = ReportSink.elementsToPrint(column.size());
+        for (int position = 0; position < toPrint; position++) {
+            ReportSink.println("  " + column.getSorted(position));
+        }
+        ReportSink.printOmitted(toPrint, column.size());
+
+        if (containsText != null) {
+            timeStart = PerformanceTracker.startOperation();
+
+            boolean found = column.contains(containsText);
+
+            PerformanceTracker.displayOperationTime(timeStart, "пошук рядка в арені");
+
+            ReportSink.println("Рядок '" + containsText + "' " + (found ? "знайдено" : "не знайдено"));
+        }
+
+        if (prefixText != null) {
+            timeStart = PerformanceTracker.startOperation();
+
+            int[] range = column.prefixRange(prefixText);
+
+            PerformanceTracker.displayOperationTime(timeStart, "пошук за префіксом");
+
+            ReportSink.println("Рядків з префіксом '" + prefixText + "': " + (range[1] - range[0]));
+            int prefixToPrint = ReportSink.elementsToPrint(range[1] - range[0]);
+            for (int position = range[0]; position < range[0] + prefixToPrint; position++) {
+                ReportSink.println("  " + column.getSorted(position));
+            }
+            ReportSink.printOmitted(prefixToPrint, range[1] - range[0]);
+        }
+
+        column.printMemoryReport();
+        ReportSink.flush();
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * Рядок за номером у файлі (декодується з арени).
+     */
+    public String get(int index) {
+        return new String(arena, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Рядок за позицією у впорядкованому індексі.
+     */
+    public String getSorted(int position) {
+        return get(order[position]);
+    }
+
+    /**
+     * Кількість різних рядків: однакові рядки стоять поруч у впорядкованому індексі.
+     */
+    public int distinctCount() {
+        int distinct = order.length == 0 ? 0 : 1;
+        for (int position = 1; position < order.length; position++) {
+            if (compareEntries(order[position - 1], order[position]) != 0) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Перевіряє наявність рядка бінарним пошуком за байтами UTF-8.
+     */
+    public boolean contains(String value) {
+        byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        int position = lowerBound(key, key.length);
+        return position < order.length && compareWithKey(order[position], key, key.length, false) == 0;
+    }
+
+    /**
+     * Діапазон позицій [from, to) впорядкованого індексу, рядки в якому починаються з prefix.
+     */
+    public int[] prefixRange(String prefix) {
+        byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        int from = lowerBound(key, key.length);
+        int low = from;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareWithKey(order[middle], key, key.length, true) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return new int[] {from, low};
+    }
+
+    public int countWithPrefix(String prefix) {
+        int[] range = prefixRange(prefix);
+        return range[1] - range[0];
+    }
+
+    private int lowerBound(byte[] key, int keyLength) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareWithKey(order[middle], key, keyLength, false) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Порівнює рядок з ключем; якщо truncate, рядок обрізається до довжини ключа (порівняння префікса).
+     */
+    private int compareWithKey(int entry, byte[] key, int keyLength, boolean truncate) {
+        int start = offsets[entry];
+        int end = offsets[entry + 1];
+        if (truncate) {
+            end = Math.min(end, start + keyLength);
+        }
+        return Arrays.compareUnsigned(arena, start, end, key, 0, keyLength);
+    }
+
+    private int compareEntries(int left, int right) {
+        return Arrays.compareUnsigned(arena, offsets[left], offsets[left + 1], arena, offsets[right], offsets[right + 1]);
+    }
+
+    private int compareFromDepth(int left, int right, int depth) {
+        return Arrays.compareUnsigned(arena, offsets[left] + depth, offsets[left + 1],
+                arena, offsets[right] + depth, offsets[right + 1]);
+    }
+
+    /**
+     * Байт рядка на глибині depth як беззнакове число або -1 після кінця рядка.
+     */
+    private int byteAt(int entry, int depth) {
+        int position = offsets[entry] + depth;
+        return position < offsets[entry + 1] ? arena[position] & 0xFF : -1;
+    }
+
+    /**
+     * Багатоключове швидке сортування діапазону [low, high) індексу; перші depth байтів у діапазоні однакові.
+     */
+    private void sort(int low, int high, int depth) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            int pivot = medianOfThree(byteAt(order[low], depth),
+                    byteAt(order[(low + high) >>> 1], depth), byteAt(order[high - 1], depth));
+
+            // Тривимірне розбиття: [low, lessEnd) < pivot, [lessEnd, greaterStart) == pivot, [greaterStart, high) > pivot
+            int lessEnd = low;
+            int greaterStart = high;
+            int i = low;
+            while (i < greaterStart) {
+                int current = byteAt(order[i], depth);
+                if (current < pivot) {
+                    swap(lessEnd++, i++);
+                } else if (current > pivot) {
+                    swap(i, --greaterStart);
+                } else {
+                    i++;
+                }
+            }
+
+            sort(low, lessEnd, depth);
+            if (pivot >= 0) {
+                sort(lessEnd, greaterStart, depth + 1);
+            }
+            low = greaterStart;
+        }
+        insertionSort(low, high, depth);
+    }
+
+    private void insertionSort(int low, int high, int depth) {
+        for (int i = low + 1; i < high; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= low && compareFromDepth(order[j], current, depth) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+    }
+
+    private static int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private void swap(int left, int right) {
+        int value = order[left];
+        order[left] = order[right];
+        order[right] = value;
+    }
+
+    /**
+     * Байти, зайняті стовпцем: арена, таблиця зміщень та впорядкований індекс.
+     */
+    public long memoryBytes() {
+        return arrayBytes(arena.length, 1) + arrayBytes(offsets.length, 4) + arrayBytes(order.length, 4);
+    }
+
+    /**
+     * Оцінка пам'яті для тих самих рядків у {@code ArrayList<String>} та {@code TreeSet<String>}
+     * на 64-бітній JVM зі стиснутими посиланнями та компактними рядками.
+     *
+     * @return {розмір ArrayList, розмір TreeSet} у байтах.
+     */
+    long[] boxedMemoryBytes() {
+        long strings = 0;
+        for (int i = 0; i < order.length; i++) {
+            strings += stringBytes(get(i));
+        }
+        // ArrayList: об'єкт списку та масив посилань; TreeSet: TreeSet, TreeMap і вузол Entry на кожен рядок
+        long arrayList = 24 + arrayBytes(order.length, 4) + strings;
+        long treeSet = 16 + 48 + 40L * distinctCount() + strings;
+        return new long[] {arrayList, treeSet};
+    }
+
+    private static long stringBytes(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        // Об'єкт String (заголовок, hash, coder, посилання) та масив byte[] з символами
+        return 24 + arrayBytes(value.length(), latin1 ? 1 : 2);
+    }
+
+    private static long arrayBytes(long length, int elementBytes) {
+        return (16 + length * elementBytes + 7) & ~7L;
+    }
+
+    void printMemoryReport() {
+        long[] boxed = boxedMemoryBytes();
+        long column = memoryBytes();
+        ReportSink.println("\n========= Пам'ять (рядків: " + size() + ") =========");
+        ReportSink.println(String.format("StringColumn:      %12d Б (арена %d Б, зміщення та індекс %d Б)",
+                column, arena.length, column - arrayBytes(arena.length, 1)));
+        ReportSink.println(String.format("ArrayList<String>: %12d Б (x%.1f)", boxed[0], (double) boxed[0] / Math.max(1, column)));
+        ReportSink.println(String.format("TreeSet<String>:   %12d Б (x%.1f)", boxed[1], (double) boxed[1] / Math.max(1, column)));
+    }
+}
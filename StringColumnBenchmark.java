@@ -0,0 +1,153 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Клас StringColumnBenchmark порівнює {@link StringColumn} з {@code ArrayList<String>} та {@code TreeSet<String>}.
+ *
+ * <p>Рядки генеруються зі слів {@code list/String.data} (3-6 випадкових слів у
+ * рядку), тож довжина та спільні префікси схожі на реальні дані. Вимірюються
+ * побудова з сортуванням, перевірка наявності (половина запитів - наявні рядки)
+ * та підрахунок рядків за префіксом (для списку - двома бінарними пошуками);
+ * результати звіряються між структурами.
+ * Рядки складаються з ASCII, тому порядок {@link String#compareTo} збігається
+ * з порядком байтів у StringColumn.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java StringColumnBenchmark 1000000 200000
+ * }
+ * </pre>
+ * <p>Аргументи: кількість рядків, кількість запитів.</p>
+ */
+public class StringColumnBenchmark {
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        Random random = new Random(SEED);
+
+        StringColumn source = StringColumn.load("list/String.data");
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < source.size(); i++) {
+            Collections.addAll(words, source.get(i).split(" "));
+        }
+
+        List<String> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder line = new StringBuilder();
+            int wordCount = 3 + random.nextInt(4);
+            for (int word = 0; word < wordCount; word++) {
+                line.append(word == 0 ? "" : " ").append(words.get(random.nextInt(words.size())));
+            }
+            lines.add(line.toString());
+        }
+        String[] queries = new String[queryCount];
+        String[] prefixes = new String[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            String present = lines.get(random.nextInt(size));
+            queries[i] = i % 2 == 0 ? present : present + "!";
+            prefixes[i] = present.substring(0, Math.min(present.length(), 1 + random.nextInt(8)));
+        }
+
+        ReportSink.println("Рядків: " + size + ", слів у словнику: " + words.size() + ", запитів: " + queryCount);
+        for (int repeat = 0; repeat < 2; repeat++) {
+            // Перший прохід - розігрів JIT
+            boolean report = repeat == 1;
+
+            long timeStart = System.nanoTime();
+            List<String> sortedList = new ArrayList<>(lines);
+            Collections.sort(sortedList);
+            long listBuild = System.nanoTime() - timeStart;
+            timeStart = System.nanoTime();
+            long listFound = 0;
+            for (String query : queries) {
+                if (Collections.binarySearch(sortedList, query) >= 0) {
+                    listFound++;
+                }
+            }
+            long listQuery = System.nanoTime() - timeStart;
+            timeStart = System.nanoTime();
+            long listPrefixed = 0;
+            for (String prefix : prefixes) {
+                // Межі діапазону префікса - дві точки вставки (рядки без символу U+FFFF)
+                listPrefixed += insertionPoint(sortedList, prefix + Character.MAX_VALUE) - insertionPoint(sortedList, prefix);
+            }
+            long listPrefix = System.nanoTime() - timeStart;
+
+            timeStart = System.nanoTime();
+            TreeSet<String> treeSet = new TreeSet<>(lines);
+            long treeBuild = System.nanoTime() - timeStart;
+            timeStart = System.nanoTime();
+            long treeFound = 0;
+            for (String query : queries) {
+                if (treeSet.contains(query)) {
+                    treeFound++;
+                }
+            }
+            long treeQuery = System.nanoTime() - timeStart;
+
+            timeStart = System.nanoTime();
+            StringColumn.Builder builder = new StringColumn.Builder();
+            for (String line : lines) {
+                builder.add(line);
+            }
+            StringColumn column = builder.build();
+            long columnBuild = System.nanoTime() - timeStart;
+            timeStart = System.nanoTime();
+            long columnFound = 0;
+            for (String query : queries) {
+                if (column.contains(query)) {
+                    columnFound++;
+                }
+            }
+            long columnQuery = System.nanoTime() - timeStart;
+            timeStart = System.nanoTime();
+            long columnPrefixed = 0;
+            for (String prefix : prefixes) {
+                columnPrefixed += column.countWithPrefix(prefix);
+            }
+            long columnPrefix = System.nanoTime() - timeStart;
+
+            if (listFound != columnFound || treeFound != columnFound || listPrefixed != columnPrefixed
+                    || column.distinctCount() != treeSet.size()) {
+                throw new IllegalStateException("Розбіжність пошуку: " + listFound + ", " + treeFound + ", " + columnFound
+                        + "; префікси: " + listPrefixed + ", " + columnPrefixed);
+            }
+            if (!sortedList.get(size / 2).equals(column.getSorted(size / 2))) {
+                throw new IllegalStateException("Розбіжність порядку: " + sortedList.get(size / 2) + " != " + column.getSorted(size / 2));
+            }
+            if (report) {
+                ReportSink.println(String.format("ArrayList<String> побудова %8.1f мс, пошук %7.1f нс/запит, префікс %7.1f нс/запит (%d)",
+                        listBuild / 1e6, (double) listQuery / queryCount, (double) listPrefix / queryCount, listPrefixed));
+                ReportSink.println(String.format("TreeSet<String>   побудова %8.1f мс, пошук %7.1f нс/запит",
+                        treeBuild / 1e6, (double) treeQuery / queryCount));
+                ReportSink.println(String.format("StringColumn      побудова %8.1f мс, пошук %7.1f нс/запит, префікс %7.1f нс/запит (%d)",
+                        columnBuild / 1e6, (double) columnQuery / queryCount, (double) columnPrefix / queryCount, columnPrefixed));
+                column.printMemoryReport();
+            }
+        }
+        ReportSink.flush();
+    }
+
+    /**
+     * Позиція першого рядка, не меншого за key (binarySearch для дублікатів повертає будь-який з них).
+     */
+    private static int insertionPoint(List<String> sortedList, String key) {
+        int low = 0;
+        int high = sortedList.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedList.get(middle).compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
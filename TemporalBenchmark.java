@@ -0,0 +1,135 @@
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Клас TemporalBenchmark порівнює {@link TemporalIndex} з обробкою через об'єкти {@code java.time}.
+ *
+ * <p>У пам'яті генерується текст з мітками часу ISO (як у {@code list/LocalDateTime.data}).
+ * Для кожного підходу вимірюються розбір, сортування та підрахунок подій у вікнах
+ * тривалістю одна доба:</p>
+ * <ul>
+ *   <li>java.time - {@link LocalDateTime#parse} для кожного рядка, {@link Arrays#sort(Object[])},
+ *       бінарний пошук меж вікна за {@link LocalDateTime#compareTo};</li>
+ *   <li>TemporalIndex - розбір байтів у {@code long}, {@link RadixSort}, бінарний пошук у {@code long[]}.</li>
+ * </ul>
+ * <p>Результати обох підходів звіряються.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java TemporalBenchmark 2000000 100000
+ * }
+ * </pre>
+ * <p>Аргументи: кількість міток часу, кількість запитів до вікон.</p>
+ */
+public class TemporalBenchmark {
+    private static final long SEED = 42L;
+    private static final long YEAR_START = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond();
+    private static final int SECONDS_PER_YEAR = 365 * TemporalIndex.SECONDS_PER_DAY;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Random random = new Random(SEED);
+
+        StringBuilder text = new StringBuilder(size * 22);
+        for (int i = 0; i < size; i++) {
+            long epochSecond = YEAR_START + random.nextInt(SECONDS_PER_YEAR);
+            text.append(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC)
+                    .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append("Z\r\n");
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        long[] windowStarts = new long[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            windowStarts[i] = YEAR_START + random.nextInt(SECONDS_PER_YEAR);
+        }
+
+        ReportSink.println("Міток часу: " + size + " (" + bytes.length + " Б), запитів до вікон: " + queryCount);
+        for (int repeat = 0; repeat < 3; repeat++) {
+            // Перший прохід - розігрів JIT
+            boolean report = repeat == 2;
+            long javaTimeChecksum = runJavaTime(bytes, windowStarts, report);
+            long indexChecksum = runTemporalIndex(bytes, windowStarts, report);
+            if (javaTimeChecksum != indexChecksum) {
+                throw new IllegalStateException("Розбіжність результатів: " + javaTimeChecksum + " != " + indexChecksum);
+            }
+        }
+        ReportSink.flush();
+    }
+
+    private static long runJavaTime(byte[] bytes, long[] windowStarts, boolean report) {
+        long timeStart = System.nanoTime();
+        String[] lines = new String(bytes, StandardCharsets.UTF_8).split("\r\n");
+        LocalDateTime[] values = new LocalDateTime[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            values[i] = LocalDateTime.parse(lines[i], DateTimeFormatter.ISO_DATE_TIME);
+        }
+        long parseTime = System.nanoTime() - timeStart;
+
+        timeStart = System.nanoTime();
+        Arrays.sort(values);
+        long sortTime = System.nanoTime() - timeStart;
+
+        timeStart = System.nanoTime();
+        long checksum = 0;
+        for (long windowStart : windowStarts) {
+            LocalDateTime from = LocalDateTime.ofEpochSecond(windowStart, 0, ZoneOffset.UTC);
+            LocalDateTime to = from.plusDays(1);
+            checksum += lowerBound(values, to) - lowerBound(values, from);
+        }
+        long queryTime = System.nanoTime() - timeStart;
+
+        if (report) {
+            printRow("java.time", parseTime, sortTime, queryTime, values.length, windowStarts.length);
+        }
+        return checksum;
+    }
+
+    private static long runTemporalIndex(byte[] bytes, long[] windowStarts, boolean report) {
+        long timeStart = System.nanoTime();
+        TemporalIndex.ColumnParser parser = new TemporalIndex.ColumnParser(TemporalIndex.Kind.DATE_TIME);
+        parser.parseLines(bytes, 0, bytes.length, true);
+        long[] values = parser.values();
+        long parseTime = System.nanoTime() - timeStart;
+
+        timeStart = System.nanoTime();
+        TemporalIndex index = TemporalIndex.of(TemporalIndex.Kind.DATE_TIME, values);
+        long sortTime = System.nanoTime() - timeStart;
+
+        timeStart = System.nanoTime();
+        long checksum = 0;
+        for (long windowStart : windowStarts) {
+            checksum += index.countBetween(windowStart, windowStart + TemporalIndex.SECONDS_PER_DAY);
+        }
+        long queryTime = System.nanoTime() - timeStart;
+
+        if (report) {
+            printRow("TemporalIndex", parseTime, sortTime, queryTime, index.size(), windowStarts.length);
+        }
+        return checksum;
+    }
+
+    private static int lowerBound(LocalDateTime[] values, LocalDateTime key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void printRow(String name, long parseTime, long sortTime, long queryTime, int size, int queryCount) {
+        ReportSink.println(String.format("%-14s розбір %8.1f нс/рядок, сортування %8.1f нс/елемент, вікно %8.1f нс/запит",
+                name, (double) parseTime / size, (double) sortTime / size, (double) queryTime / queryCount));
+    }
+}
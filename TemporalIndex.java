@@ -0,0 +1,552 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Клас TemporalIndex - впорядкований індекс міток часу для файлів LocalDateTime, LocalDate та LocalTime.
+ *
+ * <p>Рядки ISO розбираються безпосередньо з байтів файлу власним розбором без
+ * створення об'єктів {@code java.time} чи {@link String}, у масив {@code long}:</p>
+ * <ul>
+ *   <li>{@link Kind#DATE_TIME} - секунди від епохи UTC ({@code 2025-12-26T11:24:30Z},
+ *       зміщення {@code ±HH:MM} враховується, дробова частина секунд відкидається);</li>
+ *   <li>{@link Kind#DATE} - дні від епохи ({@code 2025-02-12});</li>
+ *   <li>{@link Kind#TIME} - секунди від початку доби ({@code 02:42:53}).</li>
+ * </ul>
+ *
+ * <p>Масив сортується {@link RadixSort}. Часові вікна [від, до) обчислюються двома
+ * бінарними пошуками, розподіл за кошиками (хвилина, година, доба, тиждень) -
+ * гістограмою з префіксними сумами, тож кількість подій у вікні з цілих кошиків
+ * обчислюється за O(1).</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java TemporalIndex list/LocalDateTime.data --from=2025-03-01T00:00:00Z --to=2025-04-01T00:00:00Z --bucket=day
+ * java TemporalIndex list/LocalTime.data --bucket=hour
+ * }
+ * </pre>
+ */
+public final class TemporalIndex {
+    static final int SECONDS_PER_MINUTE = 60;
+    static final int SECONDS_PER_HOUR = 3600;
+    static final int SECONDS_PER_DAY = 86_400;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_HISTOGRAM_BUCKETS = 10_000_000;
+
+    /**
+     * Вид міток часу та одиниця значень в індексі.
+     */
+    enum Kind {
+        DATE_TIME("секунди від епохи"),
+        DATE("дні від епохи"),
+        TIME("секунди від початку доби");
+
+        final String unit;
+
+        Kind(String unit) {
+            this.unit = unit;
+        }
+
+        /**
+         * Визначає вид за іменем файлу (LocalDateTime.data, LocalDate-2024.data тощо).
+         */
+        static Kind fromFileName(String fileName) {
+            DatasetCatalog.ColumnType type = DatasetCatalog.ColumnType.fromFileName(fileName);
+            if (type == DatasetCatalog.ColumnType.LOCAL_DATE_TIME) {
+                return DATE_TIME;
+            } else if (type == DatasetCatalog.ColumnType.LOCAL_DATE) {
+                return DATE;
+            } else if (type == DatasetCatalog.ColumnType.LOCAL_TIME) {
+                return TIME;
+            }
+            throw new IllegalArgumentException("Файл не містить міток часу: " + fileName);
+        }
+
+        /**
+         * Розбирає одне значення з діапазону байтів [from, to).
+         */
+        long parse(byte[] bytes, int from, int to) {
+            switch (this) {
+                case DATE_TIME:
+                    return parseDateTime(bytes, from, to);
+                case DATE:
+                    return parseDate(bytes, from, to);
+                default:
+                    return parseTime(bytes, from, to);
+            }
+        }
+
+        long parse(String text) {
+            byte[] bytes = text.trim().getBytes(StandardCharsets.US_ASCII);
+            return parse(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Розмір кошика за назвою: minute, hour, day, week.
+         */
+        long bucketSize(String name) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "minute":
+                    if (this != DATE) {
+                        return SECONDS_PER_MINUTE;
+                    }
+                    break;
+                case "hour":
+                    if (this != DATE) {
+                        return SECONDS_PER_HOUR;
+                    }
+                    break;
+                case "day":
+                    return this == DATE ? 1 : SECONDS_PER_DAY;
+                case "week":
+                    if (this != TIME) {
+                        return this == DATE ? 7 : 7L * SECONDS_PER_DAY;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            throw new IllegalArgumentException("Кошик '" + name + "' не підтримується для " + this);
+        }
+
+        String format(long value) {
+            switch (this) {
+                case DATE_TIME:
+                    return LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC) + "Z";
+                case DATE:
+                    return LocalDate.ofEpochDay(value).toString();
+                default:
+                    return LocalTime.ofSecondOfDay(Math.floorMod(value, SECONDS_PER_DAY)).toString();
+            }
+        }
+    }
+
+    /**
+     * Гістограма кількості значень за кошиками однакового розміру.
+     */
+    static final class Histogram {
+        final long origin;
+        final long bucketSize;
+        final int[] counts;
+        // prefix[i] - кількість значень у кошиках [0, i)
+        private final long[] prefix;
+
+        Histogram(long origin, long bucketSize, int[] counts) {
+            this.origin = origin;
+            this.bucketSize = bucketSize;
+            this.counts = counts;
+            this.prefix = new long[counts.length + 1];
+            for (int i = 0; i < counts.length; i++) {
+                prefix[i + 1] = prefix[i] + counts[i];
+            }
+        }
+
+        long bucketStart(int bucket) {
+            return origin + bucket * bucketSize;
+        }
+
+        /**
+         * Кількість значень у кошиках [fromBucket, toBucket).
+         */
+        long countBuckets(int fromBucket, int toBucket) {
+            int low = Math.max(0, Math.min(fromBucket, counts.length));
+            int high = Math.max(low, Math.min(toBucket, counts.length));
+            return prefix[high] - prefix[low];
+        }
+    }
+
+    final Kind kind;
+    private final long[] sortedValues;
+
+    private TemporalIndex(Kind kind, long[] sortedValues) {
+        this.kind = kind;
+        this.sortedValues = sortedValues;
+    }
+
+    /**
+     * Будує індекс з невпорядкованих значень; масив сортується на місці.
+     */
+    static TemporalIndex of(Kind kind, long[] values) {
+        RadixSort.sort(values);
+        return new TemporalIndex(kind, values);
+    }
+
+    /**
+     * Завантажує файл, розбираючи рядки блоками по {@value #READ_BUFFER_SIZE} байт.
+     *
+     * @param filePath Шлях до файлу; вид міток часу визначається за іменем.
+     * @return Впорядкований індекс.
+     */
+    public static TemporalIndex load(String filePath) {
+        Path path = Paths.get(filePath);
+        Kind kind = Kind.fromFileName(path.getFileName().toString());
+        ColumnParser parser = new ColumnParser(kind);
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int length = 0;
+        try (InputStream input = Files.newInputStream(path)) {
+            int read;
+            while ((read = input.read(buffer, length, buffer.length - length)) >= 0) {
+                length += read;
+                int consumed = parser.parseLines(buffer, 0, length, false);
+                length -= consumed;
+                System.arraycopy(buffer, consumed, buffer, 0, length);
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            parser.parseLines(buffer, 0, length, true);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return of(kind, parser.values());
+    }
+
+    /**
+     * Накопичує значення, розібрані з послідовних блоків байтів.
+     */
+    static final class ColumnParser {
+        private final Kind kind;
+        private long[] values = new long[1024];
+        private int count;
+        private long lineNumber;
+
+        ColumnParser(Kind kind) {
+            this.kind = kind;
+        }
+
+        /**
+         * Розбирає всі повні рядки діапазону [from, to).
+         *
+         * @param last true, якщо це останній блок і незавершений рядок теж слід розібрати.
+         * @return Кількість оброблених байтів від from; решту слід передати з наступним блоком.
+         */
+        int parseLines(byte[] bytes, int from, int to, boolean last) {
+            int lineStart = from;
+            for (int i = from; i < to; i++) {
+                if (bytes[i] == '\n') {
+                    parseLine(bytes, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (last && lineStart < to) {
+                parseLine(bytes, lineStart, to);
+                lineStart = to;
+            }
+            return lineStart - from;
+        }
+
+        private void parseLine(byte[] bytes, int from, int to) {
+            lineNumber++;
+            // Пропускаємо BOM, пробіли та '\r'
+            if (lineNumber == 1 && to - from >= 3 && bytes[from] == (byte) 0xEF
+                    && bytes[from + 1] == (byte) 0xBB && bytes[from + 2] == (byte) 0xBF) {
+                from += 3;
+            }
+            while (from < to && bytes[from] <= ' ') {
+                from++;
+            }
+            while (to > from && bytes[to - 1] <= ' ') {
+                to--;
+            }
+            if (from == to) {
+                return;
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            try {
+                values[count++] = kind.parse(bytes, from, to);
+            } catch (IllegalArgumentException malformed) {
+                throw new IllegalArgumentException("Рядок " + lineNumber + ": " + malformed.getMessage(), malformed);
+            }
+        }
+
+        long[] values() {
+            return Arrays.copyOf(values, count);
+        }
+    }
+
+    public static void main(String[] args) {
+        String filePath = "list/LocalDateTime.data";
+        String fromText = null;
+        String toText = null;
+        String bucketName = null;
+        for (String argument : args) {
+            if (ReportSink.applyOption(argument) || PerformanceTracker.applyOption(argument)) {
+                continue;
+            }
+            if (argument.startsWith("--from=")) {
+                fromText = argument.substring("--from=".length());
+            } else if (argument.startsWith("--to=")) {
+                toText = argument.substring("--to=".length());
+            } else if (argument.startsWith("--bucket=")) {
+                bucketName = argument.substring("--bucket=".length());
+            } else {
+                filePath = argument;
+            }
+        }
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        TemporalIndex index = load(filePath);
+
+        PerformanceTracker.displayOperationTime(timeStart, "розбір і сортування міток часу");
+
+        ReportSink.println("Файл: " + filePath + ", вид: " + index.kind + " (" + index.kind.unit + "), значень: " + index.size());
+        if (index.size() > 0) {
+            ReportSink.println("Найраніше: " + index.kind.format(index.min()) + ", найпізніше: " + index.kind.format(index.max()));
+        }
+
+        if (fromText != null || toText != null) {
+            long from = fromText == null ? Long.MIN_VALUE : index.kind.parse(fromText);
+            long to = toText == null ? Long.MAX_VALUE : index.kind.parse(toText);
+
+            timeStart = PerformanceTracker.startOperation();
+
+            long count = index.countBetween(from, to);
+
+            PerformanceTracker.displayOperationTime(timeStart, "підрахунок подій у вікні");
+
+            ReportSink.println("Подій у вікні [" + (fromText == null ? "-∞" : fromText) + ", "
+                    + (toText == null ? "+∞" : toText) + "): " + count);
+        }
+
+        if (index.size() > 0) {
+            String bucket = bucketName != null ? bucketName : index.kind == Kind.TIME ? "hour" : "day";
+            printHistogram(index, index.histogram(index.kind.bucketSize(bucket)), bucket);
+        }
+        ReportSink.flush();
+    }
+
+    private static void printHistogram(TemporalIndex index, Histogram histogram, String bucketName) {
+        ReportSink.println("\nГістограма за кошиками '" + bucketName + "' (" + histogram.counts.length + " кошиків):");
+        int toPrint = ReportSink.elementsToPrint(histogram.counts.length);
+        for (int bucket = 0; bucket < toPrint; bucket++) {
+            ReportSink.println(String.format("  %-22s %8d", index.kind.format(histogram.bucketStart(bucket)), histogram.counts[bucket]));
+        }
+        ReportSink.printOmitted(toPrint, histogram.counts.length);
+    }
+
+    public int size() {
+        return sortedValues.length;
+    }
+
+    public long min() {
+        return sortedValues[0];
+    }
+
+    public long max() {
+        return sortedValues[sortedValues.length - 1];
+    }
+
+    long valueAt(int position) {
+        return sortedValues[position];
+    }
+
+    /**
+     * Позиція першого значення, не меншого за key.
+     */
+    public int lowerBound(long key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Кількість значень у вікні [from, to).
+     */
+    public long countBetween(long from, long to) {
+        return from >= to ? 0 : lowerBound(to) - lowerBound(from);
+    }
+
+    /**
+     * Гістограма за кошиками розміру bucketSize, вирівняними від епохи (від початку доби для TIME).
+     */
+    public Histogram histogram(long bucketSize) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("Розмір кошика має бути додатним: " + bucketSize);
+        }
+        if (sortedValues.length == 0) {
+            return new Histogram(0, bucketSize, new int[0]);
+        }
+        long firstBucket = Math.floorDiv(min(), bucketSize);
+        long bucketCount = Math.floorDiv(max(), bucketSize) - firstBucket + 1;
+        if (bucketCount > MAX_HISTOGRAM_BUCKETS) {
+            throw new IllegalArgumentException("Забагато кошиків: " + bucketCount + ", оберіть більший розмір кошика");
+        }
+        int[] counts = new int[(int) bucketCount];
+        for (long value : sortedValues) {
+            counts[(int) (Math.floorDiv(value, bucketSize) - firstBucket)]++;
+        }
+        return new Histogram(firstBucket * bucketSize, bucketSize, counts);
+    }
+
+    /**
+     * Циклічна гістограма: кошики розміру bucketSize у межах періоду, наприклад години доби
+     * для міток DATE_TIME (bucketSize = 3600, period = 86400).
+     */
+    public int[] periodicHistogram(long bucketSize, long period) {
+        if (bucketSize <= 0 || period % bucketSize != 0) {
+            throw new IllegalArgumentException("Період " + period + " має ділитися на розмір кошика " + bucketSize);
+        }
+        int[] counts = new int[(int) (period / bucketSize)];
+        for (long value : sortedValues) {
+            counts[(int) (Math.floorMod(value, period) / bucketSize)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Розбирає дату-час ISO: {@code YYYY-MM-DDTHH:MM[:SS[.дріб]][Z|±HH:MM]}.
+     *
+     * @return Секунди від епохи UTC.
+     */
+    static long parseDateTime(byte[] bytes, int from, int to) {
+        if (to - from < 16 || (bytes[from + 10] != 'T' && bytes[from + 10] != 't' && bytes[from + 10] != ' ')) {
+            throw malformed(bytes, from, to);
+        }
+        long epochDay = parseDate(bytes, from, from + 10);
+        int position = from + 11;
+        int end = position + 5;
+        while (end < to && (isDigit(bytes[end]) || bytes[end] == ':' || bytes[end] == '.')) {
+            end++;
+        }
+        int secondOfDay = parseTime(bytes, position, end);
+        position = end;
+
+        int offsetSeconds = 0;
+        if (position < to) {
+            byte designator = bytes[position];
+            if ((designator == 'Z' || designator == 'z') && position + 1 == to) {
+                position++;
+            } else if ((designator == '+' || designator == '-') && to - position == 6 && bytes[position + 3] == ':') {
+                int hours = digits(bytes, position + 1, 2);
+                int minutes = digits(bytes, position + 4, 2);
+                if (hours > 18 || minutes > 59) {
+                    throw malformed(bytes, from, to);
+                }
+                offsetSeconds = (hours * SECONDS_PER_HOUR + minutes * SECONDS_PER_MINUTE) * (designator == '-' ? -1 : 1);
+                position = to;
+            }
+        }
+        if (position != to) {
+            throw malformed(bytes, from, to);
+        }
+        return epochDay * SECONDS_PER_DAY + secondOfDay - offsetSeconds;
+    }
+
+    /**
+     * Розбирає дату ISO {@code YYYY-MM-DD}.
+     *
+     * @return Дні від епохи.
+     */
+    static long parseDate(byte[] bytes, int from, int to) {
+        if (to - from != 10 || bytes[from + 4] != '-' || bytes[from + 7] != '-') {
+            throw malformed(bytes, from, to);
+        }
+        int year = digits(bytes, from, 4);
+        int month = digits(bytes, from + 5, 2);
+        int day = digits(bytes, from + 8, 2);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            throw malformed(bytes, from, to);
+        }
+        return epochDay(year, month, day);
+    }
+
+    /**
+     * Розбирає час ISO {@code HH:MM[:SS[.дріб]]}; дробова частина відкидається.
+     *
+     * @return Секунди від початку доби.
+     */
+    static int parseTime(byte[] bytes, int from, int to) {
+        if (to - from < 5 || bytes[from + 2] != ':') {
+            throw malformed(bytes, from, to);
+        }
+        int hour = digits(bytes, from, 2);
+        int minute = digits(bytes, from + 3, 2);
+        int second = 0;
+        int position = from + 5;
+        if (position < to) {
+            if (to - position < 3 || bytes[position] != ':') {
+                throw malformed(bytes, from, to);
+            }
+            second = digits(bytes, position + 1, 2);
+            position += 3;
+            if (position < to) {
+                if (bytes[position] != '.' || position + 1 == to) {
+                    throw malformed(bytes, from, to);
+                }
+                while (++position < to) {
+                    if (!isDigit(bytes[position])) {
+                        throw malformed(bytes, from, to);
+                    }
+                }
+            }
+        }
+        if (hour > 23 || minute > 59 || second > 59) {
+            throw malformed(bytes, from, to);
+        }
+        return hour * SECONDS_PER_HOUR + minute * SECONDS_PER_MINUTE + second;
+    }
+
+    /**
+     * Номер дня від 1970-01-01 за пролептичним григоріанським календарем.
+     */
+    static long epochDay(int year, int month, int day) {
+        // Рік зсувається так, щоб починатися з березня: 29 лютого стає останнім днем року
+        int shiftedYear = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(shiftedYear, 400);
+        int yearOfEra = shiftedYear - era * 400;
+        int dayOfYear = (153 * ((month + 9) % 12) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static int digits(byte[] bytes, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Очікувалися цифри: '" + new String(bytes, from, count, StandardCharsets.UTF_8) + "'");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+
+    private static IllegalArgumentException malformed(byte[] bytes, int from, int to) {
+        return new IllegalArgumentException("Невірний формат ISO: '"
+                + new String(bytes, from, Math.max(0, to - from), StandardCharsets.UTF_8) + "'");
+    }
+}
@@ -0,0 +1,563 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Клас WorkloadScenarioRunner відтворює навантаження, описане у файлі сценарію.
+ *
+ * <p>Сценарій - файл властивостей із такими ключами:</p>
+ * <pre>
+ * collection=set                      # list | queue | set | concurrent-set | map
+ * dataset=list/float.data             # файл даних (для map - файл записів Pet)
+ * operations=search:70,minmax:20,add:10   # операції та їх відносні частки
+ * threads=4                           # кількість потоків навантаження
+ * durationSeconds=10                  # тривалість вимірювання
+ * warmupSeconds=2                     # тривалість розігріву (не враховується)
+ * mode=closed                         # closed - без пауз; open - із заданою частотою
+ * targetRate=20000                    # сумарна частота операцій/с для режиму open
+ * </pre>
+ *
+ * <p>Підтримувані операції:</p>
+ * <ul>
+ *   <li>list: search, minmax, sort;</li>
+ *   <li>queue: search, minmax, peek, poll;</li>
+ *   <li>set, concurrent-set: search, minmax, add, remove;</li>
+ *   <li>map: findByKey, findByValue, add, remove.</li>
+ * </ul>
+ *
+ * <p>У відкритому циклі затримка відраховується від запланованого моменту початку
+ * операції, тому черга очікування під перевантаженням також потрапляє до перцентилів.
+ * Цілі list, queue, set і map викликають методи відповідних обробників
+ * (BasicDataOperationUsing*), тому вимірюється саме їхній код. Колекції спільні для
+ * всіх потоків і захищені монітором цілі навантаження; лише concurrent-set
+ * ({@link ConcurrentFloatSortedSet}) працює без спільного монітора.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java WorkloadScenarioRunner scenarios/set-mixed.properties
+ * }
+ * </pre>
+ */
+public class WorkloadScenarioRunner {
+    private static final long SPIN_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Ціль навантаження: колекція з набором іменованих операцій.
+     */
+    interface WorkloadTarget {
+        /**
+         * Виконує одну операцію над колекцією.
+         *
+         * @param operation Назва операції зі сценарію.
+         * @param random Генератор випадкових чисел поточного потоку.
+         * @return Результат операції, щоб JIT не усунув обчислення.
+         */
+        int execute(String operation, ThreadLocalRandom random);
+
+        List<String> supportedOperations();
+    }
+
+    /**
+     * Гістограма затримок з логарифмічними кошиками (16 підкошиків на кожну степінь двійки).
+     * Відносна похибка перцентиля не перевищує ~6%. Гістограми потоків об'єднуються після вимірювання.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BUCKETS = 16;
+        private static final int SUB_BUCKET_BITS = 4;
+        private final long[] counts = new long[64 * SUB_BUCKETS];
+        private long totalCount;
+        private long maxValue;
+
+        void record(long nanos) {
+            long value = Math.max(1, nanos);
+            counts[bucketOf(value)]++;
+            totalCount++;
+            maxValue = Math.max(maxValue, value);
+        }
+
+        void merge(LatencyHistogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            totalCount += other.totalCount;
+            maxValue = Math.max(maxValue, other.maxValue);
+        }
+
+        long percentile(double percent) {
+            if (totalCount == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(totalCount * percent / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), maxValue);
+                }
+            }
+            return maxValue;
+        }
+
+        long getTotalCount() {
+            return totalCount;
+        }
+
+        long getMaxValue() {
+            return maxValue;
+        }
+
+        private static int bucketOf(long value) {
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent < SUB_BUCKET_BITS) {
+                return (int) value;
+            }
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = bucket % SUB_BUCKETS;
+            long base = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+            return base + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+    }
+
+    private final String[] operationNames;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final WorkloadTarget target;
+    private final int threadCount;
+    private final long durationNanos;
+    private final long warmupNanos;
+    private final boolean openLoop;
+    private final double targetRate;
+
+    WorkloadScenarioRunner(Properties scenario) {
+        String collection = scenario.getProperty("collection", "set").trim();
+        String dataset = scenario.getProperty("dataset",
+                collection.equals("map") ? BasicDataOperationUsingMap.PATH_TO_DATA_FILE : BasicDataOperation.PATH_TO_DATA_FILE).trim();
+        this.target = createTarget(collection, dataset);
+
+        Map<String, Integer> mix = parseOperationMix(scenario.getProperty("operations", "search:100"));
+        this.operationNames = mix.keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[operationNames.length];
+        int sum = 0;
+        for (int i = 0; i < operationNames.length; i++) {
+            if (!target.supportedOperations().contains(operationNames[i])) {
+                throw new IllegalArgumentException("Операція '" + operationNames[i] + "' не підтримується для " + collection
+                        + ". Доступні: " + target.supportedOperations());
+            }
+            sum += mix.get(operationNames[i]);
+            cumulativeWeights[i] = sum;
+        }
+        this.totalWeight = sum;
+
+        this.threadCount = Integer.parseInt(scenario.getProperty("threads", "1").trim());
+        this.durationNanos = TimeUnit.MILLISECONDS.toNanos((long) (Double.parseDouble(scenario.getProperty("durationSeconds", "5").trim()) * 1000));
+        this.warmupNanos = TimeUnit.MILLISECONDS.toNanos((long) (Double.parseDouble(scenario.getProperty("warmupSeconds", "1").trim()) * 1000));
+        this.openLoop = scenario.getProperty("mode", "closed").trim().equalsIgnoreCase("open");
+        this.targetRate = Double.parseDouble(scenario.getProperty("targetRate", "10000").trim());
+
+        ReportSink.println("Колекція: " + collection + ", набір даних: " + dataset);
+        ReportSink.println("Операції: " + mix + ", потоків: " + threadCount + ", режим: " + (openLoop ? "open (" + targetRate + " оп/с)" : "closed"));
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            ReportSink.println("Використання: java WorkloadScenarioRunner <файл-сценарію> [--report=summary|sample|full]");
+            ReportSink.flush();
+            return;
+        }
+        for (int i = 1; i < args.length; i++) {
+            ReportSink.applyOption(args[i]);
+        }
+
+        Properties scenario = new Properties();
+        try (Reader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            scenario.load(reader);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+
+        new WorkloadScenarioRunner(scenario).run();
+        ReportSink.flush();
+    }
+
+    /**
+     * Виконує розігрів і вимірювання та виводить звіт.
+     */
+    void run() {
+        runPhase(warmupNanos);
+        Map<String, LatencyHistogram> results = runPhase(durationNanos);
+        report(results);
+    }
+
+    private Map<String, LatencyHistogram> runPhase(long phaseNanos) {
+        LatencyHistogram[][] perThread = new LatencyHistogram[threadCount][];
+        Thread[] workers = new Thread[threadCount];
+        long phaseStart = System.nanoTime();
+        for (int t = 0; t < threadCount; t++) {
+            int threadIndex = t;
+            workers[t] = new Thread(() -> perThread[threadIndex] = runWorker(phaseStart, phaseNanos), "workload-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(interruptedException);
+            }
+        }
+
+        Map<String, LatencyHistogram> merged = new LinkedHashMap<>();
+        for (String operation : operationNames) {
+            merged.put(operation, new LatencyHistogram());
+        }
+        for (LatencyHistogram[] threadResult : perThread) {
+            for (int i = 0; i < operationNames.length; i++) {
+                merged.get(operationNames[i]).merge(threadResult[i]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Виконує навантаження одного потоку.
+     *
+     * @return Гістограми затримок у порядку {@link #operationNames}.
+     */
+    private LatencyHistogram[] runWorker(long phaseStart, long phaseNanos) {
+        LatencyHistogram[] byIndex = new LatencyHistogram[operationNames.length];
+        for (int i = 0; i < operationNames.length; i++) {
+            byIndex[i] = new LatencyHistogram();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long deadline = phaseStart + phaseNanos;
+        long intervalNanos = openLoop ? (long) (1_000_000_000.0 * threadCount / targetRate) : 0;
+        // Потоки відкритого циклу зсунуті в часі, щоб не стартувати одночасно
+        long intendedStart = phaseStart + (openLoop ? random.nextLong(Math.max(1, intervalNanos)) : 0);
+        int blackhole = 0;
+
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                break;
+            }
+            if (openLoop) {
+                if (intendedStart >= deadline) {
+                    break;
+                }
+                if (intendedStart > now) {
+                    // Пробудження після parkNanos запізнюється, тому останній відрізок очікується активно
+                    long remaining = intendedStart - now;
+                    if (remaining > SPIN_WAIT_NANOS) {
+                        LockSupport.parkNanos(remaining - SPIN_WAIT_NANOS);
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                    continue;
+                }
+            }
+
+            int operationIndex = pickOperation(random);
+            long timeStart = openLoop ? intendedStart : now;
+            blackhole += target.execute(operationNames[operationIndex], random);
+            byIndex[operationIndex].record(System.nanoTime() - timeStart);
+
+            intendedStart += intervalNanos;
+        }
+
+        if (blackhole == 42) {
+            ReportSink.println("");
+        }
+        return byIndex;
+    }
+
+    private int pickOperation(ThreadLocalRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private void report(Map<String, LatencyHistogram> results) {
+        double seconds = durationNanos / 1_000_000_000.0;
+        LatencyHistogram total = new LatencyHistogram();
+        ReportSink.println("\n========= Результати сценарію =========");
+        ReportSink.println(String.format("%-12s %12s %12s %10s %10s %10s %10s %12s",
+                "операція", "кількість", "оп/с", "p50, нс", "p90, нс", "p99, нс", "p99.9, нс", "max, нс"));
+        for (Map.Entry<String, LatencyHistogram> entry : results.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            total.merge(histogram);
+            ReportSink.println(formatRow(entry.getKey(), histogram, seconds));
+        }
+        ReportSink.println(formatRow("усього", total, seconds));
+    }
+
+    private static String formatRow(String name, LatencyHistogram histogram, double seconds) {
+        return String.format("%-12s %12d %12.0f %10d %10d %10d %10d %12d",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                histogram.percentile(50), histogram.percentile(90), histogram.percentile(99),
+                histogram.percentile(99.9), histogram.getMaxValue());
+    }
+
+    static Map<String, Integer> parseOperationMix(String specification) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : specification.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            int weight = nameAndWeight.length > 1 ? Integer.parseInt(nameAndWeight[1].trim()) : 1;
+            if (weight > 0) {
+                mix.put(nameAndWeight[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Сценарій не містить жодної операції: " + specification);
+        }
+        return mix;
+    }
+
+    private static WorkloadTarget createTarget(String collection, String dataset) {
+        switch (collection) {
+            case "list":
+                return new ListTarget(DataFileHandler.loadArrayFromFile(dataset));
+            case "queue":
+                return new QueueTarget(DataFileHandler.loadArrayFromFile(dataset));
+            case "set":
+                return new SetTarget(DataFileHandler.loadArrayFromFile(dataset));
+            case "concurrent-set":
+                return new ConcurrentSetTarget(DataFileHandler.loadArrayFromFile(dataset));
+            case "map":
+                return new MapTarget(PetDataFileHandler.loadRecordsFromFile(dataset, true));
+            default:
+                throw new IllegalArgumentException("Невідомий тип колекції: " + collection);
+        }
+    }
+
+    /**
+     * Навантаження на список {@link BasicDataOperationUsingList}.
+     */
+    static final class ListTarget implements WorkloadTarget {
+        private final float[] values;
+        private final BasicDataOperationUsingList list;
+
+        ListTarget(Float[] values) {
+            this.values = FloatList.toPrimitive(values);
+            // Значення для пошуку обирається в кожній операції окремо; обробник
+            // сортує власну копію, а values зберігає невпорядкований порядок файлу
+            this.list = new BasicDataOperationUsingList(Float.NaN, this.values.clone());
+            list.sortListElements();
+        }
+
+        @Override
+        public synchronized int execute(String operation, ThreadLocalRandom random) {
+            switch (operation) {
+                case "search":
+                    return list.searchInList(values[random.nextInt(values.length)]);
+                case "minmax": {
+                    FloatList.MinMax minMax = list.minMaxOfList();
+                    return Float.floatToIntBits(minMax.min) ^ Float.floatToIntBits(minMax.max);
+                }
+                case "sort":
+                    // Без перезавантаження повторне сортування вже впорядкованого списку пропускається
+                    list.reloadListElements(values);
+                    list.sortListElements();
+                    return values.length;
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+
+        @Override
+        public List<String> supportedOperations() {
+            return Arrays.asList("search", "minmax", "sort");
+        }
+    }
+
+    /**
+     * Навантаження на чергу {@link BasicDataOperationUsingQueue}.
+     */
+    static final class QueueTarget implements WorkloadTarget {
+        private final Float[] values;
+        private final BasicDataOperationUsingQueue queue;
+
+        QueueTarget(Float[] values) {
+            this.values = values;
+            // Копія масиву: обробник сортує свій масив на місці
+            this.queue = new BasicDataOperationUsingQueue(Float.NaN, values.clone());
+            queue.buildQueue();
+        }
+
+        @Override
+        public synchronized int execute(String operation, ThreadLocalRandom random) {
+            switch (operation) {
+                case "search":
+                    return queue.queueContains(values[random.nextInt(values.length)]) ? 1 : 0;
+                case "minmax": {
+                    Float minValue = queue.minInQueue();
+                    return minValue == null ? 0 : minValue.hashCode() ^ queue.maxInQueue().hashCode();
+                }
+                case "peek":
+                    return Objects.hashCode(queue.peekQueue());
+                case "poll": {
+                    // Вилучений елемент повертається, щоб розмір черги не змінювався
+                    Float head = queue.pollQueue();
+                    if (head == null) {
+                        return 0;
+                    }
+                    queue.offerToQueue(head);
+                    return head.hashCode();
+                }
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+
+        @Override
+        public List<String> supportedOperations() {
+            return Arrays.asList("search", "minmax", "peek", "poll");
+        }
+    }
+
+    /**
+     * Навантаження на множину {@link BasicDataOperationUsingSet}.
+     */
+    static final class SetTarget implements WorkloadTarget {
+        private final Float[] values;
+        private final BasicDataOperationUsingSet set;
+
+        SetTarget(Float[] values) {
+            this.values = values;
+            this.set = new BasicDataOperationUsingSet(Float.NaN, values.clone());
+            set.buildSet();
+        }
+
+        @Override
+        public synchronized int execute(String operation, ThreadLocalRandom random) {
+            Float value = values[random.nextInt(values.length)];
+            switch (operation) {
+                case "search":
+                    return set.setContains(value) ? 1 : 0;
+                case "minmax": {
+                    Float minValue = set.minInSet();
+                    return minValue == null ? 0 : minValue.hashCode() ^ set.maxInSet().hashCode();
+                }
+                case "add":
+                    return set.addToSet(value) ? 1 : 0;
+                case "remove":
+                    return set.removeFromSet(value) ? 1 : 0;
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+
+        @Override
+        public List<String> supportedOperations() {
+            return Arrays.asList("search", "minmax", "add", "remove");
+        }
+    }
+
+    /**
+     * Навантаження на {@link ConcurrentFloatSortedSet}: операції ті самі, що в {@link SetTarget},
+     * але без спільного монітора.
+     */
+    static final class ConcurrentSetTarget implements WorkloadTarget {
+        private final float[] values;
+        private final ConcurrentFloatSortedSet set = new ConcurrentFloatSortedSet();
+
+        ConcurrentSetTarget(Float[] values) {
+            this.values = FloatList.toPrimitive(values);
+            set.addAll(this.values);
+        }
+
+        @Override
+        public int execute(String operation, ThreadLocalRandom random) {
+            float value = values[random.nextInt(values.length)];
+            switch (operation) {
+                case "search":
+                    return set.contains(value) ? 1 : 0;
+                case "minmax":
+                    if (set.isEmpty()) {
+                        return 0;
+                    }
+                    try {
+                        return Float.floatToIntBits(set.first()) ^ Float.floatToIntBits(set.last());
+                    } catch (NoSuchElementException emptied) {
+                        // Без спільного монітора інший потік може видалити останні елементи після перевірки
+                        return 0;
+                    }
+                case "add":
+                    return set.add(value) ? 1 : 0;
+                case "remove":
+                    return set.remove(value) ? 1 : 0;
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+
+        @Override
+        public List<String> supportedOperations() {
+            return Arrays.asList("search", "minmax", "add", "remove");
+        }
+    }
+
+    /**
+     * Навантаження на Hashtable обробника {@link BasicDataOperationUsingMap}: пошук через
+     * кеші та індекс власників, зміни - з їх узгодженим оновленням.
+     */
+    static final class MapTarget implements WorkloadTarget {
+        private final PetDataFileHandler.PetRecords records;
+        private final BasicDataOperationUsingMap map;
+
+        MapTarget(PetDataFileHandler.PetRecords records) {
+            this.records = records;
+            this.map = new BasicDataOperationUsingMap(PetDataFileHandler.buildHashtable(records),
+                    PetDataFileHandler.buildTreeMap(records, true));
+        }
+
+        @Override
+        public synchronized int execute(String operation, ThreadLocalRandom random) {
+            int index = random.nextInt(records.size());
+            BasicDataOperationUsingMap.Pet pet = records.pets[index];
+            switch (operation) {
+                case "findByKey":
+                    return map.ownerInHashtable(pet) != null ? 1 : 0;
+                case "findByValue":
+                    return map.petOfOwnerInHashtable(records.owners[index]) != null ? 1 : 0;
+                case "add":
+                    return map.putIntoHashtable(pet, records.owners[index]) == null ? 1 : 0;
+                case "remove":
+                    return map.removeFromHashtable(pet) == null ? 0 : 1;
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+
+        @Override
+        public List<String> supportedOperations() {
+            return Arrays.asList("findByKey", "findByValue", "add", "remove");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Порівнює холодний і теплий запуск BasicDataOperation.
+#
+# Варіанти запуску:
+#   cold        - без CDS (-Xshare:off), кожен клас JDK і проєкту завантажується з нуля;
+#   jdk-cds     - стандартний архів класів JDK;
+#   app-cds     - архів AppCDS з класами JDK і проєкту (target/app-cds.jsa);
+#   app-cds+cache - AppCDS і збережений аналіз файлу даних (--cached).
+# Для кожного варіанту виводиться медіана загального часу процесу і часу до першого результату.
+#
+# Архів AppCDS приймає класи лише з JAR-файлів (не з каталогів), тому потрібен зібраний JAR:
+# mvn -Pappcds package (разом зі створенням архіву) або власний JAR у змінній JAR.
+# Приклад:
+#   ./startup-benchmark.sh
+#   RUNS=20 SEARCH=-31388.32 JAR=out/app.jar ./startup-benchmark.sh --data=list/float.data
+set -euo pipefail
+
+JAR=${JAR:-target/training-data-1.0.0.jar}
+ARCHIVE=${ARCHIVE:-target/app-cds.jsa}
+RUNS=${RUNS:-10}
+SEARCH=${SEARCH:--31388.32}
+JAVA=${JAVA:-java}
+JAVA_OPTS=(-Dfile.encoding=UTF-8 -Dsun.stdout.encoding=UTF-8)
+APP_ARGS=("$SEARCH" --report=summary "$@")
+
+if [ ! -f "$JAR" ]; then
+    echo "Не знайдено $JAR: спочатку виконайте mvn -Pappcds package" >&2
+    exit 1
+fi
+
+# Навчальний запуск: класи, завантажені до завершення JVM, записуються до архіву
+if [ ! -f "$ARCHIVE" ] || [ "$JAR" -nt "$ARCHIVE" ]; then
+    echo "Створення архіву AppCDS $ARCHIVE"
+    mkdir -p "$(dirname "$ARCHIVE")"
+    "$JAVA" "${JAVA_OPTS[@]}" -XX:ArchiveClassesAtExit="$ARCHIVE" -cp "$JAR" \
+        BasicDataOperation "${APP_ARGS[@]}" > /dev/null
+fi
+
+# Медіана чисел зі стандартного входу
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { if (NR == 0) print "-"; else if (NR % 2) print values[(NR + 1) / 2]; else print (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local totals=() firsts=()
+    for ((run = 0; run < RUNS; run++)); do
+        local start end output
+        start=$(date +%s%3N)
+        output=$("$JAVA" "${JAVA_OPTS[@]}" -Dstartup.launchMillis="$start" "$@" -cp "$JAR" BasicDataOperation "${APP_ARGS[@]}")
+        end=$(date +%s%3N)
+        totals+=($((end - start)))
+        firsts+=($(printf '%s\n' "$output" | sed -n "s/.*Час до першого результату.*: \([0-9]*\) мс.*/\1/p"))
+    done
+    printf '%-14s процес %6s мс, перший результат %6s мс\n' "$name" \
+        "$(printf '%s\n' "${totals[@]}" | median)" "$(printf '%s\n' "${firsts[@]}" | median)"
+}
+
+echo "Запусків на варіант: $RUNS, медіана"
+run_variant cold -Xshare:off
+run_variant jdk-cds -Xshare:auto
+run_variant app-cds -XX:SharedArchiveFile="$ARCHIVE"
+APP_ARGS+=(--cached)
+run_variant app-cds+cache -XX:SharedArchiveFile="$ARCHIVE"